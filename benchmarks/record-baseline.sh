@@ -0,0 +1,11 @@
+#!/bin/sh
+# Runs the whole suite into results/<commit>-<jdk>-<machine>.json, arguments are passed on to JMH
+set -e
+cd "$(dirname "$0")/.."
+
+commit=$(git rev-parse --short HEAD)
+jdk=$(java -XshowSettings:properties -version 2>&1 | sed -n 's/^ *java\.version = //p')
+machine=$(hostname -s)
+
+mvn -B -q install -DskipTests -Pbenchmarks
+java -jar benchmarks/target/benchmarks.jar -prof gc -rf json -rff "benchmarks/results/$commit-$jdk-$machine.json" "$@"
@@ -0,0 +1,92 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.benchmarks.model.FlatBean;
+
+/**
+ * Lists of flat beans through the String, Reader and stream entry points, one bean is the small payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BeanBenchmark {
+	@Param({ "reflective", "generated" })
+	public String codecEngine;
+
+	@Param({ "1", "1000" })
+	public int size;
+
+	private MyrJsonb jsonb;
+
+	private List<FlatBean> beans;
+
+	private String json;
+
+	private byte[] bytes;
+
+	private ByteArrayOutputStream output;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(codecEngine);
+		beans = Payloads.flatBeans(size);
+		json = jsonb.toJson(beans, Payloads.FLAT_BEAN_LIST);
+		bytes = json.getBytes(StandardCharsets.UTF_8);
+		output = new ByteArrayOutputStream(bytes.length);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String toJsonString() {
+		return jsonb.toJson(beans, Payloads.FLAT_BEAN_LIST);
+	}
+
+	@Benchmark
+	public int toJsonOutputStream() {
+		output.reset();
+		jsonb.toJson(beans, Payloads.FLAT_BEAN_LIST, output);
+		return output.size();
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJsonString() {
+		return jsonb.fromJson(json, Payloads.FLAT_BEAN_LIST);
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJsonReader() {
+		return jsonb.fromJson(new StringReader(json), Payloads.FLAT_BEAN_LIST);
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJsonInputStream() {
+		return jsonb.fromJson(new ByteArrayInputStream(bytes), Payloads.FLAT_BEAN_LIST);
+	}
+}
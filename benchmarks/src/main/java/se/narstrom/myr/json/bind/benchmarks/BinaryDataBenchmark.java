@@ -0,0 +1,89 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.config.BinaryDataStrategy;
+import se.narstrom.myr.json.bind.MyrJsonb;
+
+/**
+ * Byte arrays from 1 KiB to 10 MiB in each binary data strategy. The bytes of JSON written or read are reported as the
+ * {@code jsonBytes} counter, a rate per second like the score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BinaryDataBenchmark {
+	@Param({ BinaryDataStrategy.BYTE, BinaryDataStrategy.BASE_64, BinaryDataStrategy.BASE_64_URL })
+	public String strategy;
+
+	@Param({ "1024", "1048576", "10485760" })
+	public int size;
+
+	private MyrJsonb jsonb;
+
+	private byte[] data;
+
+	private byte[] json;
+
+	private ByteArrayOutputStream output;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(new JsonbConfig().withBinaryDataStrategy(strategy));
+		data = Payloads.bytes(size);
+		output = new ByteArrayOutputStream();
+		jsonb.toJson(data, output);
+		json = output.toByteArray();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public int toJson(final Counters counters) {
+		output.reset();
+		jsonb.toJson(data, output);
+		counters.jsonBytes += output.size();
+		return output.size();
+	}
+
+	@Benchmark
+	public byte[] fromJson(final Counters counters) {
+		counters.jsonBytes += json.length;
+		return jsonb.fromJson(new ByteArrayInputStream(json), byte[].class);
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		public long jsonBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			jsonBytes = 0;
+		}
+	}
+}
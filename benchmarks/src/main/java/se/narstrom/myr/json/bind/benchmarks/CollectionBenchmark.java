@@ -0,0 +1,92 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CollectionBenchmark {
+	@Param({ "10", "10000" })
+	public int size;
+
+	private MyrJsonb jsonb;
+
+	private List<Integer> integers;
+
+	private List<String> strings;
+
+	private Map<String, Integer> map;
+
+	private String integersJson;
+
+	private String stringsJson;
+
+	private String mapJson;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(MyrJsonbConfig.CODEC_ENGINE_REFLECTIVE);
+		integers = Payloads.integers(size);
+		strings = Payloads.strings(size);
+		map = Payloads.stringIntegerMap(size);
+		integersJson = jsonb.toJson(integers, Payloads.INTEGER_LIST);
+		stringsJson = jsonb.toJson(strings, Payloads.STRING_LIST);
+		mapJson = jsonb.toJson(map, Payloads.STRING_INTEGER_MAP);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String integerListToJson() {
+		return jsonb.toJson(integers, Payloads.INTEGER_LIST);
+	}
+
+	@Benchmark
+	public List<Integer> integerListFromJson() {
+		return jsonb.fromJson(integersJson, Payloads.INTEGER_LIST);
+	}
+
+	@Benchmark
+	public String stringListToJson() {
+		return jsonb.toJson(strings, Payloads.STRING_LIST);
+	}
+
+	@Benchmark
+	public List<String> stringListFromJson() {
+		return jsonb.fromJson(stringsJson, Payloads.STRING_LIST);
+	}
+
+	@Benchmark
+	public String mapToJson() {
+		return jsonb.toJson(map, Payloads.STRING_INTEGER_MAP);
+	}
+
+	@Benchmark
+	public Map<String, Integer> mapFromJson() {
+		return jsonb.fromJson(mapJson, Payloads.STRING_INTEGER_MAP);
+	}
+}
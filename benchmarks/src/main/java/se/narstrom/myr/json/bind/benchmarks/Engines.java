@@ -0,0 +1,19 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import jakarta.json.bind.JsonbConfig;
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbBuilder;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+
+final class Engines {
+	private Engines() {
+	}
+
+	static MyrJsonb create(final JsonbConfig config) {
+		return (MyrJsonb) new MyrJsonbBuilder().withConfig(config).build();
+	}
+
+	static MyrJsonb create(final String codecEngine) {
+		return create(new JsonbConfig().setProperty(MyrJsonbConfig.CODEC_ENGINE, codecEngine));
+	}
+}
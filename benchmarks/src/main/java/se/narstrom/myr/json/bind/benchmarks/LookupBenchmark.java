@@ -0,0 +1,133 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.json.bind.serializer.JsonbSerializer;
+import se.narstrom.myr.json.bind.MyrJsonb;
+
+/**
+ * Serializer lookups for a deep class hierarchy and a class with many interfaces, neither has a registered
+ * serializer so the lookup ends in the default serializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LookupBenchmark {
+	@Param({ "reflective", "generated" })
+	public String codecEngine;
+
+	private MyrJsonb jsonb;
+
+	private Level7 deep;
+
+	private Wide wide;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(codecEngine);
+		deep = new Level7();
+		deep.value = 7;
+		wide = new Wide();
+		wide.value = 9;
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public JsonbSerializer<?> findSerializerDeepHierarchy() {
+		return jsonb.findSerializer(Level7.class);
+	}
+
+	@Benchmark
+	public JsonbSerializer<?> findSerializerManyInterfaces() {
+		return jsonb.findSerializer(Wide.class);
+	}
+
+	@Benchmark
+	public String toJsonDeepHierarchy() {
+		return jsonb.toJson(deep);
+	}
+
+	@Benchmark
+	public String toJsonManyInterfaces() {
+		return jsonb.toJson(wide);
+	}
+
+	public interface Marker0 {
+	}
+
+	public interface Marker1 extends Marker0 {
+	}
+
+	public interface Marker2 extends Marker1 {
+	}
+
+	public interface Marker3 extends Marker2 {
+	}
+
+	public interface Named {
+	}
+
+	public interface Versioned {
+	}
+
+	public interface Auditable extends Named, Versioned {
+	}
+
+	public interface Taggable {
+	}
+
+	public interface Ordered {
+	}
+
+	public interface Cacheable extends Taggable, Ordered {
+	}
+
+	public static class Level0 implements Marker0 {
+		public int value;
+	}
+
+	public static class Level1 extends Level0 implements Named {
+	}
+
+	public static class Level2 extends Level1 {
+	}
+
+	public static class Level3 extends Level2 implements Marker1 {
+	}
+
+	public static class Level4 extends Level3 {
+	}
+
+	public static class Level5 extends Level4 implements Taggable {
+	}
+
+	public static class Level6 extends Level5 {
+	}
+
+	public static class Level7 extends Level6 implements Ordered {
+	}
+
+	public static class Wide implements Marker3, Auditable, Cacheable {
+		public int value;
+	}
+}
@@ -0,0 +1,64 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.benchmarks.model.Node;
+
+/**
+ * Deeply nested beans, run with {@code -prof gc} for the allocation per nesting level.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NestedBenchmark {
+	@Param({ "reflective", "generated" })
+	public String codecEngine;
+
+	@Param({ "8", "64" })
+	public int depth;
+
+	private MyrJsonb jsonb;
+
+	private Node node;
+
+	private String json;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(codecEngine);
+		node = Payloads.nodeChain(depth);
+		json = jsonb.toJson(node);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String toJson() {
+		return jsonb.toJson(node);
+	}
+
+	@Benchmark
+	public Node fromJson() {
+		return jsonb.fromJson(json, Node.class);
+	}
+}
@@ -0,0 +1,96 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.json.bind.JsonbConfig;
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+import se.narstrom.myr.json.bind.benchmarks.model.FlatBean;
+
+/**
+ * Scaling of the parallel methods with the number of threads, the sequential methods are the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ParallelBenchmark {
+	@Param({ "1", "2", "4", "8", "16", "32" })
+	public int parallelism;
+
+	@Param({ "100000" })
+	public int size;
+
+	private MyrJsonb sequential;
+
+	private MyrJsonb parallel;
+
+	private List<FlatBean> beans;
+
+	private byte[] array;
+
+	private byte[] lines;
+
+	@Setup
+	public void setup() {
+		sequential = Engines.create(MyrJsonbConfig.CODEC_ENGINE_REFLECTIVE);
+		parallel = Engines.create(new JsonbConfig().setProperty(MyrJsonbConfig.PARALLELISM, parallelism).setProperty(MyrJsonbConfig.PARALLEL_SERIALIZATION_THRESHOLD, 1));
+		beans = Payloads.flatBeans(size);
+		array = sequential.toJson(beans, Payloads.FLAT_BEAN_LIST).getBytes(StandardCharsets.UTF_8);
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream(array.length);
+		sequential.toJsonLines(beans, output);
+		lines = output.toByteArray();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		sequential.close();
+		parallel.close();
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJsonSequential() {
+		return sequential.fromJson(new ByteArrayInputStream(array), Payloads.FLAT_BEAN_LIST);
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJsonParallel() {
+		return parallel.fromJsonParallel(new ByteArrayInputStream(array), FlatBean.class);
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJsonLinesParallel() {
+		return parallel.fromJsonLinesParallel(new ByteArrayInputStream(lines), FlatBean.class);
+	}
+
+	@Benchmark
+	public void toJsonSequential() {
+		sequential.toJson(beans, Payloads.FLAT_BEAN_LIST, OutputStream.nullOutputStream());
+	}
+
+	@Benchmark
+	public void toJsonParallel() {
+		parallel.toJson(beans, Payloads.FLAT_BEAN_LIST, OutputStream.nullOutputStream());
+	}
+}
@@ -0,0 +1,158 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import se.narstrom.myr.json.bind.benchmarks.model.Circle;
+import se.narstrom.myr.json.bind.benchmarks.model.FlatBean;
+import se.narstrom.myr.json.bind.benchmarks.model.Money;
+import se.narstrom.myr.json.bind.benchmarks.model.Node;
+import se.narstrom.myr.json.bind.benchmarks.model.Rectangle;
+import se.narstrom.myr.json.bind.benchmarks.model.Shape;
+import se.narstrom.myr.json.bind.benchmarks.model.TimestampedEvent;
+
+/**
+ * Deterministic benchmark data, the same seed gives the same payloads on every run.
+ */
+final class Payloads {
+	static final Type FLAT_BEAN_LIST = new ArrayList<FlatBean>() {
+	}.getClass().getGenericSuperclass();
+
+	static final Type SHAPE_LIST = new ArrayList<Shape>() {
+	}.getClass().getGenericSuperclass();
+
+	static final Type EVENT_LIST = new ArrayList<TimestampedEvent>() {
+	}.getClass().getGenericSuperclass();
+
+	static final Type INTEGER_LIST = new ArrayList<Integer>() {
+	}.getClass().getGenericSuperclass();
+
+	static final Type STRING_LIST = new ArrayList<String>() {
+	}.getClass().getGenericSuperclass();
+
+	static final Type STRING_INTEGER_MAP = new LinkedHashMap<String, Integer>() {
+	}.getClass().getGenericSuperclass();
+
+	private static final String[] WORDS = { "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliett", "kilo", "lima" };
+
+	private Payloads() {
+	}
+
+	static List<FlatBean> flatBeans(final int count) {
+		final Random random = new Random(42);
+		final List<FlatBean> beans = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			final FlatBean bean = new FlatBean();
+			bean.setId(random.nextLong());
+			bean.setName(word(random) + " " + word(random));
+			bean.setCategory(word(random));
+			bean.setPrice(random.nextInt(100_000) / 100.0);
+			bean.setQuantity(random.nextInt(1000));
+			bean.setRating(random.nextInt(50) / 10.0f);
+			bean.setActive(random.nextBoolean());
+			bean.setDescription(sentence(random, 12));
+			beans.add(bean);
+		}
+		return beans;
+	}
+
+	static Node nodeChain(final int depth) {
+		final Random random = new Random(42);
+		Node node = null;
+		for (int i = 0; i < depth; ++i) {
+			final Node parent = new Node();
+			parent.name = word(random);
+			parent.value = random.nextInt();
+			parent.tags = List.of(word(random), word(random));
+			parent.child = node;
+			node = parent;
+		}
+		return node;
+	}
+
+	static List<Shape> shapes(final int count) {
+		final Random random = new Random(42);
+		final List<Shape> shapes = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			final Shape shape;
+			if (random.nextBoolean()) {
+				final Circle circle = new Circle();
+				circle.radius = random.nextDouble();
+				shape = circle;
+			} else {
+				final Rectangle rectangle = new Rectangle();
+				rectangle.width = random.nextDouble();
+				rectangle.height = random.nextDouble();
+				shape = rectangle;
+			}
+			shape.color = word(random);
+			shapes.add(shape);
+		}
+		return shapes;
+	}
+
+	static List<TimestampedEvent> events(final int count) {
+		final Random random = new Random(42);
+		final List<TimestampedEvent> events = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			final Instant instant = Instant.ofEpochSecond(1_600_000_000L + random.nextInt(200_000_000), random.nextInt(1000) * 1_000_000);
+			final TimestampedEvent event = new TimestampedEvent();
+			event.type = word(random);
+			event.timestamp = instant;
+			event.businessDate = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+			event.localTime = LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+			event.recordedAt = OffsetDateTime.ofInstant(instant, ZoneOffset.ofHours(random.nextInt(25) - 12));
+			event.elapsed = Duration.ofMillis(random.nextInt(1_000_000));
+			event.amount = new Money(random.nextInt(10_000_000), "SEK");
+			events.add(event);
+		}
+		return events;
+	}
+
+	static List<Integer> integers(final int count) {
+		return new Random(42).ints(count).boxed().toList();
+	}
+
+	static List<String> strings(final int count) {
+		final Random random = new Random(42);
+		final List<String> strings = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i)
+			strings.add(sentence(random, 3));
+		return strings;
+	}
+
+	static Map<String, Integer> stringIntegerMap(final int count) {
+		final Random random = new Random(42);
+		final Map<String, Integer> map = new LinkedHashMap<>();
+		for (int i = 0; i < count; ++i)
+			map.put(word(random) + i, random.nextInt());
+		return map;
+	}
+
+	static byte[] bytes(final int count) {
+		final byte[] bytes = new byte[count];
+		new Random(42).nextBytes(bytes);
+		return bytes;
+	}
+
+	private static String word(final Random random) {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+	private static String sentence(final Random random, final int words) {
+		final StringBuilder builder = new StringBuilder(word(random));
+		for (int i = 1; i < words; ++i)
+			builder.append(' ').append(word(random));
+		return builder.toString();
+	}
+}
@@ -0,0 +1,65 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.benchmarks.model.Shape;
+
+/**
+ * A {@code @JsonbTypeInfo} hierarchy, the deserialization buffers each object to find the discriminator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PolymorphicBenchmark {
+	@Param({ "reflective", "generated" })
+	public String codecEngine;
+
+	@Param({ "1", "1000" })
+	public int size;
+
+	private MyrJsonb jsonb;
+
+	private List<Shape> shapes;
+
+	private String json;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(codecEngine);
+		shapes = Payloads.shapes(size);
+		json = jsonb.toJson(shapes, Payloads.SHAPE_LIST);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String toJson() {
+		return jsonb.toJson(shapes, Payloads.SHAPE_LIST);
+	}
+
+	@Benchmark
+	public List<Shape> fromJson() {
+		return jsonb.fromJson(json, Payloads.SHAPE_LIST);
+	}
+}
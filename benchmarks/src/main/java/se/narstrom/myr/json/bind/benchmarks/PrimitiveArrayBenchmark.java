@@ -0,0 +1,111 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+
+/**
+ * Primitive arrays, compared with the same values as a boxed array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrimitiveArrayBenchmark {
+	@Param({ "16", "10000" })
+	public int size;
+
+	private MyrJsonb jsonb;
+
+	private int[] ints;
+
+	private double[] doubles;
+
+	private boolean[] booleans;
+
+	private Double[] boxedDoubles;
+
+	private String intsJson;
+
+	private String doublesJson;
+
+	private String booleansJson;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(MyrJsonbConfig.CODEC_ENGINE_REFLECTIVE);
+		final Random random = new Random(42);
+		ints = random.ints(size).toArray();
+		doubles = random.doubles(size).toArray();
+		booleans = new boolean[size];
+		for (int i = 0; i < size; ++i)
+			booleans[i] = random.nextBoolean();
+		boxedDoubles = Arrays.stream(doubles).boxed().toArray(Double[]::new);
+		intsJson = jsonb.toJson(ints);
+		doublesJson = jsonb.toJson(doubles);
+		booleansJson = jsonb.toJson(booleans);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String intArrayToJson() {
+		return jsonb.toJson(ints);
+	}
+
+	@Benchmark
+	public int[] intArrayFromJson() {
+		return jsonb.fromJson(intsJson, int[].class);
+	}
+
+	@Benchmark
+	public String doubleArrayToJson() {
+		return jsonb.toJson(doubles);
+	}
+
+	@Benchmark
+	public double[] doubleArrayFromJson() {
+		return jsonb.fromJson(doublesJson, double[].class);
+	}
+
+	@Benchmark
+	public String boxedDoubleArrayToJson() {
+		return jsonb.toJson(boxedDoubles);
+	}
+
+	@Benchmark
+	public Double[] boxedDoubleArrayFromJson() {
+		return jsonb.fromJson(doublesJson, Double[].class);
+	}
+
+	@Benchmark
+	public String booleanArrayToJson() {
+		return jsonb.toJson(booleans);
+	}
+
+	@Benchmark
+	public boolean[] booleanArrayFromJson() {
+		return jsonb.fromJson(booleansJson, boolean[].class);
+	}
+}
@@ -0,0 +1,63 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.json.bind.JsonbConfig;
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+import se.narstrom.myr.json.bind.benchmarks.model.FlatBean;
+
+/**
+ * Messages of a few hundred bytes, with and without the buffer pool, where the per-call setup dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SmallMessageBenchmark {
+	@Param({ "0", "64" })
+	public int bufferPoolSize;
+
+	private MyrJsonb jsonb;
+
+	private FlatBean message;
+
+	private String json;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(new JsonbConfig().setProperty(MyrJsonbConfig.BUFFER_POOL_SIZE, bufferPoolSize));
+		message = Payloads.flatBeans(1).getFirst();
+		json = jsonb.toJson(message);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String toJson() {
+		return jsonb.toJson(message);
+	}
+
+	@Benchmark
+	public FlatBean fromJson() {
+		return jsonb.fromJson(json, FlatBean.class);
+	}
+}
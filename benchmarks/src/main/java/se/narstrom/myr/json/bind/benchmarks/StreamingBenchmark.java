@@ -0,0 +1,99 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+import se.narstrom.myr.json.bind.benchmarks.model.FlatBean;
+
+/**
+ * The streaming entry points compared with binding the whole array at once, run with {@code -prof gc} to see that the
+ * streaming allocation does not grow with the payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class StreamingBenchmark {
+	@Param({ "10000", "100000" })
+	public int size;
+
+	private MyrJsonb jsonb;
+
+	private List<FlatBean> beans;
+
+	private byte[] array;
+
+	private byte[] lines;
+
+	private ByteArrayOutputStream output;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(MyrJsonbConfig.CODEC_ENGINE_REFLECTIVE);
+		beans = Payloads.flatBeans(size);
+		array = jsonb.toJson(beans, Payloads.FLAT_BEAN_LIST).getBytes(StandardCharsets.UTF_8);
+		output = new ByteArrayOutputStream(array.length);
+		jsonb.toJsonLines(beans, output);
+		lines = output.toByteArray();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJson() {
+		return jsonb.fromJson(new ByteArrayInputStream(array), Payloads.FLAT_BEAN_LIST);
+	}
+
+	@Benchmark
+	public void fromJsonStream(final Blackhole blackhole) {
+		try (final Stream<FlatBean> stream = jsonb.fromJsonStream(new ByteArrayInputStream(array), FlatBean.class)) {
+			stream.forEach(blackhole::consume);
+		}
+	}
+
+	@Benchmark
+	public void fromJsonLines(final Blackhole blackhole) {
+		try (final Stream<FlatBean> stream = jsonb.fromJsonLines(new ByteArrayInputStream(lines), FlatBean.class)) {
+			stream.forEach(blackhole::consume);
+		}
+	}
+
+	@Benchmark
+	public int toJsonLines() {
+		output.reset();
+		jsonb.toJsonLines(beans, output);
+		return output.size();
+	}
+
+	@Benchmark
+	public int toJsonStream() {
+		output.reset();
+		jsonb.toJson(beans.stream(), output);
+		return output.size();
+	}
+}
@@ -0,0 +1,124 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+import se.narstrom.myr.json.bind.benchmarks.model.FlatBean;
+
+/**
+ * Throughput of one instance shared by all the benchmark threads. Without contention in the shared state the
+ * throughput per thread stays flat as threads are added, up to the number of cores.
+ *
+ * Run through {@link #main(String[])} to measure 1 to 64 threads and print the scaling, JMH options are passed on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ThreadScalingBenchmark {
+	private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+
+	@Param({ MyrJsonbConfig.CODEC_ENGINE_REFLECTIVE, MyrJsonbConfig.CODEC_ENGINE_GENERATED })
+	public String codecEngine;
+
+	private MyrJsonb jsonb;
+
+	private FlatBean message;
+
+	private String json;
+
+	private List<FlatBean> beans;
+
+	private String beansJson;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(codecEngine);
+		message = Payloads.flatBeans(1).getFirst();
+		json = jsonb.toJson(message);
+		beans = Payloads.flatBeans(100);
+		beansJson = jsonb.toJson(beans, Payloads.FLAT_BEAN_LIST);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String toJsonSmall() {
+		return jsonb.toJson(message);
+	}
+
+	@Benchmark
+	public FlatBean fromJsonSmall() {
+		return jsonb.fromJson(json, FlatBean.class);
+	}
+
+	@Benchmark
+	public String toJsonList() {
+		return jsonb.toJson(beans, Payloads.FLAT_BEAN_LIST);
+	}
+
+	@Benchmark
+	public List<FlatBean> fromJsonList() {
+		return jsonb.fromJson(beansJson, Payloads.FLAT_BEAN_LIST);
+	}
+
+	public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+		final CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		// Throughput of all threads together, per benchmark and thread count
+		final Map<String, double[]> scores = new LinkedHashMap<>();
+		for (int i = 0; i < THREADS.length; ++i) {
+			final Options options = new OptionsBuilder().parent(commandLine).include(ThreadScalingBenchmark.class.getName()).threads(THREADS[i]).build();
+			for (final RunResult result : new Runner(options).run())
+				scores.computeIfAbsent(label(result.getParams()), key -> new double[THREADS.length])[i] = result.getPrimaryResult().getScore();
+		}
+
+		System.out.printf("%nThroughput per thread relative to one thread, %d available processors%n", Runtime.getRuntime().availableProcessors());
+		System.out.printf("%-40s", "Benchmark");
+		for (final int threads : THREADS)
+			System.out.printf("%8d", threads);
+		System.out.println();
+		for (final Map.Entry<String, double[]> entry : scores.entrySet()) {
+			final double[] score = entry.getValue();
+			System.out.printf("%-40s", entry.getKey());
+			for (int i = 0; i < THREADS.length; ++i)
+				System.out.printf("%8.2f", score[i] / THREADS[i] / score[0]);
+			System.out.println();
+		}
+	}
+
+	private static String label(final BenchmarkParams params) {
+		final String benchmark = params.getBenchmark();
+		return benchmark.substring(benchmark.lastIndexOf('.') + 1) + " " + params.getParam("codecEngine");
+	}
+}
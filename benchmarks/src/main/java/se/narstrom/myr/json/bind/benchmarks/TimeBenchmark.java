@@ -0,0 +1,64 @@
+package se.narstrom.myr.json.bind.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.json.bind.JsonbConfig;
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.benchmarks.model.MoneyAdapter;
+import se.narstrom.myr.json.bind.benchmarks.model.TimestampedEvent;
+
+/**
+ * Beans dominated by java.time values, with an amount written through a configured adapter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TimeBenchmark {
+	@Param({ "1", "1000" })
+	public int size;
+
+	private MyrJsonb jsonb;
+
+	private List<TimestampedEvent> events;
+
+	private String json;
+
+	@Setup
+	public void setup() {
+		jsonb = Engines.create(new JsonbConfig().withAdapters(new MoneyAdapter()));
+		events = Payloads.events(size);
+		json = jsonb.toJson(events, Payloads.EVENT_LIST);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		jsonb.close();
+	}
+
+	@Benchmark
+	public String toJson() {
+		return jsonb.toJson(events, Payloads.EVENT_LIST);
+	}
+
+	@Benchmark
+	public List<TimestampedEvent> fromJson() {
+		return jsonb.fromJson(json, Payloads.EVENT_LIST);
+	}
+}
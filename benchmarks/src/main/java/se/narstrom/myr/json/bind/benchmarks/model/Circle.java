@@ -0,0 +1,5 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+public class Circle extends Shape {
+	public double radius;
+}
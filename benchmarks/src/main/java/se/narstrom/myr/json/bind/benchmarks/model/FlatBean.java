@@ -0,0 +1,83 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+public class FlatBean {
+	private long id;
+
+	private String name;
+
+	private String category;
+
+	private double price;
+
+	private int quantity;
+
+	private float rating;
+
+	private boolean active;
+
+	private String description;
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(final long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public void setCategory(final String category) {
+		this.category = category;
+	}
+
+	public double getPrice() {
+		return price;
+	}
+
+	public void setPrice(final double price) {
+		this.price = price;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(final int quantity) {
+		this.quantity = quantity;
+	}
+
+	public float getRating() {
+		return rating;
+	}
+
+	public void setRating(final float rating) {
+		this.rating = rating;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(final boolean active) {
+		this.active = active;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(final String description) {
+		this.description = description;
+	}
+}
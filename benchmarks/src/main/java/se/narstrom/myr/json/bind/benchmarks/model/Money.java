@@ -0,0 +1,7 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+/**
+ * Written through {@link MoneyAdapter}.
+ */
+public record Money(long cents, String currency) {
+}
@@ -0,0 +1,22 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+import jakarta.json.bind.adapter.JsonbAdapter;
+
+/**
+ * Writes non-negative amounts as {@code "12.34 SEK"}.
+ */
+public final class MoneyAdapter implements JsonbAdapter<Money, String> {
+	@Override
+	public String adaptToJson(final Money money) {
+		final long fraction = money.cents() % 100;
+		return money.cents() / 100 + (fraction < 10 ? ".0" : ".") + fraction + " " + money.currency();
+	}
+
+	@Override
+	public Money adaptFromJson(final String str) {
+		final int dot = str.indexOf('.');
+		final int space = str.indexOf(' ', dot);
+		final long cents = Long.parseLong(str, 0, dot, 10) * 100 + Long.parseLong(str, dot + 1, space, 10);
+		return new Money(cents, str.substring(space + 1));
+	}
+}
@@ -0,0 +1,13 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+import java.util.List;
+
+public class Node {
+	public String name;
+
+	public int value;
+
+	public List<String> tags;
+
+	public Node child;
+}
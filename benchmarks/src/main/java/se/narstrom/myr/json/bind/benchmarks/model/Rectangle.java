@@ -0,0 +1,7 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+public class Rectangle extends Shape {
+	public double width;
+
+	public double height;
+}
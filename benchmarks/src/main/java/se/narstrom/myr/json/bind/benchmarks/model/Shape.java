@@ -0,0 +1,9 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+import jakarta.json.bind.annotation.JsonbSubtype;
+import jakarta.json.bind.annotation.JsonbTypeInfo;
+
+@JsonbTypeInfo({ @JsonbSubtype(alias = "circle", type = Circle.class), @JsonbSubtype(alias = "rectangle", type = Rectangle.class) })
+public abstract class Shape {
+	public String color;
+}
@@ -0,0 +1,23 @@
+package se.narstrom.myr.json.bind.benchmarks.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+public class TimestampedEvent {
+	public String type;
+
+	public Instant timestamp;
+
+	public LocalDate businessDate;
+
+	public LocalDateTime localTime;
+
+	public OffsetDateTime recordedAt;
+
+	public Duration elapsed;
+
+	public Money amount;
+}
@@ -0,0 +1,506 @@
+package se.narstrom.myr.json.bind.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.Accessor;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.Creator;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.CreatorParameter;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.Discriminator;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.ReadProperty;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.WriteProperty;
+
+/**
+ * Applies the rules of the reflective {@code Properties} and {@code BeanModel} to the language model, any difference
+ * between the two is a bug.
+ */
+final class BeanAnalyzer {
+	private static final String JSONB_CREATOR = "jakarta.json.bind.annotation.JsonbCreator";
+	private static final String JSONB_PROPERTY = "jakarta.json.bind.annotation.JsonbProperty";
+	private static final String JSONB_TRANSIENT = "jakarta.json.bind.annotation.JsonbTransient";
+	private static final String JSONB_TYPE_INFO = "jakarta.json.bind.annotation.JsonbTypeInfo";
+
+	private final Elements elements;
+
+	private final Types types;
+
+	BeanAnalyzer(final ProcessingEnvironment processingEnv) {
+		this.elements = processingEnv.getElementUtils();
+		this.types = processingEnv.getTypeUtils();
+	}
+
+	BeanDescriptor analyze(final TypeElement bean) throws InvalidBeanException, UnsupportedBeanException {
+		if (bean.getKind() != ElementKind.CLASS)
+			throw new UnsupportedBeanException("Only classes are supported", bean);
+		if (!bean.getTypeParameters().isEmpty())
+			throw new UnsupportedBeanException("Generic beans are not supported", bean);
+
+		for (Element enclosing = bean; enclosing instanceof TypeElement type; enclosing = enclosing.getEnclosingElement()) {
+			if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS)
+				throw new UnsupportedBeanException("Local classes are not supported", bean);
+			if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))
+				throw new UnsupportedBeanException("Inner classes are not supported", bean);
+			if (type.getModifiers().contains(Modifier.PRIVATE))
+				throw new UnsupportedBeanException("Private classes are not supported", bean);
+		}
+
+		final DeclaredType beanType = (DeclaredType) bean.asType();
+		final PackageElement packageElement = elements.getPackageOf(bean);
+
+		final SequencedMap<String, ReadProperty> readProperties = readProperties(beanType, bean, packageElement);
+		final List<Discriminator> discriminators = discriminators(bean, readProperties.keySet());
+
+		// Polymorphic types are buffered and dispatched on the discriminator, that is left to the reflective codec
+		if (annotation(bean, JSONB_TYPE_INFO) != null || bean.getModifiers().contains(Modifier.ABSTRACT))
+			return new BeanDescriptor(bean, discriminators, List.copyOf(readProperties.values()), null, Map.of());
+
+		final Creator creator = findCreator(beanType, bean);
+		if (creator == null)
+			return new BeanDescriptor(bean, discriminators, List.copyOf(readProperties.values()), null, Map.of());
+
+		return new BeanDescriptor(bean, discriminators, List.copyOf(readProperties.values()), creator, writeProperties(beanType, bean));
+	}
+
+	private SequencedMap<String, ReadProperty> readProperties(final DeclaredType beanType, final TypeElement clazz, final PackageElement packageElement) throws InvalidBeanException, UnsupportedBeanException {
+		if (clazz.getQualifiedName().contentEquals("java.lang.Object"))
+			return new LinkedHashMap<>();
+
+		final TypeElement superClazz = superclass(clazz);
+		final SequencedMap<String, ReadProperty> superProperties = (superClazz != null) ? readProperties(beanType, superClazz, packageElement) : new LinkedHashMap<>();
+
+		final Set<String> blacklist = new HashSet<>(superProperties.keySet());
+
+		final SortedMap<String, ReadProperty> localProperties = new TreeMap<>();
+
+		final Map<String, VariableElement> fields = fields(clazz);
+		final Map<String, ExecutableElement> getters = new HashMap<>();
+		final Map<String, ExecutableElement> setters = new HashMap<>();
+		for (final ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+			if (isGetter(method)) {
+				final ExecutableElement oldMethod;
+				if ((oldMethod = getters.putIfAbsent(beanPropertyName(method), method)) != null)
+					throw new InvalidBeanException("Multiple getters with the same name " + oldMethod + " vs " + method, method);
+			} else if (isSetter(method)) {
+				final ExecutableElement oldMethod;
+				if ((oldMethod = setters.putIfAbsent(beanPropertyName(method), method)) != null)
+					throw new InvalidBeanException("Multiple setters with the same name " + oldMethod + " vs " + method, method);
+			}
+		}
+
+		final Set<String> names = new HashSet<>();
+		names.addAll(fields.keySet());
+		names.addAll(getters.keySet());
+		names.addAll(setters.keySet());
+
+		for (final String name : names) {
+			final VariableElement field = fields.get(name);
+			final ExecutableElement getter = getters.get(name);
+			final ExecutableElement setter = setters.get(name);
+
+			final String propertyName = propertyName(name, field, getter, setter);
+
+			if (blacklist.contains(propertyName))
+				continue;
+
+			if (localProperties.containsKey(propertyName))
+				throw new InvalidBeanException("Duplicate property name " + propertyName, clazz);
+
+			if ((field != null && annotation(field, JSONB_TRANSIENT) != null) || (getter != null && annotation(getter, JSONB_TRANSIENT) != null)) {
+				blacklist.add(propertyName);
+				continue;
+			}
+
+			if (field != null && (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT))) {
+				blacklist.add(propertyName);
+				continue;
+			}
+
+			if ((getter != null && getter.getModifiers().contains(Modifier.STATIC)) || (setter != null && setter.getModifiers().contains(Modifier.STATIC))) {
+				blacklist.add(propertyName);
+				continue;
+			}
+
+			final Element reader;
+			if (getter != null || setter != null) {
+				final boolean publicGetter = getter != null && getter.getModifiers().contains(Modifier.PUBLIC);
+				final boolean publicSetter = setter != null && setter.getModifiers().contains(Modifier.PUBLIC);
+
+				if (!publicGetter && !publicSetter) {
+					blacklist.add(propertyName);
+					continue;
+				}
+
+				reader = (getter != null) ? getter : field;
+			} else {
+				if (!field.getModifiers().contains(Modifier.PUBLIC)) {
+					blacklist.add(propertyName);
+					continue;
+				}
+
+				reader = field;
+			}
+
+			if (reader == null) {
+				localProperties.put(propertyName, new ReadProperty(propertyName, ((ExecutableType) types.asMemberOf(beanType, setter)).getParameterTypes().getFirst(), null));
+				continue;
+			}
+
+			if (!isAccessible(reader, packageElement))
+				throw new UnsupportedBeanException("Property " + propertyName + " is not accessible from the generated codec", reader);
+
+			if (reader == getter)
+				localProperties.put(propertyName, new ReadProperty(propertyName, ((ExecutableType) types.asMemberOf(beanType, getter)).getReturnType(), new Accessor(getter.getSimpleName().toString(), declaringType(beanType, clazz), true)));
+			else
+				localProperties.put(propertyName, new ReadProperty(propertyName, types.asMemberOf(beanType, field), new Accessor(field.getSimpleName().toString(), declaringType(beanType, clazz), false)));
+		}
+
+		final SequencedMap<String, ReadProperty> properties = new LinkedHashMap<>();
+		properties.putAll(superProperties);
+		properties.putAll(localProperties);
+
+		return properties;
+	}
+
+	private Map<String, WriteProperty> writeProperties(final DeclaredType beanType, final TypeElement clazz) throws InvalidBeanException {
+		final TypeElement superClazz = superclass(clazz);
+
+		final Map<String, WriteProperty> properties;
+		if (superClazz != null && !superClazz.getQualifiedName().contentEquals("java.lang.Object"))
+			properties = new HashMap<>(writeProperties(beanType, superClazz));
+		else
+			properties = new HashMap<>();
+
+		final Map<String, VariableElement> fields = fields(clazz);
+
+		final Map<String, ExecutableElement> setters = new HashMap<>();
+		for (final ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+			final String methodName = method.getSimpleName().toString();
+			if (method.getParameters().size() == 1 && methodName.length() > 3 && methodName.startsWith("set") && Character.isUpperCase(methodName.codePointAt(3)))
+				setters.put(beanPropertyName(method), method);
+		}
+
+		final Set<String> names = new HashSet<>();
+		names.addAll(fields.keySet());
+		names.addAll(setters.keySet());
+
+		final Map<String, WriteProperty> localProperties = new HashMap<>();
+
+		for (final String name : names) {
+			final VariableElement field = fields.get(name);
+			final ExecutableElement setter = setters.get(name);
+			String propertyName = null;
+
+			if ((field != null && annotation(field, JSONB_TRANSIENT) != null) || (setter != null && annotation(setter, JSONB_TRANSIENT) != null))
+				continue;
+
+			if (field != null) {
+				final Set<Modifier> modifiers = field.getModifiers();
+				if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.TRANSIENT))
+					continue;
+
+				propertyName = propertyNameAnnotation(field);
+			}
+
+			if (setter != null) {
+				if (setter.getModifiers().contains(Modifier.STATIC))
+					continue;
+
+				final String annotated = propertyNameAnnotation(setter);
+				if (annotated != null) {
+					if (propertyName != null && !propertyName.equals(annotated))
+						throw new InvalidBeanException("Conflicting annotations for property " + name, setter);
+					propertyName = annotated;
+				}
+			}
+
+			if (propertyName == null)
+				propertyName = name;
+
+			final WriteProperty property;
+			if (setter != null) {
+				if (!setter.getModifiers().contains(Modifier.PUBLIC))
+					continue;
+				property = new WriteProperty(propertyName, ((ExecutableType) types.asMemberOf(beanType, setter)).getParameterTypes().getFirst(), new Accessor(setter.getSimpleName().toString(), declaringType(beanType, clazz), true), true);
+			} else if (field != null && field.getModifiers().contains(Modifier.PUBLIC)) {
+				property = new WriteProperty(propertyName, types.asMemberOf(beanType, field), new Accessor(field.getSimpleName().toString(), declaringType(beanType, clazz), false), false);
+			} else {
+				continue;
+			}
+
+			if (localProperties.containsKey(propertyName))
+				throw new InvalidBeanException("Duplicate property name " + propertyName, clazz);
+
+			localProperties.put(propertyName, property);
+		}
+
+		properties.putAll(localProperties);
+
+		return Collections.unmodifiableMap(properties);
+	}
+
+	private Creator findCreator(final DeclaredType beanType, final TypeElement clazz) throws InvalidBeanException {
+		ExecutableElement creator = null;
+
+		for (final ExecutableElement constructor : ElementFilter.constructorsIn(clazz.getEnclosedElements())) {
+			if (annotation(constructor, JSONB_CREATOR) == null)
+				continue;
+			if (!isPublicOrProtected(constructor))
+				throw new InvalidBeanException("Creator must be public or protected", constructor);
+			if (creator != null)
+				throw new InvalidBeanException("Only one creator is allowed", constructor);
+			creator = constructor;
+		}
+
+		for (final ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+			if (annotation(method, JSONB_CREATOR) == null)
+				continue;
+			if (!isPublicOrProtected(method))
+				throw new InvalidBeanException("Creator must be public or protected", method);
+			if (!method.getModifiers().contains(Modifier.STATIC))
+				throw new InvalidBeanException("Creator method must be static", method);
+			if (!types.isSameType(types.erasure(method.getReturnType()), types.erasure(beanType)))
+				throw new InvalidBeanException("Creator method must return an instance of the containing class", method);
+			if (creator != null)
+				throw new InvalidBeanException("Only one creator is allowed", method);
+			creator = method;
+		}
+
+		if (creator == null) {
+			for (final ExecutableElement constructor : ElementFilter.constructorsIn(clazz.getEnclosedElements())) {
+				if (isPublicOrProtected(constructor) && constructor.getParameters().isEmpty())
+					creator = constructor;
+			}
+		}
+
+		// The reflective codec reports the missing constructor when the type is deserialized
+		if (creator == null)
+			return null;
+
+		final List<? extends TypeMirror> parameterTypes = ((ExecutableType) types.asMemberOf(beanType, creator)).getParameterTypes();
+		final Set<String> names = new HashSet<>();
+		final List<CreatorParameter> parameters = new ArrayList<>();
+		for (int i = 0; i < creator.getParameters().size(); ++i) {
+			final VariableElement parameter = creator.getParameters().get(i);
+
+			String name = propertyNameAnnotation(parameter);
+			if (name == null)
+				name = parameter.getSimpleName().toString();
+
+			if (!names.add(name))
+				throw new InvalidBeanException("Duplicate property name " + name, parameter);
+
+			parameters.add(new CreatorParameter(name, parameterTypes.get(i)));
+		}
+
+		return new Creator(creator, List.copyOf(parameters));
+	}
+
+	private List<Discriminator> discriminators(final TypeElement clazz, final Set<String> propertyNames) throws InvalidBeanException {
+		final Set<String> keys = new HashSet<>();
+		final List<Discriminator> discriminators = new ArrayList<>();
+
+		for (final AnnotationMirror info : typeInfos(clazz)) {
+			final String key = (String) value(info, "key");
+			String alias = null;
+
+			if (!keys.add(key))
+				throw new InvalidBeanException("Name conflict on discriminator " + key, clazz);
+
+			for (final AnnotationMirror subtype : subtypes(info)) {
+				if (types.isAssignable(types.erasure(clazz.asType()), types.erasure((TypeMirror) value(subtype, "type")))) {
+					if (alias != null)
+						throw new InvalidBeanException("Multiple subtypes are compatible with concrete type", clazz);
+					alias = (String) value(subtype, "alias");
+				}
+			}
+
+			if (alias != null)
+				discriminators.add(new Discriminator(key, alias));
+		}
+
+		for (final String propertyName : propertyNames) {
+			if (keys.contains(propertyName))
+				throw new InvalidBeanException("Name conflict between discriminator and property " + propertyName, clazz);
+		}
+
+		return List.copyOf(discriminators);
+	}
+
+	private List<AnnotationMirror> typeInfos(final TypeElement clazz) throws InvalidBeanException {
+		TypeElement parent = null;
+
+		final TypeElement superClazz = superclass(clazz);
+		if (superClazz != null && annotation(superClazz, JSONB_TYPE_INFO) != null)
+			parent = superClazz;
+
+		for (final TypeMirror iface : clazz.getInterfaces()) {
+			final TypeElement ifaceElement = (TypeElement) types.asElement(iface);
+			if (annotation(ifaceElement, JSONB_TYPE_INFO) == null)
+				continue;
+			if (parent != null)
+				throw new InvalidBeanException("Multiple polymorphic parents", clazz);
+			parent = ifaceElement;
+		}
+
+		final List<AnnotationMirror> typeInfos = new ArrayList<>();
+		if (parent != null)
+			typeInfos.addAll(typeInfos(parent));
+
+		final AnnotationMirror typeInfo = annotation(clazz, JSONB_TYPE_INFO);
+		if (typeInfo != null) {
+			for (final AnnotationMirror subtype : subtypes(typeInfo)) {
+				if (!types.isAssignable(types.erasure((TypeMirror) value(subtype, "type")), types.erasure(clazz.asType())))
+					throw new InvalidBeanException("Invalid subtype, not a subclass", clazz);
+			}
+			typeInfos.add(typeInfo);
+		}
+
+		return typeInfos;
+	}
+
+	private List<AnnotationMirror> subtypes(final AnnotationMirror typeInfo) {
+		final List<AnnotationMirror> subtypes = new ArrayList<>();
+		for (final Object value : (List<?>) value(typeInfo, "value"))
+			subtypes.add((AnnotationMirror) ((AnnotationValue) value).getValue());
+		return subtypes;
+	}
+
+	private String propertyName(final String name, final VariableElement field, final ExecutableElement getter, final ExecutableElement setter) throws InvalidBeanException {
+		String propertyName = null;
+
+		for (final Element element : new Element[] { field, getter, setter }) {
+			if (element == null)
+				continue;
+			final String annotated = propertyNameAnnotation(element);
+			if (annotated == null)
+				continue;
+			if (propertyName != null && !Objects.equals(propertyName, annotated))
+				throw new InvalidBeanException("Conflicting annotations for property " + name, element);
+			propertyName = annotated;
+		}
+
+		return (propertyName != null) ? propertyName : name;
+	}
+
+	private String propertyNameAnnotation(final Element element) {
+		final AnnotationMirror annotation = annotation(element, JSONB_PROPERTY);
+		return (annotation != null) ? (String) value(annotation, "value") : null;
+	}
+
+	private Map<String, VariableElement> fields(final TypeElement clazz) {
+		final Map<String, VariableElement> fields = new HashMap<>();
+		for (final VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements()))
+			fields.put(field.getSimpleName().toString(), field);
+		return fields;
+	}
+
+	// The superclass of the bean that is declared by the class, with the type arguments of the bean
+	private DeclaredType declaringType(final DeclaredType beanType, final TypeElement clazz) {
+		if (beanType.asElement().equals(clazz))
+			return null;
+
+		TypeMirror type = beanType;
+		while (!types.asElement(type).equals(clazz))
+			type = types.directSupertypes(type).getFirst();
+		return (DeclaredType) type;
+	}
+
+	private TypeElement superclass(final TypeElement clazz) {
+		final TypeMirror superclass = clazz.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED)
+			return null;
+		return (TypeElement) types.asElement(superclass);
+	}
+
+	private AnnotationMirror annotation(final Element element, final String annotationName) {
+		for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName))
+				return annotation;
+		}
+		return null;
+	}
+
+	private Object value(final AnnotationMirror annotation, final String name) {
+		for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name))
+				return entry.getValue().getValue();
+		}
+		throw new IllegalArgumentException("No annotation element " + name);
+	}
+
+	// The generated codec is in the package of the bean, but it is not a subclass
+	private static boolean isAccessible(final Element member, final PackageElement packageElement) {
+		final Set<Modifier> modifiers = member.getModifiers();
+		if (modifiers.contains(Modifier.PUBLIC))
+			return true;
+		if (modifiers.contains(Modifier.PRIVATE))
+			return false;
+
+		Element enclosing = member;
+		while (!(enclosing instanceof PackageElement))
+			enclosing = enclosing.getEnclosingElement();
+		return enclosing.equals(packageElement);
+	}
+
+	private static boolean isPublicOrProtected(final Element element) {
+		return element.getModifiers().contains(Modifier.PUBLIC) || element.getModifiers().contains(Modifier.PROTECTED);
+	}
+
+	private static boolean isGetter(final ExecutableElement method) {
+		final String name = method.getSimpleName().toString();
+		// @formatter:off
+		return ((name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.codePointAt(3))) ||
+					(name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.codePointAt(2)))) &&
+				method.getParameters().isEmpty() &&
+				method.getReturnType().getKind() != TypeKind.VOID;
+		// @formatter:on
+	}
+
+	private static boolean isSetter(final ExecutableElement method) {
+		final String name = method.getSimpleName().toString();
+		// @formatter:off
+		return name.length() > 3 && name.startsWith("set") &&
+				Character.isUpperCase(name.codePointAt(3)) &&
+				method.getParameters().size() == 1;
+		// @formatter:on
+	}
+
+	private static String beanPropertyName(final ExecutableElement method) {
+		final String methodName = method.getSimpleName().toString();
+		final int prefixLength = methodName.startsWith("is") ? 2 : 3;
+
+		final int firstCodePoint = methodName.codePointAt(prefixLength);
+		final String rest = methodName.substring(prefixLength + Character.charCount(firstCodePoint));
+
+		return Character.toString(Character.toLowerCase(firstCodePoint)) + rest;
+	}
+}
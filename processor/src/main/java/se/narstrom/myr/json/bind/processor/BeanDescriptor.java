@@ -0,0 +1,51 @@
+package se.narstrom.myr.json.bind.processor;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * The mapping of a bean as seen at compile time, the same rules as the reflective {@code BeanModel} applied to the
+ * language model.
+ *
+ * @param creator          the creator, or {@code null} if the bean is not deserialized by the codec
+ * @param writeProperties  the properties bound after the creator, empty without a creator
+ */
+record BeanDescriptor(TypeElement element, List<Discriminator> discriminators, List<ReadProperty> readProperties, Creator creator, Map<String, WriteProperty> writeProperties) {
+
+	record Discriminator(String key, String alias) {
+	}
+
+	/**
+	 * @param type     the type of the accessor, only its primitive kind is used
+	 * @param accessor the getter or field, or {@code null} if the property is not readable
+	 */
+	record ReadProperty(String name, TypeMirror type, Accessor accessor) {
+	}
+
+	/**
+	 * @param setter {@code true} for a setter, {@code false} for a field
+	 */
+	record WriteProperty(String name, TypeMirror type, Accessor accessor, boolean setter) {
+	}
+
+	/**
+	 * @param declaringType the type that declares the member as a supertype of the bean, or {@code null} if the bean
+	 *                      declares it. Used to qualify fields hidden by a subclass
+	 */
+	record Accessor(String member, DeclaredType declaringType, boolean method) {
+	}
+
+	/**
+	 * @param element a constructor or a static factory method
+	 */
+	record Creator(ExecutableElement element, List<CreatorParameter> parameters) {
+	}
+
+	record CreatorParameter(String name, TypeMirror type) {
+	}
+}
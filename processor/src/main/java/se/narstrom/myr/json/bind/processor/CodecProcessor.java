@@ -0,0 +1,120 @@
+package se.narstrom.myr.json.bind.processor;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a codec for every class annotated with {@code @GenerateCodec}, and registers the codecs in
+ * {@code META-INF/services} so that {@code MyrJsonb} uses them instead of building the bean models with reflection.
+ *
+ * A bean with an invalid mapping is a compile error. A valid bean that the generated code can not bind, such as one with
+ * a private getter, is a warning and is bound reflectively as before.
+ */
+@SupportedAnnotationTypes(CodecProcessor.GENERATE_CODEC)
+public final class CodecProcessor extends AbstractProcessor {
+	static final String GENERATE_CODEC = "se.narstrom.myr.json.bind.annotation.GenerateCodec";
+
+	private static final String SERVICE_FILE = "META-INF/services/se.narstrom.myr.json.bind.serializer.generated.CompiledCodec";
+
+	private BeanAnalyzer analyzer;
+
+	private CodecWriter writer;
+
+	private Messager messager;
+
+	// Binary names of the codecs, sorted to keep the service file stable between builds
+	private final SortedSet<String> codecs = new TreeSet<>();
+
+	private final List<Element> originatingElements = new ArrayList<>();
+
+	@Override
+	public synchronized void init(final ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		this.analyzer = new BeanAnalyzer(processingEnv);
+		this.writer = new CodecWriter(processingEnv);
+		this.messager = processingEnv.getMessager();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			if (!codecs.isEmpty())
+				writeServiceFile();
+			return false;
+		}
+
+		final TypeElement marker = processingEnv.getElementUtils().getTypeElement(GENERATE_CODEC);
+		if (marker == null)
+			return false;
+
+		for (final Element element : roundEnv.getElementsAnnotatedWith(marker)) {
+			final TypeElement bean = (TypeElement) element;
+			try {
+				codecs.add(writer.write(analyzer.analyze(bean)));
+				originatingElements.add(bean);
+			} catch (final InvalidBeanException ex) {
+				messager.printMessage(Kind.ERROR, ex.getMessage(), ex.element());
+			} catch (final UnsupportedBeanException ex) {
+				messager.printMessage(Kind.WARNING, ex.getMessage() + ", no codec is generated for " + bean.getQualifiedName(), ex.element());
+			} catch (final IOException ex) {
+				messager.printMessage(Kind.ERROR, "Cannot write the codec: " + ex.getMessage(), bean);
+			}
+		}
+
+		return true;
+	}
+
+	private void writeServiceFile() {
+		// Keep the codecs of an earlier incremental compilation
+		try {
+			final FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+			try (final BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					line = line.strip();
+					if (!line.isEmpty() && !line.startsWith("#"))
+						codecs.add(line);
+				}
+			}
+		} catch (final FileNotFoundException | NoSuchFileException ex) {
+			// First compilation
+		} catch (final IOException ex) {
+			messager.printMessage(Kind.WARNING, "Cannot read " + SERVICE_FILE + ": " + ex.getMessage());
+		}
+
+		try {
+			final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE, originatingElements.toArray(Element[]::new));
+			try (final Writer out = file.openWriter()) {
+				for (final String codec : codecs)
+					out.write(codec + "\n");
+			}
+		} catch (final IOException ex) {
+			messager.printMessage(Kind.ERROR, "Cannot write " + SERVICE_FILE + ": " + ex.getMessage());
+		}
+	}
+}
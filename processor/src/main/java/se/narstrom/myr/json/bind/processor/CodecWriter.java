@@ -0,0 +1,374 @@
+package se.narstrom.myr.json.bind.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.Accessor;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.CreatorParameter;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.Discriminator;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.ReadProperty;
+import se.narstrom.myr.json.bind.processor.BeanDescriptor.WriteProperty;
+
+/**
+ * Writes the source of the codec of a bean, a class in the package of the bean that implements {@code CompiledCodec},
+ * {@code JsonbSerializer} and, if the bean has a creator, {@code JsonbDeserializer}.
+ *
+ * The generated code calls the same {@code CodecSupport} methods as the codecs generated at runtime, so the two only
+ * differ in when they are generated.
+ */
+final class CodecWriter {
+	static final String SUFFIX = "_JsonbCodec";
+
+	private final Elements elements;
+
+	private final Filer filer;
+
+	CodecWriter(final ProcessingEnvironment processingEnv) {
+		this.elements = processingEnv.getElementUtils();
+		this.filer = processingEnv.getFiler();
+	}
+
+	/**
+	 * @return the binary name of the codec
+	 */
+	String write(final BeanDescriptor bean) throws IOException, UnsupportedBeanException {
+		final TypeElement element = bean.element();
+		final PackageElement packageElement = elements.getPackageOf(element);
+
+		final StringBuilder simpleName = new StringBuilder(SUFFIX);
+		for (Element enclosing = element; enclosing.getKind() != ElementKind.PACKAGE; enclosing = enclosing.getEnclosingElement())
+			simpleName.insert(0, (enclosing == element ? "" : "_")).insert(0, enclosing.getSimpleName());
+		final String codecName = packageElement.isUnnamed() ? simpleName.toString() : packageElement.getQualifiedName() + "." + simpleName;
+
+		final Source source = new Source(bean, simpleName.toString());
+		final String code = source.generate(packageElement);
+
+		try (final Writer writer = filer.createSourceFile(codecName, element).openWriter()) {
+			writer.write(code);
+		}
+
+		return codecName;
+	}
+
+	private final class Source {
+		private final BeanDescriptor bean;
+
+		private final String simpleName;
+
+		private final String beanName;
+
+		// Type expressions that are not class literals, built once per codec
+		private final SequencedMap<String, String> typeConstants = new LinkedHashMap<>();
+
+		private final StringBuilder out = new StringBuilder();
+
+		private Source(final BeanDescriptor bean, final String simpleName) {
+			this.bean = bean;
+			this.simpleName = simpleName;
+			this.beanName = bean.element().getQualifiedName().toString();
+		}
+
+		private String generate(final PackageElement packageElement) throws UnsupportedBeanException {
+			final StringBuilder body = new StringBuilder();
+			generateType(body);
+			generateSerializer(body);
+			if (bean.creator() != null)
+				generateDeserializer(body);
+
+			if (!packageElement.isUnnamed())
+				line(0, "package " + packageElement.getQualifiedName() + ";").line(0, "");
+
+			line(0, "import java.lang.reflect.Type;").line(0, "");
+			line(0, "import javax.annotation.processing.Generated;").line(0, "");
+			line(0, "import jakarta.json.bind.JsonbException;");
+			line(0, "import jakarta.json.bind.serializer.DeserializationContext;");
+			line(0, "import jakarta.json.bind.serializer.JsonbDeserializer;");
+			line(0, "import jakarta.json.bind.serializer.JsonbSerializer;");
+			line(0, "import jakarta.json.bind.serializer.SerializationContext;");
+			line(0, "import jakarta.json.stream.JsonGenerator;");
+			line(0, "import jakarta.json.stream.JsonParser;");
+			line(0, "import se.narstrom.myr.json.bind.serializer.generated.CodecSupport;");
+			line(0, "import se.narstrom.myr.json.bind.serializer.generated.CompiledCodec;").line(0, "");
+
+			line(0, "@Generated(\"" + CodecProcessor.class.getName() + "\")");
+			line(0, "public final class " + simpleName + " implements CompiledCodec, JsonbSerializer<" + beanName + ">"
+					+ (bean.creator() != null ? ", JsonbDeserializer<" + beanName + ">" : "") + " {");
+			for (final Map.Entry<String, String> constant : typeConstants.entrySet())
+				line(1, "private static final Type " + constant.getValue() + " = " + constant.getKey() + ";");
+			if (!typeConstants.isEmpty())
+				line(0, "");
+			out.append(body);
+			line(0, "}");
+
+			return out.toString();
+		}
+
+		private void generateType(final StringBuilder body) {
+			body.append("\t@Override\n");
+			body.append("\tpublic Class<?> type() {\n");
+			body.append("\t\treturn ").append(beanName).append(".class;\n");
+			body.append("\t}\n\n");
+			body.append("\t@Override\n");
+			body.append("\tpublic JsonbSerializer<?> serializer() {\n");
+			body.append("\t\treturn this;\n");
+			body.append("\t}\n\n");
+			body.append("\t@Override\n");
+			body.append("\tpublic JsonbDeserializer<?> deserializer() {\n");
+			body.append("\t\treturn ").append(bean.creator() != null ? "this" : "null").append(";\n");
+			body.append("\t}\n\n");
+		}
+
+		private void generateSerializer(final StringBuilder body) throws UnsupportedBeanException {
+			body.append("\t@Override\n");
+			body.append("\tpublic void serialize(final ").append(beanName).append(" bean, final JsonGenerator generator, final SerializationContext context) {\n");
+
+			for (final ReadProperty property : bean.readProperties()) {
+				if (property.accessor() == null) {
+					body.append("\t\tthrow new JsonbException(").append(literal("Property " + property.name() + " is not readable")).append(");\n");
+					body.append("\t}\n\n");
+					return;
+				}
+			}
+
+			body.append("\t\tfinal boolean writeNulls = CodecSupport.writeNulls(context);\n\n");
+			body.append("\t\tgenerator.writeStartObject();\n");
+			for (final Discriminator discriminator : bean.discriminators())
+				body.append("\t\tgenerator.write(").append(literal(discriminator.key())).append(", ").append(literal(discriminator.alias())).append(");\n");
+
+			for (final ReadProperty property : bean.readProperties()) {
+				final String value = read(property.accessor());
+				final String name = literal(property.name());
+				switch (property.type().getKind()) {
+					// Primitives are never null, written without boxing unless a custom serializer is installed for the wrapper
+					case INT -> body.append("\t\tCodecSupport.serializeInt(context, generator, ").append(name).append(", ").append(value).append(");\n");
+					case LONG -> body.append("\t\tCodecSupport.serializeLong(context, generator, ").append(name).append(", ").append(value).append(");\n");
+					case DOUBLE -> body.append("\t\tCodecSupport.serializeDouble(context, generator, ").append(name).append(", ").append(value).append(");\n");
+					case BOOLEAN -> body.append("\t\tCodecSupport.serializeBoolean(context, generator, ").append(name).append(", ").append(value).append(");\n");
+					default -> body.append("\t\tCodecSupport.serializeProperty(context, generator, ").append(name).append(", ").append(value).append(", writeNulls);\n");
+				}
+			}
+			body.append("\t\tgenerator.writeEnd();\n");
+			body.append("\t}\n\n");
+		}
+
+		private void generateDeserializer(final StringBuilder body) throws UnsupportedBeanException {
+			final List<CreatorParameter> parameters = bean.creator().parameters();
+			final List<WriteProperty> properties = List.copyOf(bean.writeProperties().values());
+			// Without creator parameters the instance is created up front and bound while parsing
+			final boolean buffered = !parameters.isEmpty();
+
+			// Every JSON name with the creator parameter and the property it is bound to, either may be absent
+			final SequencedMap<String, int[]> names = new LinkedHashMap<>();
+			for (int i = 0; i < parameters.size(); ++i)
+				names.computeIfAbsent(parameters.get(i).name(), key -> new int[] { -1, -1 })[0] = i;
+			for (int i = 0; i < properties.size(); ++i)
+				names.computeIfAbsent(properties.get(i).name(), key -> new int[] { -1, -1 })[1] = i;
+
+			body.append("\t@Override\n");
+			body.append("\t@SuppressWarnings(\"unchecked\")\n");
+			body.append("\tpublic ").append(beanName).append(" deserialize(final JsonParser parser, final DeserializationContext context, final Type type) {\n");
+			body.append("\t\tif (!CodecSupport.startObject(parser))\n");
+			body.append("\t\t\treturn null;\n\n");
+
+			if (buffered) {
+				for (int i = 0; i < parameters.size(); ++i)
+					body.append("\t\tObject argument").append(i).append(" = null;\n");
+				for (final int[] index : names.values()) {
+					if (index[1] != -1) {
+						body.append("\t\tObject value").append(index[1]).append(" = null;\n");
+						body.append("\t\tboolean present").append(index[1]).append(" = false;\n");
+					}
+				}
+			} else {
+				body.append("\t\tfinal ").append(beanName).append(" bean = ").append(instantiate(List.of())).append(";\n");
+			}
+
+			body.append("\n\t\tString name;\n");
+			body.append("\t\twhile ((name = CodecSupport.nextProperty(parser)) != null) {\n");
+			body.append("\t\t\tswitch (name) {\n");
+			for (final Map.Entry<String, int[]> entry : names.entrySet()) {
+				final int parameter = entry.getValue()[0];
+				final int property = entry.getValue()[1];
+				final TypeMirror type = (parameter != -1) ? parameters.get(parameter).type() : properties.get(property).type();
+
+				body.append("\t\t\t\tcase ").append(literal(entry.getKey())).append(" -> {\n");
+				body.append("\t\t\t\t\tfinal Object value = context.deserialize(").append(typeExpression(type)).append(", parser);\n");
+				if (parameter != -1)
+					body.append("\t\t\t\t\targument").append(parameter).append(" = value;\n");
+				if (property != -1 && buffered) {
+					body.append("\t\t\t\t\tvalue").append(property).append(" = value;\n");
+					body.append("\t\t\t\t\tpresent").append(property).append(" = true;\n");
+				} else if (property != -1) {
+					body.append("\t\t\t\t\t").append(write(properties.get(property), "value")).append(";\n");
+				}
+				body.append("\t\t\t\t}\n");
+			}
+			body.append("\t\t\t\tdefault -> CodecSupport.skipProperty(name, parser, context, type);\n");
+			body.append("\t\t\t}\n");
+			body.append("\t\t}\n");
+
+			if (buffered) {
+				final List<String> arguments = new ArrayList<>();
+				for (int i = 0; i < parameters.size(); ++i)
+					arguments.add(convert(parameters.get(i).type(), "argument" + i));
+
+				body.append("\n\t\tfinal ").append(beanName).append(" bean = ").append(instantiate(arguments)).append(";\n");
+				for (final int[] index : names.values()) {
+					if (index[1] == -1)
+						continue;
+					body.append("\t\tif (present").append(index[1]).append(")\n");
+					body.append("\t\t\t").append(write(properties.get(index[1]), "value" + index[1])).append(";\n");
+				}
+			}
+
+			body.append("\t\treturn bean;\n");
+			body.append("\t}\n");
+		}
+
+		private String instantiate(final List<String> arguments) {
+			final String joined = String.join(", ", arguments);
+			if (bean.creator().element().getKind() == ElementKind.CONSTRUCTOR)
+				return "new " + beanName + "(" + joined + ")";
+			return beanName + "." + bean.creator().element().getSimpleName() + "(" + joined + ")";
+		}
+
+		private String read(final Accessor accessor) throws UnsupportedBeanException {
+			if (accessor.method())
+				return "bean." + accessor.member() + "()";
+			return field(accessor);
+		}
+
+		private String write(final WriteProperty property, final String value) throws UnsupportedBeanException {
+			final Accessor accessor = property.accessor();
+			if (property.setter())
+				return "bean." + accessor.member() + "(" + convert(property.type(), value) + ")";
+			return field(accessor) + " = " + convert(property.type(), value);
+		}
+
+		private String field(final Accessor accessor) throws UnsupportedBeanException {
+			if (accessor.declaringType() == null)
+				return "bean." + accessor.member();
+			// Cast to the declaring type, the field may be hidden by a subclass
+			return "((" + sourceType(accessor.declaringType()) + ") bean)." + accessor.member();
+		}
+
+		private String convert(final TypeMirror type, final String value) throws UnsupportedBeanException {
+			return switch (type.getKind()) {
+				case BOOLEAN -> "CodecSupport.toBoolean(" + value + ")";
+				case BYTE -> "CodecSupport.toByte(" + value + ")";
+				case CHAR -> "CodecSupport.toChar(" + value + ")";
+				case SHORT -> "CodecSupport.toShort(" + value + ")";
+				case INT -> "CodecSupport.toInt(" + value + ")";
+				case LONG -> "CodecSupport.toLong(" + value + ")";
+				case FLOAT -> "CodecSupport.toFloat(" + value + ")";
+				case DOUBLE -> "CodecSupport.toDouble(" + value + ")";
+				default -> "(" + sourceType(type) + ") " + value;
+			};
+		}
+
+		/**
+		 * @return an expression of the {@code java.lang.reflect.Type} of the type, wildcards are replaced by their upper
+		 *         bound
+		 */
+		private String typeExpression(final TypeMirror type) throws UnsupportedBeanException {
+			final String expression = runtimeType(type);
+			if (expression.endsWith(".class"))
+				return expression;
+			return typeConstants.computeIfAbsent(expression, key -> "TYPE_" + typeConstants.size());
+		}
+
+		private String runtimeType(final TypeMirror type) throws UnsupportedBeanException {
+			switch (type.getKind()) {
+				case BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE:
+					return type.getKind().name().toLowerCase() + ".class";
+				case DECLARED: {
+					final DeclaredType declared = (DeclaredType) type;
+					final String raw = ((TypeElement) declared.asElement()).getQualifiedName() + ".class";
+					final List<String> arguments = new ArrayList<>();
+					for (final TypeMirror argument : declared.getTypeArguments())
+						arguments.add(", " + runtimeType(argument));
+
+					// An inner class of a generic class is parameterized through its owner, even without arguments of its own
+					final TypeMirror enclosing = declared.getEnclosingType();
+					if (enclosing.getKind() == TypeKind.DECLARED) {
+						final String owner = runtimeType(enclosing);
+						if (!owner.endsWith(".class"))
+							return "CodecSupport.parameterizedInner(" + owner + ", " + raw + String.join("", arguments) + ")";
+					}
+
+					if (arguments.isEmpty())
+						return raw;
+					return "CodecSupport.parameterized(" + raw + String.join("", arguments) + ")";
+				}
+				case ARRAY: {
+					final String component = runtimeType(((ArrayType) type).getComponentType());
+					if (component.endsWith(".class"))
+						return component.substring(0, component.length() - ".class".length()) + "[].class";
+					return "CodecSupport.arrayOf(" + component + ")";
+				}
+				case WILDCARD: {
+					final TypeMirror bound = ((WildcardType) type).getExtendsBound();
+					return (bound != null) ? runtimeType(bound) : "Object.class";
+				}
+				default:
+					throw new UnsupportedBeanException("Unsupported property type " + type, bean.element());
+			}
+		}
+
+		private String sourceType(final TypeMirror type) throws UnsupportedBeanException {
+			switch (type.getKind()) {
+				case BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE:
+					return type.getKind().name().toLowerCase();
+				case DECLARED: {
+					final DeclaredType declared = (DeclaredType) type;
+					final String raw = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+					if (declared.getTypeArguments().isEmpty())
+						return raw;
+					final List<String> arguments = new ArrayList<>();
+					for (final TypeMirror argument : declared.getTypeArguments())
+						arguments.add(sourceType(argument));
+					return raw + "<" + String.join(", ", arguments) + ">";
+				}
+				case ARRAY:
+					return sourceType(((ArrayType) type).getComponentType()) + "[]";
+				case WILDCARD: {
+					final WildcardType wildcard = (WildcardType) type;
+					if (wildcard.getExtendsBound() != null)
+						return "? extends " + sourceType(wildcard.getExtendsBound());
+					if (wildcard.getSuperBound() != null)
+						return "? super " + sourceType(wildcard.getSuperBound());
+					return "?";
+				}
+				default:
+					throw new UnsupportedBeanException("Unsupported property type " + type, bean.element());
+			}
+		}
+
+		private String literal(final String value) {
+			return elements.getConstantExpression(value);
+		}
+
+		private Source line(final int indent, final String line) {
+			out.append("\t".repeat(indent)).append(line).append('\n');
+			return this;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package se.narstrom.myr.json.bind.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * The mapping of the bean is invalid, the reflective codecs would fail on it at runtime.
+ */
+final class InvalidBeanException extends Exception {
+	private static final long serialVersionUID = 1L;
+
+	private final transient Element element;
+
+	InvalidBeanException(final String message, final Element element) {
+		super(message);
+		this.element = element;
+	}
+
+	Element element() {
+		return element;
+	}
+}
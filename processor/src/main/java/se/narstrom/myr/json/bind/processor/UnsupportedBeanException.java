@@ -0,0 +1,21 @@
+package se.narstrom.myr.json.bind.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * No codec can be generated for the bean, it is left to the reflective codecs.
+ */
+final class UnsupportedBeanException extends Exception {
+	private static final long serialVersionUID = 1L;
+
+	private final transient Element element;
+
+	UnsupportedBeanException(final String message, final Element element) {
+		super(message);
+		this.element = element;
+	}
+
+	Element element() {
+		return element;
+	}
+}
@@ -0,0 +1,341 @@
+package se.narstrom.myr.json.bind.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.json.bind.JsonbBuilder;
+import se.narstrom.myr.json.bind.MyrJsonb;
+
+/**
+ * Compiles beans in the style of the TCK with the processor, and checks the compiled codecs against the reflective
+ * codecs for the same classes.
+ */
+class CodecProcessorTest {
+	private static final Pattern PACKAGE = Pattern.compile("^package ([\\w.]+);", Pattern.MULTILINE);
+
+	private static final Pattern CLASS = Pattern.compile("^public (?:abstract )?class (\\w+)", Pattern.MULTILINE);
+
+	private static final String SERVICE_FILE = "META-INF/services/se.narstrom.myr.json.bind.serializer.generated.CompiledCodec";
+
+	private static final String IMPORTS = """
+			import java.util.*;
+			import jakarta.json.bind.annotation.*;
+			import se.narstrom.myr.json.bind.annotation.GenerateCodec;
+			""";
+
+	private static final String PERSON = """
+			package beans;
+			%s
+			@GenerateCodec
+			public class Person {
+				public String name;
+				private int age;
+				@JsonbProperty("e-mail")
+				public String email;
+				@JsonbTransient
+				public String password;
+				public transient String session;
+				public List<String> nicknames;
+				public Map<String, Integer> scores;
+				public int[] lucky;
+				public Address address;
+				private String secret;
+
+				public int getAge() { return age; }
+				public void setAge(final int age) { this.age = age; }
+
+				@JsonbTransient
+				public String getSecret() { return secret; }
+				public void setSecret(final String secret) { this.secret = secret; }
+			}
+			""".formatted(IMPORTS);
+
+	private static final String ADDRESS = """
+			package beans;
+			public class Address {
+				public String street;
+				public int number;
+			}
+			""";
+
+	private static final String EMPLOYEE = """
+			package beans;
+			%s
+			@GenerateCodec
+			public class Employee extends Person {
+				public String company;
+				public Double salary;
+			}
+			""".formatted(IMPORTS);
+
+	private static final String POINT = """
+			package beans;
+			%s
+			@GenerateCodec
+			public class Point {
+				private final int x;
+				private final int y;
+				public String label;
+
+				@JsonbCreator
+				public Point(@JsonbProperty("x") final int x, @JsonbProperty("y") final int y) {
+					this.x = x;
+					this.y = y;
+				}
+
+				public int getX() { return x; }
+				public int getY() { return y; }
+			}
+			""".formatted(IMPORTS);
+
+	private static final String ANIMAL = """
+			package beans;
+			%s
+			@GenerateCodec
+			@JsonbTypeInfo(key = "@type", value = { @JsonbSubtype(alias = "dog", type = Dog.class) })
+			public abstract class Animal {
+				public String name;
+			}
+			""".formatted(IMPORTS);
+
+	private static final String DOG = """
+			package beans;
+			%s
+			@GenerateCodec
+			public class Dog extends Animal {
+				public boolean barks;
+			}
+			""".formatted(IMPORTS);
+
+	private static final String TYPES = """
+			package beans;
+			%s
+			@GenerateCodec
+			public class Types {
+				public Map.Entry<String, Integer> entry;
+				public List<Map<String, List<Integer>>> nested;
+				public List<String>[] lists;
+				public Outer<String>.Inner inner;
+				public Outer.Nested<Long> nestedInOuter;
+
+				public static class Outer<T> {
+					public class Inner {
+					}
+
+					public static class Nested<U> {
+					}
+				}
+			}
+			""".formatted(IMPORTS);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void codecsAreGeneratedAndRegistered() throws Exception {
+		final Compilation compilation = compile(PERSON, ADDRESS, EMPLOYEE, POINT, ANIMAL, DOG);
+		assertEquals(List.of(), compilation.diagnostics(Diagnostic.Kind.ERROR));
+		assertEquals(List.of(), compilation.diagnostics(Diagnostic.Kind.WARNING));
+
+		final List<String> codecs = Files.readAllLines(directory.resolve("classes").resolve(SERVICE_FILE));
+		assertEquals(List.of("beans.Animal_JsonbCodec", "beans.Dog_JsonbCodec", "beans.Employee_JsonbCodec", "beans.Person_JsonbCodec", "beans.Point_JsonbCodec"), codecs);
+	}
+
+	@Test
+	void typeConstantsEqualTheReflectedTypes() throws Exception {
+		final Compilation compilation = compile(TYPES);
+		assertEquals(List.of(), compilation.diagnostics(Diagnostic.Kind.ERROR));
+
+		try (final URLClassLoader loader = compilation.loader()) {
+			final Set<Type> reflected = new HashSet<>();
+			for (final Field field : loader.loadClass("beans.Types").getFields())
+				reflected.add(field.getGenericType());
+
+			final Set<Type> constants = new HashSet<>();
+			for (final Field field : loader.loadClass("beans.Types_JsonbCodec").getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) && field.getType() == Type.class) {
+					field.setAccessible(true);
+					constants.add((Type) field.get(null));
+				}
+			}
+
+			// Equal both ways and with equal hash codes, so that they share the cached lookups
+			assertEquals(reflected, constants);
+			assertEquals(constants, reflected);
+		}
+	}
+
+	@Test
+	void compiledCodecsMatchReflective() throws Exception {
+		final Compilation compilation = compile(PERSON, ADDRESS, EMPLOYEE, POINT, ANIMAL, DOG);
+		assertEquals(List.of(), compilation.diagnostics(Diagnostic.Kind.ERROR));
+
+		try (final URLClassLoader loader = compilation.loader(); final MyrJsonb reflective = create(getClass().getClassLoader()); final MyrJsonb compiled = create(loader)) {
+			assertMatches(reflective, compiled, loader.loadClass("beans.Person"),
+					"{}",
+					"{\"name\":\"Duke\",\"age\":30,\"e-mail\":\"duke@example.com\",\"password\":\"hidden\",\"session\":\"s\",\"nicknames\":[\"d\",\"j\"],\"scores\":{\"a\":1,\"b\":2},\"lucky\":[7,13],\"address\":{\"street\":\"Main\",\"number\":1},\"secret\":\"kept\",\"unknown\":[1,{}]}",
+					"{\"name\":null,\"nicknames\":null,\"scores\":{},\"lucky\":[]}",
+					"{\"age\":\"thirty\"}");
+			assertMatches(reflective, compiled, loader.loadClass("beans.Employee"),
+					"{\"name\":\"Duke\",\"company\":\"Oracle\",\"salary\":1.5,\"age\":40}",
+					"{\"salary\":null}");
+			assertMatches(reflective, compiled, loader.loadClass("beans.Point"),
+					"{\"x\":1,\"y\":-2,\"label\":\"a\"}",
+					"{\"y\":5}",
+					"{\"label\":\"b\",\"x\":3}");
+			assertMatches(reflective, compiled, loader.loadClass("beans.Dog"),
+					"{\"name\":\"Rex\",\"barks\":true}");
+			assertMatches(reflective, compiled, loader.loadClass("beans.Animal"),
+					"{\"@type\":\"dog\",\"name\":\"Rex\",\"barks\":true}");
+		}
+	}
+
+	@Test
+	void unsupportedBeanIsAWarning() throws Exception {
+		final Compilation compilation = compile("""
+				package beans;
+				%s
+				@GenerateCodec
+				public class Box<T> {
+					public T value;
+				}
+				""".formatted(IMPORTS), PERSON, ADDRESS);
+		assertEquals(List.of(), compilation.diagnostics(Diagnostic.Kind.ERROR));
+		final List<String> warnings = compilation.diagnostics(Diagnostic.Kind.WARNING);
+		assertEquals(1, warnings.size());
+		assertTrue(warnings.getFirst().contains("beans.Box"), warnings.getFirst());
+
+		assertEquals(List.of("beans.Person_JsonbCodec"), Files.readAllLines(directory.resolve("classes").resolve(SERVICE_FILE)));
+	}
+
+	@Test
+	void invalidBeanIsAnError() throws Exception {
+		final Compilation compilation = compile("""
+				package beans;
+				%s
+				@GenerateCodec
+				public class Duplicate {
+					@JsonbProperty("same")
+					public String first;
+					@JsonbProperty("same")
+					public String second;
+				}
+				""".formatted(IMPORTS));
+		final List<String> errors = compilation.diagnostics(Diagnostic.Kind.ERROR);
+		assertEquals(1, errors.size());
+		assertTrue(errors.getFirst().contains("same"), errors.getFirst());
+	}
+
+	/**
+	 * Binds every input with both instances, the outcome must be the same: the same JSON written back, or the same
+	 * exception. The compiled instance also serializes what the reflective one deserialized.
+	 */
+	private static void assertMatches(final MyrJsonb reflective, final MyrJsonb compiled, final Class<?> type, final String... inputs) {
+		assertTrue(compiled.findSerializer(type).getClass().getName().endsWith(CodecWriter.SUFFIX), type.getName());
+		assertFalse(reflective.findSerializer(type).getClass().getName().endsWith(CodecWriter.SUFFIX), type.getName());
+
+		for (final String json : inputs) {
+			final String expected = outcome(() -> reflective.toJson(reflective.fromJson(json, type)));
+			assertEquals(expected, outcome(() -> compiled.toJson(compiled.fromJson(json, type))), json);
+			assertEquals(expected, outcome(() -> compiled.toJson(reflective.fromJson(json, type))), json);
+		}
+	}
+
+	private static String outcome(final Supplier<String> binding) {
+		try {
+			return binding.get();
+		} catch (final RuntimeException ex) {
+			return ex.getClass().getName();
+		}
+	}
+
+	// The compiled codecs are loaded with the context class loader
+	private static MyrJsonb create(final ClassLoader loader) {
+		final Thread thread = Thread.currentThread();
+		final ClassLoader contextLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		try {
+			return (MyrJsonb) JsonbBuilder.create();
+		} finally {
+			thread.setContextClassLoader(contextLoader);
+		}
+	}
+
+	private Compilation compile(final String... sources) throws IOException {
+		final Path classes = Files.createDirectories(directory.resolve("classes"));
+
+		final List<JavaFileObject> files = new ArrayList<>();
+		for (final String source : sources)
+			files.add(new Source(source));
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		final List<String> options = List.of("-d", classes.toString(), "-classpath", System.getProperty("java.class.path"));
+		final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, files);
+		task.setProcessors(List.of(new CodecProcessor()));
+		task.call();
+
+		return new Compilation(classes, diagnostics.getDiagnostics());
+	}
+
+	private record Compilation(Path classes, List<Diagnostic<? extends JavaFileObject>> all) {
+		List<String> diagnostics(final Diagnostic.Kind kind) {
+			return all.stream().filter(diagnostic -> diagnostic.getKind() == kind).map(diagnostic -> diagnostic.getMessage(Locale.ROOT)).toList();
+		}
+
+		URLClassLoader loader() throws IOException {
+			return new URLClassLoader(new URL[] { classes.toUri().toURL() }, CodecProcessorTest.class.getClassLoader());
+		}
+	}
+
+	private static final class Source extends SimpleJavaFileObject {
+		private final String code;
+
+		Source(final String code) {
+			super(URI.create("string:///" + className(code).replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.code = code;
+		}
+
+		@Override
+		public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+			return code;
+		}
+
+		private static String className(final String code) {
+			final Matcher packageName = PACKAGE.matcher(code);
+			final Matcher className = CLASS.matcher(code);
+			if (!packageName.find() || !className.find())
+				throw new IllegalArgumentException("No top level class in " + code);
+			return packageName.group(1) + "." + className.group(1);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package se.narstrom.myr.json.bind;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable map keyed on classes with a perfect hash, used for the codec lookups of a frozen {@link MyrJsonb}.
+ *
+ * The keys are split into buckets by their hash, and each bucket gets a displacement that moves its keys into slots
+ * of their own (hash and displace). A lookup is one read of the displacement, one slot and one identity comparison,
+ * without probing. Classes with equal identity hash codes can not be separated and are kept in a small overflow map.
+ */
+final class FrozenClassMap<V> {
+	private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+	private static final int MAX_DISPLACEMENT = 1 << 20;
+
+	private final Class<?>[] keys;
+
+	private final Object[] values;
+
+	private final int[] displacements;
+
+	private final int bucketShift;
+
+	private final Map<Class<?>, V> overflow;
+
+	private FrozenClassMap(final Class<?>[] keys, final Object[] values, final int[] displacements, final int bucketShift, final Map<Class<?>, V> overflow) {
+		this.keys = keys;
+		this.values = values;
+		this.displacements = displacements;
+		this.bucketShift = bucketShift;
+		this.overflow = overflow;
+	}
+
+	static <V> FrozenClassMap<V> of(final Map<Class<?>, ? extends V> map) {
+		return of(map, MAX_DISPLACEMENT);
+	}
+
+	/**
+	 * @param maxDisplacement the displacements tried per bucket before the table is doubled, lowered by the tests
+	 */
+	static <V> FrozenClassMap<V> of(final Map<Class<?>, ? extends V> map, final int maxDisplacement) {
+		// At most half full, which makes the displacements quick to find
+		for (int size = tableSize(map.size());; size <<= 1) {
+			final FrozenClassMap<V> frozen = build(map, size, maxDisplacement);
+			if (frozen != null)
+				return frozen;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	V get(final Class<?> clazz) {
+		final int hash = clazz.hashCode() * GOLDEN_RATIO;
+		final int i = slot(hash, displacements[hash >>> bucketShift], keys.length - 1);
+		if (keys[i] == clazz)
+			return (V) values[i];
+		return overflow != null ? overflow.get(clazz) : null;
+	}
+
+	int capacity() {
+		return keys.length;
+	}
+
+	private static <V> FrozenClassMap<V> build(final Map<Class<?>, ? extends V> map, final int size, final int maxDisplacement) {
+		final int bucketCount = Math.max(2, size / 4);
+		final int bucketShift = Integer.SIZE - Integer.numberOfTrailingZeros(bucketCount);
+
+		final Map<Integer, Class<?>> byHash = new HashMap<>();
+		final Map<Class<?>, V> overflow = new HashMap<>();
+		final List<List<Class<?>>> buckets = new ArrayList<>();
+		for (int i = 0; i < bucketCount; ++i)
+			buckets.add(new ArrayList<>());
+
+		for (final Map.Entry<Class<?>, ? extends V> entry : map.entrySet()) {
+			final Class<?> key = entry.getKey();
+			if (byHash.putIfAbsent(key.hashCode(), key) != null)
+				overflow.put(key, entry.getValue());
+			else
+				buckets.get((key.hashCode() * GOLDEN_RATIO) >>> bucketShift).add(key);
+		}
+
+		final Class<?>[] keys = new Class<?>[size];
+		final Object[] values = new Object[size];
+		final int[] displacements = new int[bucketCount];
+
+		// The largest buckets are placed first, while most slots are still free
+		final List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < bucketCount; ++i)
+			order.add(i);
+		order.sort(Comparator.comparingInt((final Integer i) -> buckets.get(i).size()).reversed());
+
+		final int[] slots = new int[size];
+		for (final int bucket : order) {
+			final List<Class<?>> bucketKeys = buckets.get(bucket);
+			if (bucketKeys.isEmpty())
+				continue;
+
+			int displacement = 0;
+			while (!fits(bucketKeys, displacement, keys, slots)) {
+				if (++displacement == maxDisplacement)
+					return null;
+			}
+
+			displacements[bucket] = displacement;
+			for (int i = 0; i < bucketKeys.size(); ++i) {
+				keys[slots[i]] = bucketKeys.get(i);
+				values[slots[i]] = map.get(bucketKeys.get(i));
+			}
+		}
+
+		return new FrozenClassMap<>(keys, values, displacements, bucketShift, overflow.isEmpty() ? null : Map.copyOf(overflow));
+	}
+
+	// Finds the slots of the keys of a bucket, into slots, if they are free and distinct
+	private static boolean fits(final List<Class<?>> bucketKeys, final int displacement, final Class<?>[] keys, final int[] slots) {
+		for (int i = 0; i < bucketKeys.size(); ++i) {
+			final int slot = slot(bucketKeys.get(i).hashCode() * GOLDEN_RATIO, displacement, keys.length - 1);
+			if (keys[slot] != null)
+				return false;
+			for (int j = 0; j < i; ++j) {
+				if (slots[j] == slot)
+					return false;
+			}
+			slots[i] = slot;
+		}
+		return true;
+	}
+
+	private static int slot(final int hash, final int displacement, final int mask) {
+		// Murmur3 finalizer, so that every displacement gives an unrelated placement
+		int h = hash ^ (displacement * GOLDEN_RATIO);
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h & mask;
+	}
+
+	private static int tableSize(final int count) {
+		return Math.max(4, Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1);
+	}
+}
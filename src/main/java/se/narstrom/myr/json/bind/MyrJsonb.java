@@ -0,0 +1,1204 @@
+package se.narstrom.myr.json.bind;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Cleaner;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.SimpleTimeZone;
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.adapter.JsonbAdapter;
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
+import se.narstrom.myr.json.bind.jfr.CodecPath;
+import se.narstrom.myr.json.bind.jfr.CountingInputStream;
+import se.narstrom.myr.json.bind.jfr.CountingOutputStream;
+import se.narstrom.myr.json.bind.jfr.CountingReader;
+import se.narstrom.myr.json.bind.jfr.CountingWriter;
+import se.narstrom.myr.json.bind.jfr.DeserializationEvent;
+import se.narstrom.myr.json.bind.jfr.SerializationEvent;
+import se.narstrom.myr.json.bind.metrics.DefaultMetricsListener;
+import se.narstrom.myr.json.bind.metrics.JsonbMetricsListener;
+import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
+import se.narstrom.myr.json.bind.serializer.AdapterSerializer;
+import se.narstrom.myr.json.bind.serializer.ArraySerializer;
+import se.narstrom.myr.json.bind.serializer.BigDecimalSerializer;
+import se.narstrom.myr.json.bind.serializer.BigIntegerSerializer;
+import se.narstrom.myr.json.bind.serializer.BinaryDataSerializer;
+import se.narstrom.myr.json.bind.serializer.EnumSerializer;
+import se.narstrom.myr.json.bind.serializer.JsonpSerializer;
+import se.narstrom.myr.json.bind.serializer.URISerializer;
+import se.narstrom.myr.json.bind.serializer.URLSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.BooleanSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.ByteSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.CharacterSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.DoubleSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.FloatSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.IntegerSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.LongSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.NumberSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.ShortSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.StringSerializer;
+import se.narstrom.myr.json.bind.serializer.collections.CollectionSerializer;
+import se.narstrom.myr.json.bind.serializer.collections.IterableSerializer;
+import se.narstrom.myr.json.bind.serializer.collections.MapSerializer;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultDeserializer;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultSerializer;
+import se.narstrom.myr.json.bind.serializer.generated.CompiledCodec;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedDeserializer;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedSerializer;
+import se.narstrom.myr.json.bind.serializer.optional.OptionalDoubleSerializer;
+import se.narstrom.myr.json.bind.serializer.optional.OptionalIntSerializer;
+import se.narstrom.myr.json.bind.serializer.optional.OptionalLongSerializer;
+import se.narstrom.myr.json.bind.serializer.optional.OptionalSerializer;
+import se.narstrom.myr.json.bind.serializer.time.CalendarSerializer;
+import se.narstrom.myr.json.bind.serializer.time.DateSerializer;
+import se.narstrom.myr.json.bind.serializer.time.DurationSerializer;
+import se.narstrom.myr.json.bind.serializer.time.JavaTimeSerializer;
+import se.narstrom.myr.json.bind.serializer.time.PeriodSerializer;
+import se.narstrom.myr.json.bind.serializer.time.SimpleTimeZoneDeserializer;
+import se.narstrom.myr.json.bind.serializer.time.TimeZoneSerializer;
+import se.narstrom.myr.json.bind.serializer.time.ZoneIdSerializer;
+import se.narstrom.myr.json.bind.stream.ArrayBatchSource;
+import se.narstrom.myr.json.bind.stream.ArrayElementSpliterator;
+import se.narstrom.myr.json.bind.stream.BatchingSpliterator;
+import se.narstrom.myr.json.bind.stream.JsonFeed;
+import se.narstrom.myr.json.bind.stream.JsonLinesBatchSource;
+import se.narstrom.myr.json.bind.stream.JsonLinesSpliterator;
+import se.narstrom.myr.json.bind.stream.JsonLinesWriter;
+import se.narstrom.myr.json.bind.stream.SerializationPublisher;
+
+/**
+ * The {@link Jsonb} instance, holds everything that is shared between calls: the settings, the JSON-P factories, the
+ * registered and resolved (de)serializers and the pools.
+ *
+ * It is immutable apart from the thread safe caches and can be used from any number of threads, each call creates its
+ * own {@link MyrJsonbContext}.
+ */
+public final class MyrJsonb implements Jsonb {
+	// Numbers the metrics MBeans without a configured name
+	private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	// Unregisters the metrics MBeans of instances that are garbage collected without being closed
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	private final JsonbConfig config;
+	private final MyrJsonbSettings settings;
+	private final JsonProvider jsonp;
+	private final JsonParserFactory parserFactory;
+	private final JsonGeneratorFactory generatorFactory;
+	private final JsonGeneratorFactory lineGeneratorFactory;
+	// Null without pooling
+	private final WriterPool writerPool;
+	private volatile ForkJoinPool parallelPool;
+
+	// Null without a listener, so the hot paths only pay for a null check
+	private final JsonbMetricsListener metrics;
+	private final Cleaner.Cleanable metricsRegistration;
+
+	private final Map<Class<?>, JsonbSerializer<?>> serializers;
+	private final Map<Class<?>, JsonbDeserializer<?>> deserializers;
+
+	// Codecs generated at compile time, exact classes only
+	private final Map<Class<?>, JsonbSerializer<?>> compiledSerializers;
+	private final Map<Class<?>, JsonbDeserializer<?>> compiledDeserializers;
+
+	// Resolved lookups, including fallbacks to the default and array (de)serializers
+	private final ConcurrentMap<Class<?>, JsonbSerializer<?>> resolvedSerializers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<?>, JsonbDeserializer<?>> resolvedDeserializers = new ConcurrentHashMap<>();
+
+	// The resolved lookups after the warm-up, or null if the instance is not frozen. Consulted first.
+	private final FrozenClassMap<JsonbSerializer<?>> frozenSerializers;
+	private final FrozenClassMap<JsonbDeserializer<?>> frozenDeserializers;
+
+	private static Map<Class<?>, JsonbSerializer<?>> defaultSerializers() {
+		final Map<Class<?>, JsonbSerializer<?>> serializers = new HashMap<>();
+
+		// 3.3 Basic Java Types
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#basic-java-types
+		serializers.put(Boolean.class, new BooleanSerializer());
+		serializers.put(Boolean.TYPE, new BooleanSerializer());
+		serializers.put(Byte.class, new ByteSerializer());
+		serializers.put(Byte.TYPE, new ByteSerializer());
+		serializers.put(Character.class, new CharacterSerializer());
+		serializers.put(Character.TYPE, new CharacterSerializer());
+		serializers.put(Double.class, new DoubleSerializer());
+		serializers.put(Double.TYPE, new DoubleSerializer());
+		serializers.put(Float.class, new FloatSerializer());
+		serializers.put(Float.TYPE, new FloatSerializer());
+		serializers.put(Integer.class, new IntegerSerializer());
+		serializers.put(Integer.TYPE, new IntegerSerializer());
+		serializers.put(Long.class, new LongSerializer());
+		serializers.put(Long.TYPE, new LongSerializer());
+		serializers.put(Number.class, new NumberSerializer());
+		serializers.put(Short.class, new ShortSerializer());
+		serializers.put(Short.TYPE, new ShortSerializer());
+		serializers.put(String.class, new StringSerializer());
+
+		// 3.4.1 java.math.BigInteger, BigDecimal
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-math-biginteger-bigdecimal
+		serializers.put(BigDecimal.class, new BigDecimalSerializer());
+		serializers.put(BigInteger.class, new BigIntegerSerializer());
+
+		// 3.4.2 java.net.URL, URI
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-net-url-uri
+		serializers.put(URI.class, new URISerializer());
+		serializers.put(URL.class, new URLSerializer());
+
+		// 3.4.3 java.util.Optional, OptionalInt, OptionalLong, OptionalDouble
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-util-optional-optionalint-optionallong-optionaldouble
+		serializers.put(Optional.class, new OptionalSerializer());
+		serializers.put(OptionalDouble.class, new OptionalDoubleSerializer());
+		serializers.put(OptionalInt.class, new OptionalIntSerializer());
+		serializers.put(OptionalLong.class, new OptionalLongSerializer());
+
+		// 3.5 Dates
+		// 3.5.1 java.uril.Data, Calendar, GregorianCalendar
+		serializers.put(Date.class, new DateSerializer());
+		serializers.put(Calendar.class, new CalendarSerializer());
+
+		// 3.5.2. java.util.TimeZone, SimpleTimeZone
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-util-timezone-simpletimezone
+		serializers.put(TimeZone.class, new TimeZoneSerializer());
+
+		// 3.5.3 java.time.*
+		serializers.put(Instant.class, JavaTimeSerializer.instant());
+		serializers.put(LocalDate.class, JavaTimeSerializer.localDate());
+		serializers.put(LocalTime.class, new JavaTimeSerializer<>(DateTimeFormatter.ISO_LOCAL_TIME, LocalTime::from));
+		serializers.put(LocalDateTime.class, JavaTimeSerializer.localDateTime());
+		serializers.put(ZonedDateTime.class, new JavaTimeSerializer<>(DateTimeFormatter.ISO_ZONED_DATE_TIME, ZonedDateTime::from));
+		serializers.put(OffsetDateTime.class, JavaTimeSerializer.offsetDateTime());
+		serializers.put(OffsetTime.class, new JavaTimeSerializer<>(DateTimeFormatter.ISO_OFFSET_TIME, OffsetTime::from));
+		serializers.put(Duration.class, new DurationSerializer());
+		serializers.put(Period.class, new PeriodSerializer());
+		serializers.put(ZoneId.class, new ZoneIdSerializer());
+
+		// 3.9 Enum
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#enum
+		serializers.put(Enum.class, new EnumSerializer());
+
+		// 3.11 Collections
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#collections
+		serializers.put(Collection.class, new CollectionSerializer());
+		serializers.put(Map.class, new MapSerializer());
+		serializers.put(Iterable.class, new IterableSerializer());
+		serializers.put(Iterator.class, new IterableSerializer());
+		serializers.put(Spliterator.class, new IterableSerializer());
+		serializers.put(BaseStream.class, new IterableSerializer());
+
+		// 3.20 JSON Processing integration
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#json-processing-integration
+		serializers.put(JsonArray.class, new JsonpSerializer());
+		serializers.put(JsonObject.class, new JsonpSerializer());
+		serializers.put(JsonValue.class, new JsonpSerializer());
+
+		return serializers;
+	}
+
+	private static Map<Class<?>, JsonbDeserializer<?>> defaultDeserializers() {
+		final Map<Class<?>, JsonbDeserializer<?>> deserializers = new HashMap<>();
+
+		// 3.3 Basic Java Types
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#basic-java-types
+		deserializers.put(Boolean.class, new BooleanSerializer());
+		deserializers.put(Boolean.TYPE, new BooleanSerializer());
+		deserializers.put(Byte.class, new ByteSerializer());
+		deserializers.put(Byte.TYPE, new ByteSerializer());
+		deserializers.put(Character.class, new CharacterSerializer());
+		deserializers.put(Character.TYPE, new CharacterSerializer());
+		deserializers.put(Double.class, new DoubleSerializer());
+		deserializers.put(Double.TYPE, new DoubleSerializer());
+		deserializers.put(Float.class, new FloatSerializer());
+		deserializers.put(Float.TYPE, new FloatSerializer());
+		deserializers.put(Integer.class, new IntegerSerializer());
+		deserializers.put(Integer.TYPE, new IntegerSerializer());
+		deserializers.put(Long.class, new LongSerializer());
+		deserializers.put(Long.TYPE, new LongSerializer());
+		deserializers.put(Number.class, new NumberSerializer());
+		deserializers.put(Short.class, new ShortSerializer());
+		deserializers.put(Short.TYPE, new ShortSerializer());
+		deserializers.put(String.class, new StringSerializer());
+
+		// 3.4.1 java.math.BigInteger, BigDecimal
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-math-biginteger-bigdecimal
+		deserializers.put(BigDecimal.class, new BigDecimalSerializer());
+		deserializers.put(BigInteger.class, new BigIntegerSerializer());
+
+		// 3.4.2 java.net.URL, URI
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-net-url-uri
+		deserializers.put(URI.class, new URISerializer());
+		deserializers.put(URL.class, new URLSerializer());
+
+		// 3.4.3 java.util.Optional, OptionalInt, OptionalLong, OptionalDouble
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-util-optional-optionalint-optionallong-optionaldouble
+		deserializers.put(Optional.class, new OptionalSerializer());
+		deserializers.put(OptionalDouble.class, new OptionalDoubleSerializer());
+		deserializers.put(OptionalInt.class, new OptionalIntSerializer());
+		deserializers.put(OptionalLong.class, new OptionalLongSerializer());
+
+		// 3.5 Dates
+		// 3.5.1 java.uril.Data, Calendar, GregorianCalendar
+		deserializers.put(Date.class, new DateSerializer());
+		deserializers.put(Calendar.class, new CalendarSerializer());
+
+		// 3.5.2. java.util.TimeZone, SimpleTimeZone
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-util-timezone-simpletimezone
+		deserializers.put(TimeZone.class, new TimeZoneSerializer());
+		deserializers.put(SimpleTimeZone.class, new SimpleTimeZoneDeserializer());
+
+		// 3.5.3 java.time.*
+		deserializers.put(Instant.class, JavaTimeSerializer.instant());
+		deserializers.put(LocalDate.class, JavaTimeSerializer.localDate());
+		deserializers.put(LocalTime.class, new JavaTimeSerializer<>(DateTimeFormatter.ISO_LOCAL_TIME, LocalTime::from));
+		deserializers.put(LocalDateTime.class, JavaTimeSerializer.localDateTime());
+		deserializers.put(ZonedDateTime.class, new JavaTimeSerializer<>(DateTimeFormatter.ISO_ZONED_DATE_TIME, ZonedDateTime::from));
+		deserializers.put(OffsetDateTime.class, JavaTimeSerializer.offsetDateTime());
+		deserializers.put(OffsetTime.class, new JavaTimeSerializer<>(DateTimeFormatter.ISO_OFFSET_TIME, OffsetTime::from));
+		deserializers.put(Duration.class, new DurationSerializer());
+		deserializers.put(Period.class, new PeriodSerializer());
+		deserializers.put(ZoneId.class, new ZoneIdSerializer());
+
+		// 3.9 Enum
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#enum
+		deserializers.put(Enum.class, new EnumSerializer());
+
+		// 3.11 Collections
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#collections
+		deserializers.put(Collection.class, new CollectionSerializer());
+		deserializers.put(Map.class, new MapSerializer());
+
+		// 3.20 JSON Processing integration
+		// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#json-processing-integration
+		deserializers.put(JsonArray.class, new JsonpSerializer());
+		deserializers.put(JsonObject.class, new JsonpSerializer());
+		deserializers.put(JsonValue.class, new JsonpSerializer());
+
+		return deserializers;
+	}
+
+	// 3.7 Java Class
+	// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-class
+	private final JsonbSerializer<?> defaultSerialzer;
+	private final JsonbDeserializer<?> defaultDeserialzer;
+
+	// 3.12 Array
+	// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#arrays
+	private final JsonbSerializer<?> arraySerializer = new ArraySerializer();
+	private final JsonbDeserializer<?> arrayDeserializer = new ArraySerializer();
+
+	public MyrJsonb(final JsonbConfig config, final JsonProvider jsonp) {
+		this.config = config;
+		this.jsonp = Objects.requireNonNull(jsonp);
+		this.settings = MyrJsonbSettings.of(config);
+		this.parserFactory = jsonp.createParserFactory(Map.of());
+		this.generatorFactory = jsonp.createGeneratorFactory(settings.formatting() ? Map.of(JsonGenerator.PRETTY_PRINTING, Boolean.TRUE) : Map.of());
+		this.lineGeneratorFactory = settings.formatting() ? jsonp.createGeneratorFactory(Map.of()) : generatorFactory;
+		this.writerPool = settings.bufferPoolSize() > 0 ? new WriterPool(settings.bufferPoolSize()) : null;
+
+		switch (settings.codecEngine()) {
+			case MyrJsonbConfig.CODEC_ENGINE_REFLECTIVE -> {
+				this.defaultSerialzer = new DefaultSerializer();
+				this.defaultDeserialzer = new DefaultDeserializer();
+			}
+			case MyrJsonbConfig.CODEC_ENGINE_GENERATED -> {
+				this.defaultSerialzer = new GeneratedSerializer();
+				this.defaultDeserialzer = new GeneratedDeserializer();
+			}
+			default -> throw new JsonbException("Unknown codec engine: " + settings.codecEngine());
+		}
+
+		final Map<Class<?>, JsonbSerializer<?>> serializers = defaultSerializers();
+		final Map<Class<?>, JsonbDeserializer<?>> deserializers = defaultDeserializers();
+
+		final BinaryDataSerializer binaryDataSerializer = BinaryDataSerializer.of(settings.binaryDataStrategy());
+		if (binaryDataSerializer != null) {
+			serializers.put(byte[].class, binaryDataSerializer);
+			deserializers.put(byte[].class, binaryDataSerializer);
+		}
+
+		installAdapters(config.getProperty(JsonbConfig.ADAPTERS).map(JsonbAdapter[].class::cast).orElseGet(() -> new JsonbAdapter[0]), serializers, deserializers);
+
+		this.serializers = Map.copyOf(serializers);
+		this.deserializers = Map.copyOf(deserializers);
+
+		final Map<Class<?>, JsonbSerializer<?>> compiledSerializers = new HashMap<>();
+		final Map<Class<?>, JsonbDeserializer<?>> compiledDeserializers = new HashMap<>();
+		loadCompiledCodecs(compiledSerializers, compiledDeserializers);
+		this.compiledSerializers = Map.copyOf(compiledSerializers);
+		this.compiledDeserializers = Map.copyOf(compiledDeserializers);
+
+		final Object listener = config.getProperty(MyrJsonbConfig.METRICS_LISTENER).orElse(null);
+		if (listener != null) {
+			if (!(listener instanceof JsonbMetricsListener))
+				throw new JsonbException("Invalid config: " + MyrJsonbConfig.METRICS_LISTENER + " is not a " + JsonbMetricsListener.class.getName());
+			this.metrics = (JsonbMetricsListener) listener;
+			this.metricsRegistration = null;
+		} else if (settings.metrics() != null) {
+			final DefaultMetricsListener defaultMetrics = new DefaultMetricsListener();
+			this.metricsRegistration = registerMetrics(this, defaultMetrics, settings.metrics());
+			this.metrics = defaultMetrics;
+		} else {
+			this.metrics = null;
+			this.metricsRegistration = null;
+		}
+
+		try {
+			final Collection<? extends Type> warmUpTypes = getWarmUpTypes(config);
+			if (!warmUpTypes.isEmpty())
+				WarmUp.run(this, warmUpTypes, parallelPool());
+		} catch (final RuntimeException ex) {
+			release();
+			throw ex;
+		}
+
+		if (settings.freeze()) {
+			this.frozenSerializers = FrozenClassMap.of(resolvedSerializers);
+			this.frozenDeserializers = FrozenClassMap.of(resolvedDeserializers);
+		} else {
+			this.frozenSerializers = null;
+			this.frozenDeserializers = null;
+		}
+	}
+
+	private static Collection<? extends Type> getWarmUpTypes(final JsonbConfig config) {
+		final Object types = config.getProperty(MyrJsonbConfig.WARM_UP_TYPES).orElse(null);
+		if (types == null)
+			return List.of();
+		if (types instanceof Type[] array)
+			return List.of(array);
+		if (types instanceof Collection<?> collection && collection.stream().allMatch(Type.class::isInstance))
+			return (Collection<? extends Type>) collection;
+		throw new JsonbException("Invalid config: " + MyrJsonbConfig.WARM_UP_TYPES + " is not an array or collection of types");
+	}
+
+	/**
+	 * @return the registration, cleaned by {@link #close()} or when the instance is garbage collected
+	 */
+	private static Cleaner.Cleanable registerMetrics(final MyrJsonb jsonb, final DefaultMetricsListener metrics, final String name) {
+		final ObjectName objectName;
+		try {
+			objectName = new ObjectName("se.narstrom.myr.json.bind:type=Jsonb,name=" + (name.isEmpty() ? Integer.toString(INSTANCES.incrementAndGet()) : ObjectName.quote(name)));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+		} catch (final JMException ex) {
+			throw new JsonbException("Cannot register the metrics MBean: " + ex.getMessage(), ex);
+		}
+		// The action must not reach the instance, the MBean server holds only the listener
+		return CLEANER.register(jsonb, () -> unregisterMetrics(objectName));
+	}
+
+	private static void unregisterMetrics(final ObjectName objectName) {
+		try {
+			if (ManagementFactory.getPlatformMBeanServer().isRegistered(objectName))
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		} catch (final JMException ex) {
+			throw new JsonbException("Cannot unregister the metrics MBean: " + ex.getMessage(), ex);
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		release();
+	}
+
+	private void release() {
+		final ForkJoinPool pool = parallelPool;
+		if (pool != null)
+			pool.shutdown();
+
+		if (metricsRegistration != null)
+			metricsRegistration.clean();
+	}
+
+	/**
+	 * @return a new context for one serialization or deserialization call
+	 */
+	public MyrJsonbContext newContext() {
+		return new MyrJsonbContext(this);
+	}
+
+	// The elements of a top level array are bound one level below the root, as when the whole array is bound
+	private MyrJsonbContext newElementContext() {
+		return new MyrJsonbContext(this, 1, null);
+	}
+
+	/**
+	 * @return the metrics listener, or {@code null}
+	 */
+	public JsonbMetricsListener getMetrics() {
+		return metrics;
+	}
+
+	public JsonbConfig getConfig() {
+		return config;
+	}
+
+	public MyrJsonbSettings getSettings() {
+		return settings;
+	}
+
+	public JsonProvider getJsonpProvider() {
+		return jsonp;
+	}
+
+	public JsonParserFactory getParserFactory() {
+		return parserFactory;
+	}
+
+	// Without a configured encoding the parser detects UTF-8, UTF-16 or UTF-32 from the input
+	private JsonParser createParser(final InputStream stream) {
+		if (settings.encoding() == null)
+			return parserFactory.createParser(stream);
+		return parserFactory.createParser(stream, settings.encoding());
+	}
+
+	@Override
+	public <T> T fromJson(final InputStream stream, final Class<T> type) throws JsonbException {
+		return fromJson(stream, (Type) type);
+	}
+
+	@Override
+	public <T> T fromJson(final InputStream stream, final Type type) throws JsonbException {
+		final DeserializationEvent event = new DeserializationEvent();
+		if (!event.isEnabled() && metrics == null) {
+			try (final JsonParser parser = createParser(stream)) {
+				return newContext().deserialize(type, parser);
+			}
+		}
+
+		final CountingInputStream counting = new CountingInputStream(stream);
+		event.begin();
+		final T value;
+		try (final JsonParser parser = createParser(counting)) {
+			value = newContext().deserialize(type, parser);
+		} catch (final RuntimeException ex) {
+			deserializationFailed(event, type, counting.count(), 0, ex);
+			throw ex;
+		}
+		deserialized(event, type, counting.count(), 0);
+		return value;
+	}
+
+	@Override
+	public <T> T fromJson(final Reader reader, final Class<T> type) throws JsonbException {
+		return fromJson(reader, (Type) type);
+	}
+
+	@Override
+	public <T> T fromJson(final Reader reader, final Type type) throws JsonbException {
+		final DeserializationEvent event = new DeserializationEvent();
+		if (!event.isEnabled() && metrics == null) {
+			try (final JsonParser parser = parserFactory.createParser(reader)) {
+				return newContext().deserialize(type, parser);
+			}
+		}
+
+		final CountingReader counting = new CountingReader(reader);
+		event.begin();
+		final T value;
+		try (final JsonParser parser = parserFactory.createParser(counting)) {
+			value = newContext().deserialize(type, parser);
+		} catch (final RuntimeException ex) {
+			deserializationFailed(event, type, 0, counting.count(), ex);
+			throw ex;
+		}
+		deserialized(event, type, 0, counting.count());
+		return value;
+	}
+
+	@Override
+	public <T> T fromJson(final String str, final Class<T> type) throws JsonbException {
+		return fromJson(str, (Type) type);
+	}
+
+	@Override
+	public <T> T fromJson(final String str, final Type type) throws JsonbException {
+		final DeserializationEvent event = new DeserializationEvent();
+		if (!event.isEnabled() && metrics == null) {
+			try (final JsonParser parser = parserFactory.createParser(new StringReader(str))) {
+				return newContext().deserialize(type, parser);
+			}
+		}
+
+		event.begin();
+		final T value;
+		try (final JsonParser parser = parserFactory.createParser(new StringReader(str))) {
+			value = newContext().deserialize(type, parser);
+		} catch (final RuntimeException ex) {
+			deserializationFailed(event, type, 0, str.length(), ex);
+			throw ex;
+		}
+		deserialized(event, type, 0, str.length());
+		return value;
+	}
+
+	private void deserialized(final DeserializationEvent event, final Type type, final long bytes, final long characters) {
+		commit(event, type, bytes, characters);
+		if (metrics != null)
+			metrics.deserialized(type, bytes, characters);
+	}
+
+	private void deserializationFailed(final DeserializationEvent event, final Type type, final long bytes, final long characters, final RuntimeException ex) {
+		commit(event, type, bytes, characters);
+		if (metrics != null)
+			metrics.failed(type, true, ex);
+	}
+
+	private void commit(final DeserializationEvent event, final Type type, final long bytes, final long characters) {
+		event.end();
+		if (event.shouldCommit()) {
+			final JsonbDeserializer<?> deserializer = findDeserializer(type);
+			event.type = type.getTypeName();
+			event.deserializer = deserializer.getClass();
+			event.path = CodecPath.of(deserializer, type);
+			event.bytes = bytes;
+			event.characters = characters;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Lazily deserializes the elements of a top level JSON array.
+	 *
+	 * Elements are read from the stream as the returned stream is consumed, and the parser and input stream are closed
+	 * when the returned stream is closed. Use {@link Stream#iterator()} for an iterator.
+	 */
+	public <T> Stream<T> fromJsonStream(final InputStream stream, final Class<T> elementType) throws JsonbException {
+		return fromJsonStream(stream, (Type) elementType);
+	}
+
+	public <T> Stream<T> fromJsonStream(final InputStream stream, final Type elementType) throws JsonbException {
+		return elementStream(createParser(stream), elementType);
+	}
+
+	public <T> Stream<T> fromJsonStream(final Reader reader, final Class<T> elementType) throws JsonbException {
+		return fromJsonStream(reader, (Type) elementType);
+	}
+
+	public <T> Stream<T> fromJsonStream(final Reader reader, final Type elementType) throws JsonbException {
+		return elementStream(parserFactory.createParser(reader), elementType);
+	}
+
+	/**
+	 * Lazily deserializes newline delimited JSON (JSON Lines), one value per line, in UTF-8.
+	 *
+	 * Blank lines and RFC 7464 record separators are skipped. The reader is closed when the returned stream is closed.
+	 */
+	public <T> Stream<T> fromJsonLines(final InputStream stream, final Class<T> type) throws JsonbException {
+		return fromJsonLines(stream, (Type) type);
+	}
+
+	public <T> Stream<T> fromJsonLines(final InputStream stream, final Type type) throws JsonbException {
+		return fromJsonLines(new InputStreamReader(stream, StandardCharsets.UTF_8), type);
+	}
+
+	public <T> Stream<T> fromJsonLines(final Reader reader, final Class<T> type) throws JsonbException {
+		return fromJsonLines(reader, (Type) type);
+	}
+
+	public <T> Stream<T> fromJsonLines(final Reader reader, final Type type) throws JsonbException {
+		final BufferedReader bufferedReader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+
+		return StreamSupport.stream(new JsonLinesSpliterator<T>(bufferedReader, parserFactory, valueBinder(type, false)), false).onClose(() -> closeInput(bufferedReader));
+	}
+
+	/**
+	 * Serializes the values as newline delimited JSON (JSON Lines), one value per line, in UTF-8.
+	 *
+	 * The output stream is flushed but not closed.
+	 */
+	public void toJsonLines(final Stream<?> values, final OutputStream stream) throws JsonbException {
+		toJsonLines(values.iterator(), new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)));
+	}
+
+	public void toJsonLines(final Iterable<?> values, final OutputStream stream) throws JsonbException {
+		toJsonLines(values.iterator(), new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)));
+	}
+
+	public void toJsonLines(final Stream<?> values, final Writer writer) throws JsonbException {
+		toJsonLines(values.iterator(), writer instanceof BufferedWriter ? writer : new BufferedWriter(writer));
+	}
+
+	public void toJsonLines(final Iterable<?> values, final Writer writer) throws JsonbException {
+		toJsonLines(values.iterator(), writer instanceof BufferedWriter ? writer : new BufferedWriter(writer));
+	}
+
+	private void toJsonLines(final Iterator<?> values, final Writer writer) {
+		new JsonLinesWriter(writer, lineGeneratorFactory, newContext()::serialize, settings.jsonSequence()).writeAll(values);
+	}
+
+	/**
+	 * Deserializes the elements of a top level JSON array in UTF-8 in parallel.
+	 *
+	 * The input is split into batches of elements on the calling thread, and the batches are bound on the
+	 * {@link MyrJsonbConfig#PARALLELISM} threads. The stream is closed.
+	 *
+	 * @return the elements in input order
+	 */
+	public <T> List<T> fromJsonParallel(final InputStream stream, final Class<T> elementType) throws JsonbException {
+		return fromJsonParallel(stream, (Type) elementType);
+	}
+
+	public <T> List<T> fromJsonParallel(final InputStream stream, final Type elementType) throws JsonbException {
+		return collectParallel(fromJsonParallelStream(stream, elementType));
+	}
+
+	/**
+	 * Parallel stream of the elements of a top level JSON array in UTF-8, with the elements bound in batches.
+	 *
+	 * The input stream is closed when the returned stream is closed.
+	 */
+	public <T> Stream<T> fromJsonParallelStream(final InputStream stream, final Class<T> elementType) throws JsonbException {
+		return fromJsonParallelStream(stream, (Type) elementType);
+	}
+
+	public <T> Stream<T> fromJsonParallelStream(final InputStream stream, final Type elementType) throws JsonbException {
+		final ArrayBatchSource<T> source = new ArrayBatchSource<>(stream, settings.parallelBatchSize(),
+				batch -> new ArrayElementSpliterator<>(parserFactory.createParser(new ByteArrayInputStream(batch), StandardCharsets.UTF_8), newElementContext(), elementType));
+		return StreamSupport.stream(new BatchingSpliterator<>(source), true).onClose(() -> closeInput(stream));
+	}
+
+	/**
+	 * Deserializes newline delimited JSON in UTF-8 in parallel, see {@link #fromJsonParallel(InputStream, Type)}.
+	 *
+	 * @return the values in input order
+	 */
+	public <T> List<T> fromJsonLinesParallel(final InputStream stream, final Class<T> type) throws JsonbException {
+		return fromJsonLinesParallel(stream, (Type) type);
+	}
+
+	public <T> List<T> fromJsonLinesParallel(final InputStream stream, final Type type) throws JsonbException {
+		return collectParallel(fromJsonLinesParallelStream(stream, type));
+	}
+
+	public <T> Stream<T> fromJsonLinesParallelStream(final InputStream stream, final Class<T> type) throws JsonbException {
+		return fromJsonLinesParallelStream(stream, (Type) type);
+	}
+
+	public <T> Stream<T> fromJsonLinesParallelStream(final InputStream stream, final Type type) throws JsonbException {
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+		final JsonLinesBatchSource<T> source = new JsonLinesBatchSource<>(reader, settings.parallelBatchSize(), parserFactory, valueBinder(type, false));
+		return StreamSupport.stream(new BatchingSpliterator<>(source), true).onClose(() -> closeInput(reader));
+	}
+
+	/**
+	 * Serializes a large top level collection or object array with chunks of elements written to separate buffers in
+	 * parallel, and the buffers written to the stream in order.
+	 *
+	 * @return {@code false} if the value has to be serialized sequentially
+	 */
+	private boolean serializeParallel(final Object object, final Type type, final OutputStream stream) {
+		final int threshold = settings.parallelSerializationThreshold();
+		if (threshold == 0 || settings.formatting() || (settings.encoding() != null && !StandardCharsets.UTF_8.equals(settings.encoding())))
+			return false;
+
+		final Object[] elements;
+		if (object instanceof Collection<?> collection && collection.size() >= threshold && findSerializer(type) instanceof CollectionSerializer)
+			elements = collection.toArray();
+		else if (object instanceof Object[] array && array.length >= threshold && findSerializer(type) instanceof ArraySerializer)
+			elements = array;
+		else
+			return false;
+
+		final ForkJoinPool pool = Objects.requireNonNullElseGet(parallelPool(), ForkJoinPool::commonPool);
+		final int chunkSize = settings.parallelBatchSize();
+		final int chunks = (elements.length + chunkSize - 1) / chunkSize;
+
+		// Bounds the number of serialized chunks held in memory
+		final int window = pool.getParallelism() * 2;
+		final Deque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>();
+
+		try (stream) {
+			stream.write('[');
+
+			int submitted = 0;
+			for (int chunk = 0; chunk < chunks; ++chunk) {
+				while (submitted < chunks && pending.size() < window) {
+					final int from = submitted++ * chunkSize;
+					final int to = Math.min(from + chunkSize, elements.length);
+					pending.add(pool.submit(() -> serializeChunk(elements, from, to)));
+				}
+
+				// Each chunk is a complete array, written without its brackets
+				final byte[] bytes = pending.poll().join();
+				if (chunk > 0)
+					stream.write(',');
+				stream.write(bytes, 1, bytes.length - 2);
+			}
+
+			stream.write(']');
+		} catch (final IOException ex) {
+			throw new JsonbException(ex.getMessage(), ex);
+		} finally {
+			for (final ForkJoinTask<byte[]> task : pending)
+				task.cancel(false);
+		}
+		return true;
+	}
+
+	private byte[] serializeChunk(final Object[] elements, final int from, final int to) {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final MyrJsonbContext context = newElementContext();
+		try (final JsonGenerator generator = generatorFactory.createGenerator(buffer, StandardCharsets.UTF_8)) {
+			generator.writeStartArray();
+			for (int i = from; i < to; ++i)
+				context.serialize(elements[i], generator);
+			generator.writeEnd();
+		}
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * Serializes the object when subscribed to, the output is published in chunks as the subscriber requests them.
+	 *
+	 * A {@link Stream} is published as an array with its elements serialized one at a time, so the whole output is never
+	 * held in memory.
+	 */
+	public Flow.Publisher<ByteBuffer> toJsonPublisher(final Object object) {
+		return toJsonPublisher(object, object != null ? object.getClass() : Object.class);
+	}
+
+	public Flow.Publisher<ByteBuffer> toJsonPublisher(final Object object, final Type runtimeType) {
+		return new SerializationPublisher(stream -> toJson(object, runtimeType, stream), settings.publisherChunkSize());
+	}
+
+	/**
+	 * Creates a feed for deserializing UTF-8 input pushed in chunks, each whitespace separated top level value is
+	 * deserialized to the type.
+	 */
+	public <T> JsonFeed<T> createFeed(final Class<T> type) {
+		return createFeed((Type) type);
+	}
+
+	public <T> JsonFeed<T> createFeed(final Type type) {
+		return new JsonFeed<>(false, textBinder(type, false));
+	}
+
+	/**
+	 * Creates a feed for deserializing the elements of a top level array in UTF-8 pushed in chunks.
+	 */
+	public <T> JsonFeed<T> createArrayFeed(final Class<T> elementType) {
+		return createArrayFeed((Type) elementType);
+	}
+
+	public <T> JsonFeed<T> createArrayFeed(final Type elementType) {
+		return new JsonFeed<>(true, textBinder(elementType, true));
+	}
+
+	private <T> Function<byte[], T> textBinder(final Type type, final boolean element) {
+		final Function<JsonParser, T> binder = valueBinder(type, element);
+		return text -> {
+			try (final JsonParser parser = parserFactory.createParser(new ByteArrayInputStream(text), StandardCharsets.UTF_8)) {
+				return binder.apply(parser);
+			}
+		};
+	}
+
+	private <T> List<T> collectParallel(final Stream<T> stream) {
+		try (stream) {
+			final ForkJoinPool pool = parallelPool();
+			if (pool == null)
+				return stream.toList();
+			return pool.submit(() -> stream.toList()).join();
+		}
+	}
+
+	/**
+	 * @return the pool for the parallel methods, or {@code null} for the common pool
+	 */
+	private ForkJoinPool parallelPool() {
+		if (settings.parallelism() == 0)
+			return null;
+
+		ForkJoinPool pool = parallelPool;
+		if (pool == null) {
+			synchronized (this) {
+				pool = parallelPool;
+				if (pool == null)
+					parallelPool = pool = new ForkJoinPool(settings.parallelism());
+			}
+		}
+		return pool;
+	}
+
+	private static void closeInput(final Closeable input) {
+		try {
+			input.close();
+		} catch (final IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * @param element {@code true} if the values are the elements of a top level array
+	 * @return function deserializing one value from a parser positioned before the value
+	 */
+	private <T> Function<JsonParser, T> valueBinder(final Type type, final boolean element) {
+		if (type == Object.class)
+			return parser -> (element ? newElementContext() : newContext()).deserialize(type, parser);
+
+		final JsonbDeserializer<?> deserializer = findDeserializer(type);
+		return parser -> {
+			parser.next();
+			return (element ? newElementContext() : newContext()).deserialize(deserializer, type, parser);
+		};
+	}
+
+	private <T> Stream<T> elementStream(final JsonParser parser, final Type elementType) {
+		return StreamSupport.stream(new ArrayElementSpliterator<T>(parser, newElementContext(), elementType), false).onClose(parser::close);
+	}
+
+	@Override
+	public String toJson(final Object object) throws JsonbException {
+		return toJson(object, (Type) object.getClass());
+	}
+
+	@Override
+	public void toJson(final Object object, final OutputStream stream) throws JsonbException {
+		toJson(object, object.getClass(), stream);
+	}
+
+	@Override
+	public String toJson(final Object object, final Type type) throws JsonbException {
+		final SerializationEvent event = new SerializationEvent();
+		if (!event.isEnabled() && metrics == null)
+			return serializeToString(object, type);
+
+		event.begin();
+		final String json;
+		try {
+			json = serializeToString(object, type);
+		} catch (final RuntimeException ex) {
+			serializationFailed(event, type, 0, 0, ex);
+			throw ex;
+		}
+		serialized(event, type, false, 0, json.length());
+		return json;
+	}
+
+	private String serializeToString(final Object object, final Type type) {
+		if (writerPool == null) {
+			final StringBuilderWriter writer = new StringBuilderWriter(WriterPool.INITIAL_CAPACITY);
+			try (final JsonGenerator generator = generatorFactory.createGenerator(writer)) {
+				newContext().serialize(object, type, generator);
+			}
+			return writer.toString();
+		}
+
+		final StringBuilderWriter writer = writerPool.acquire();
+		try {
+			try (final JsonGenerator generator = generatorFactory.createGenerator(writer)) {
+				newContext().serialize(object, type, generator);
+			}
+			return writer.toString();
+		} finally {
+			writerPool.release(writer);
+		}
+	}
+
+	@Override
+	public void toJson(final Object object, final Type type, final OutputStream stream) throws JsonbException {
+		final SerializationEvent event = new SerializationEvent();
+		if (!event.isEnabled() && metrics == null) {
+			serializeTo(object, type, settings.streamFlushThreshold() > 0 ? new CountingOutputStream(stream) : stream);
+			return;
+		}
+
+		final CountingOutputStream counting = new CountingOutputStream(stream);
+		event.begin();
+		final boolean parallel;
+		try {
+			parallel = serializeTo(object, type, counting);
+		} catch (final RuntimeException ex) {
+			serializationFailed(event, type, counting.count(), 0, ex);
+			throw ex;
+		}
+		serialized(event, type, parallel, counting.count(), 0);
+	}
+
+	/**
+	 * @return {@code true} if the elements were serialized in parallel
+	 */
+	private boolean serializeTo(final Object object, final Type type, final OutputStream stream) {
+		if (serializeParallel(object, type, stream))
+			return true;
+
+		final MyrJsonbContext context = (stream instanceof CountingOutputStream counting) ? new MyrJsonbContext(this, 0, counting::count) : newContext();
+		try (final JsonGenerator generator = generatorFactory.createGenerator(stream, Objects.requireNonNullElse(settings.encoding(), StandardCharsets.UTF_8))) {
+			context.serialize(object, type, generator);
+		}
+		return false;
+	}
+
+	@Override
+	public void toJson(final Object object, final Type type, final Writer writer) throws JsonbException {
+		final SerializationEvent event = new SerializationEvent();
+		if (!event.isEnabled() && metrics == null) {
+			serializeTo(object, type, settings.streamFlushThreshold() > 0 ? new CountingWriter(writer) : writer);
+			return;
+		}
+
+		final CountingWriter counting = new CountingWriter(writer);
+		event.begin();
+		try {
+			serializeTo(object, type, counting);
+		} catch (final RuntimeException ex) {
+			serializationFailed(event, type, 0, counting.count(), ex);
+			throw ex;
+		}
+		serialized(event, type, false, 0, counting.count());
+	}
+
+	private void serializeTo(final Object object, final Type type, final Writer writer) {
+		final MyrJsonbContext context = (writer instanceof CountingWriter counting) ? new MyrJsonbContext(this, 0, counting::count) : newContext();
+		try (final JsonGenerator generator = generatorFactory.createGenerator(writer)) {
+			context.serialize(object, type, generator);
+		}
+	}
+
+	@Override
+	public void toJson(final Object object, final Writer writer) throws JsonbException {
+		toJson(object, object.getClass(), writer);
+	}
+
+	private void serialized(final SerializationEvent event, final Type type, final boolean parallel, final long bytes, final long characters) {
+		commit(event, type, parallel, bytes, characters);
+		if (metrics != null)
+			metrics.serialized(type, bytes, characters);
+	}
+
+	private void serializationFailed(final SerializationEvent event, final Type type, final long bytes, final long characters, final RuntimeException ex) {
+		commit(event, type, false, bytes, characters);
+		if (metrics != null)
+			metrics.failed(type, false, ex);
+	}
+
+	private void commit(final SerializationEvent event, final Type type, final boolean parallel, final long bytes, final long characters) {
+		event.end();
+		if (event.shouldCommit()) {
+			final JsonbSerializer<?> serializer = findSerializer(type);
+			event.type = type.getTypeName();
+			event.serializer = serializer.getClass();
+			event.path = CodecPath.of(serializer, type);
+			event.parallel = parallel;
+			event.bytes = bytes;
+			event.characters = characters;
+			event.commit();
+		}
+	}
+
+	private static void loadCompiledCodecs(final Map<Class<?>, JsonbSerializer<?>> serializers, final Map<Class<?>, JsonbDeserializer<?>> deserializers) {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null)
+			classLoader = MyrJsonb.class.getClassLoader();
+
+		try {
+			for (final CompiledCodec codec : ServiceLoader.load(CompiledCodec.class, classLoader)) {
+				if (serializers.putIfAbsent(codec.type(), codec.serializer()) != null)
+					throw new JsonbException("Multiple compiled codecs for " + codec.type().getName());
+
+				final JsonbDeserializer<?> deserializer = codec.deserializer();
+				if (deserializer != null)
+					deserializers.put(codec.type(), deserializer);
+			}
+		} catch (final ServiceConfigurationError ex) {
+			throw new JsonbException("Cannot load the compiled codecs: " + ex.getMessage(), ex);
+		}
+	}
+
+	private static void installAdapters(final JsonbAdapter<?, ?>[] adapters, final Map<Class<?>, JsonbSerializer<?>> serializers, final Map<Class<?>, JsonbDeserializer<?>> deserializers) {
+		for (final JsonbAdapter<?, ?> adapter : adapters) {
+			final Type adapterType = ReflectionUtilities.getAncestorType(adapter.getClass(), JsonbAdapter.class);
+			final Type originalType = ReflectionUtilities.getTypeArgument(adapterType, 0);
+			final Class<?> originalRawType = ReflectionUtilities.getRawType(originalType);
+
+			final AdapterSerializer<?, ?> serializer = new AdapterSerializer<>(adapter);
+
+			serializers.put(originalRawType, serializer);
+			deserializers.put(originalRawType, serializer);
+		}
+	}
+
+	public JsonbDeserializer<?> findDeserializer(final Type type) {
+		final Class<?> clazz = ReflectionUtilities.getRawType(type);
+
+		JsonbDeserializer<?> deserializer = null;
+		if (frozenDeserializers != null)
+			deserializer = frozenDeserializers.get(clazz);
+		if (deserializer == null)
+			deserializer = resolvedDeserializers.get(clazz);
+		if (metrics != null)
+			metrics.deserializerLookup(clazz, deserializer != null);
+		if (deserializer != null)
+			return deserializer;
+
+		return resolvedDeserializers.computeIfAbsent(clazz, this::resolveDeserializer);
+	}
+
+	private JsonbDeserializer<?> resolveDeserializer(final Class<?> clazz) {
+		{
+			final JsonbDeserializer<?> candidate = deserializers.get(clazz);
+			if (candidate != null)
+				return candidate;
+		}
+
+		for (Class<?> superClazz = clazz.getSuperclass(); superClazz != null && superClazz != Object.class; superClazz = superClazz.getSuperclass()) {
+			final JsonbDeserializer<?> candidate = deserializers.get(superClazz);
+			if (candidate != null)
+				return candidate;
+		}
+
+		for (Class<?> superClazz = clazz; superClazz != null && superClazz != Object.class; superClazz = superClazz.getSuperclass()) {
+			final Deque<Class<?>> q = new ArrayDeque<>();
+			Collections.addAll(q, superClazz.getInterfaces());
+
+			while (!q.isEmpty()) {
+				final Class<?> interfaceClazz = q.poll();
+
+				final JsonbDeserializer<?> candidate = deserializers.get(interfaceClazz);
+				if (candidate != null)
+					return candidate;
+
+				Collections.addAll(q, interfaceClazz.getInterfaces());
+			}
+		}
+
+		if (clazz.isArray())
+			return arrayDeserializer;
+
+		{
+			final JsonbDeserializer<?> candidate = compiledDeserializers.get(clazz);
+			if (candidate != null)
+				return candidate;
+		}
+
+		return defaultDeserialzer;
+	}
+
+	public JsonbSerializer<?> findSerializer(final Type type) {
+		final Class<?> clazz = ReflectionUtilities.getRawType(type);
+
+		JsonbSerializer<?> serializer = null;
+		if (frozenSerializers != null)
+			serializer = frozenSerializers.get(clazz);
+		if (serializer == null)
+			serializer = resolvedSerializers.get(clazz);
+		if (metrics != null)
+			metrics.serializerLookup(clazz, serializer != null);
+		if (serializer != null)
+			return serializer;
+
+		return resolvedSerializers.computeIfAbsent(clazz, this::resolveSerializer);
+	}
+
+	private JsonbSerializer<?> resolveSerializer(final Class<?> clazz) {
+		{
+			final JsonbSerializer<?> candidate = serializers.get(clazz);
+			if (candidate != null)
+				return candidate;
+		}
+
+		for (Class<?> superClazz = clazz.getSuperclass(); superClazz != null && superClazz != Object.class; superClazz = superClazz.getSuperclass()) {
+			final JsonbSerializer<?> candidate = serializers.get(superClazz);
+			if (candidate != null)
+				return candidate;
+		}
+
+		for (Class<?> superClazz = clazz; superClazz != null && superClazz != Object.class; superClazz = superClazz.getSuperclass()) {
+			final Deque<Class<?>> q = new ArrayDeque<>();
+			Collections.addAll(q, superClazz.getInterfaces());
+
+			while (!q.isEmpty()) {
+				final Class<?> interfaceClazz = q.poll();
+
+				final JsonbSerializer<?> candidate = serializers.get(interfaceClazz);
+				if (candidate != null)
+					return candidate;
+
+				Collections.addAll(q, interfaceClazz.getInterfaces());
+			}
+		}
+
+		if (clazz.isArray())
+			return arraySerializer;
+
+		{
+			final JsonbSerializer<?> candidate = compiledSerializers.get(clazz);
+			if (candidate != null)
+				return candidate;
+		}
+
+		return defaultSerialzer;
+	}
+}
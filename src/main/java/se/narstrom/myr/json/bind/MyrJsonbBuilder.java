@@ -31,7 +31,7 @@ public final class MyrJsonbBuilder implements JsonbBuilder {
 			config = new JsonbConfig();
 		if (jsonp == null)
 			jsonp = JsonProvider.provider();
-		return new MyrJsonbContext(config, jsonp);
+		return new MyrJsonb(config, jsonp);
 	}
 
 }
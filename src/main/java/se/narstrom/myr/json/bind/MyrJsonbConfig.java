@@ -0,0 +1,108 @@
+package se.narstrom.myr.json.bind;
+
+/**
+ * Implementation specific {@link jakarta.json.bind.JsonbConfig} properties.
+ *
+ * Unless noted otherwise a property not set in the config falls back to the system property with the same name.
+ */
+public final class MyrJsonbConfig {
+
+	/**
+	 * Engine used for bean types, either {@value #CODEC_ENGINE_REFLECTIVE} (the default) or
+	 * {@value #CODEC_ENGINE_GENERATED}.
+	 */
+	public static final String CODEC_ENGINE = "myr.jsonb.codec-engine";
+
+	public static final String CODEC_ENGINE_REFLECTIVE = "reflective";
+
+	public static final String CODEC_ENGINE_GENERATED = "generated";
+
+	/**
+	 * Number of output buffers kept for reuse by the {@code toJson} methods returning a {@link String}, {@code 0} (the
+	 * default) disables pooling. Buffers that grew beyond 64 KiB are not kept.
+	 */
+	public static final String BUFFER_POOL_SIZE = "myr.jsonb.buffer-pool-size";
+
+	/**
+	 * If {@code true} the {@code toJsonLines} methods start each value with a RFC 7464 record separator, {@code false}
+	 * by default.
+	 */
+	public static final String JSON_SEQUENCE = "myr.jsonb.json-sequence";
+
+	/**
+	 * Number of bytes, or characters for a {@link java.io.Writer}, written from a {@link java.util.stream.Stream},
+	 * {@link Iterable}, {@link java.util.Iterator} or {@link java.util.Spliterator} before the output is flushed,
+	 * {@code 0} (the default) only flushes at the end.
+	 *
+	 * The output is counted below the buffer of the JSON-P generator, so the output is flushed at most every threshold
+	 * or generator buffer size, whichever is larger. The output is only counted when a threshold is set. Not used by
+	 * the {@code toJson} methods returning a {@link String}.
+	 */
+	public static final String STREAM_FLUSH_THRESHOLD = "myr.jsonb.stream-flush-threshold";
+
+	public static final int DEFAULT_STREAM_FLUSH_THRESHOLD = 0;
+
+	/**
+	 * Number of threads used by the parallel methods, {@code 0} (the default) uses the common
+	 * {@link java.util.concurrent.ForkJoinPool}.
+	 */
+	public static final String PARALLELISM = "myr.jsonb.parallelism";
+
+	/**
+	 * Number of array elements or lines bound together by one thread in the parallel methods, {@value #DEFAULT_PARALLEL_BATCH_SIZE}
+	 * by default.
+	 */
+	public static final String PARALLEL_BATCH_SIZE = "myr.jsonb.parallel-batch-size";
+
+	public static final int DEFAULT_PARALLEL_BATCH_SIZE = 1024;
+
+	/**
+	 * Minimum number of elements of a top level collection or object array written to an {@link java.io.OutputStream}
+	 * for the elements to be serialized in parallel, {@code 0} (the default) disables parallel serialization.
+	 *
+	 * Only used without formatting and with UTF-8 encoding, the output is the same as when serialized sequentially.
+	 */
+	public static final String PARALLEL_SERIALIZATION_THRESHOLD = "myr.jsonb.parallel-serialization-threshold";
+
+	/**
+	 * Maximum size in bytes of the buffers published by {@link MyrJsonb#toJsonPublisher(Object)},
+	 * {@value #DEFAULT_PUBLISHER_CHUNK_SIZE} by default.
+	 */
+	public static final String PUBLISHER_CHUNK_SIZE = "myr.jsonb.publisher-chunk-size";
+
+	public static final int DEFAULT_PUBLISHER_CHUNK_SIZE = 8192;
+
+	/**
+	 * A {@link se.narstrom.myr.json.bind.metrics.JsonbMetricsListener} notified of the operations of the instance.
+	 */
+	public static final String METRICS_LISTENER = "myr.jsonb.metrics-listener";
+
+	/**
+	 * {@code true} or an MBean name to count the operations of the instance in a
+	 * {@link se.narstrom.myr.json.bind.metrics.DefaultMetricsListener} registered in the platform MBean server, unless a
+	 * {@link #METRICS_LISTENER} is configured. {@code true} registers it as
+	 * {@code se.narstrom.myr.json.bind:type=Jsonb,name=<n>} with {@code n} counting the instances.
+	 *
+	 * <strong>Close the instance.</strong> Every instance registers an MBean of its own, which is unregistered by
+	 * {@link jakarta.json.bind.Jsonb#close()}. An instance that is never closed keeps its MBean, and the types counted in
+	 * it, registered until the instance is garbage collected. Creating an instance per request without closing it grows
+	 * the MBean server in the meantime.
+	 */
+	public static final String METRICS = "myr.jsonb.metrics";
+
+	/**
+	 * A {@link java.lang.reflect.Type} array or collection of root types. When the instance is created the codecs of the
+	 * types and of every type reachable from them are resolved and their bean models built, in parallel. All invalid
+	 * mappings are reported together in one {@link jakarta.json.bind.JsonbException}.
+	 */
+	public static final String WARM_UP_TYPES = "myr.jsonb.warm-up-types";
+
+	/**
+	 * {@code true} to freeze the resolved codecs after the warm-up into an immutable perfect hash table, looked up
+	 * without any synchronization. Types outside the warmed up set are still resolved on first use.
+	 */
+	public static final String FREEZE = "myr.jsonb.freeze";
+
+	private MyrJsonbConfig() {
+	}
+}
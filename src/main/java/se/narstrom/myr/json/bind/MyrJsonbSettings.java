@@ -0,0 +1,73 @@
+package se.narstrom.myr.json.bind;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Optional;
+
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.config.BinaryDataStrategy;
+
+/**
+ * The {@link JsonbConfig} properties used by the implementation, read once when the {@link jakarta.json.bind.Jsonb}
+ * instance is created.
+ *
+ * @param encoding   the configured encoding, or {@code null} to write UTF-8 and detect the encoding of the input
+ * @param dateFormat the date format pattern, or {@code null} for the ISO formats
+ * @param metrics    the name of the metrics MBean, empty for a generated name, or {@code null} for no MBean
+ */
+public record MyrJsonbSettings(boolean nullValues, boolean failOnUnknownProperties, boolean formatting, Charset encoding, String dateFormat, Locale locale, String binaryDataStrategy,
+		String codecEngine, int bufferPoolSize, boolean jsonSequence,
+		int streamFlushThreshold, int parallelism, int parallelBatchSize, int parallelSerializationThreshold, int publisherChunkSize, String metrics, boolean freeze) {
+
+	public static MyrJsonbSettings of(final JsonbConfig config) {
+		try {
+			final boolean nullValues = config.getProperty(JsonbConfig.NULL_VALUES).map(Boolean.class::cast).orElse(Boolean.FALSE);
+			final boolean failOnUnknownProperties = config.getProperty("jsonb.fail-on-unknown-properties").orElse(Boolean.FALSE) == Boolean.TRUE;
+			final boolean formatting = config.getProperty(JsonbConfig.FORMATTING).orElse(Boolean.FALSE) == Boolean.TRUE;
+			final Charset encoding = config.getProperty(JsonbConfig.ENCODING).map(obj -> Charset.forName((String) obj)).orElse(null);
+			final String dateFormat = config.getProperty(JsonbConfig.DATE_FORMAT).map(String.class::cast).orElse(null);
+			final Locale locale = config.getProperty(JsonbConfig.LOCALE).map(Locale.class::cast).orElseGet(Locale::getDefault);
+			final String binaryDataStrategy = config.getProperty(JsonbConfig.BINARY_DATA_STRATEGY).map(String.class::cast).orElse(BinaryDataStrategy.BYTE);
+			final String codecEngine = getProperty(config, MyrJsonbConfig.CODEC_ENGINE).map(Object::toString).orElse(MyrJsonbConfig.CODEC_ENGINE_REFLECTIVE);
+			final int bufferPoolSize = getIntProperty(config, MyrJsonbConfig.BUFFER_POOL_SIZE);
+			final boolean jsonSequence = getBooleanProperty(config, MyrJsonbConfig.JSON_SEQUENCE);
+			final int streamFlushThreshold = getProperty(config, MyrJsonbConfig.STREAM_FLUSH_THRESHOLD).map(MyrJsonbSettings::toInt).orElse(MyrJsonbConfig.DEFAULT_STREAM_FLUSH_THRESHOLD);
+			final int parallelism = getIntProperty(config, MyrJsonbConfig.PARALLELISM);
+			final int parallelBatchSize = getIntProperty(config, MyrJsonbConfig.PARALLEL_BATCH_SIZE);
+			final int parallelSerializationThreshold = getIntProperty(config, MyrJsonbConfig.PARALLEL_SERIALIZATION_THRESHOLD);
+			final int publisherChunkSize = getIntProperty(config, MyrJsonbConfig.PUBLISHER_CHUNK_SIZE);
+			final String metrics = getProperty(config, MyrJsonbConfig.METRICS).map(obj -> switch (obj.toString()) {
+				case "true" -> "";
+				case "false" -> null;
+				default -> obj.toString();
+			}).orElse(null);
+			final boolean freeze = getBooleanProperty(config, MyrJsonbConfig.FREEZE);
+
+			if (bufferPoolSize < 0 || streamFlushThreshold < 0 || parallelism < 0 || parallelBatchSize < 0 || parallelSerializationThreshold < 0 || publisherChunkSize < 0)
+				throw new JsonbException("Invalid config: negative buffer pool size, flush threshold, parallelism, batch size, threshold or chunk size");
+
+			return new MyrJsonbSettings(nullValues, failOnUnknownProperties, formatting, encoding, dateFormat, locale, binaryDataStrategy, codecEngine, bufferPoolSize, jsonSequence, streamFlushThreshold, parallelism,
+					parallelBatchSize > 0 ? parallelBatchSize : MyrJsonbConfig.DEFAULT_PARALLEL_BATCH_SIZE, parallelSerializationThreshold,
+					publisherChunkSize > 0 ? publisherChunkSize : MyrJsonbConfig.DEFAULT_PUBLISHER_CHUNK_SIZE, metrics, freeze);
+		} catch (final ClassCastException | IllegalArgumentException ex) {
+			throw new JsonbException("Invalid config: " + ex.getMessage(), ex);
+		}
+	}
+
+	private static Optional<Object> getProperty(final JsonbConfig config, final String name) {
+		return config.getProperty(name).or(() -> Optional.ofNullable(System.getProperty(name)));
+	}
+
+	private static boolean getBooleanProperty(final JsonbConfig config, final String name) {
+		return getProperty(config, name).map(obj -> obj instanceof Boolean bool ? bool : Boolean.parseBoolean(obj.toString())).orElse(Boolean.FALSE);
+	}
+
+	private static int getIntProperty(final JsonbConfig config, final String name) {
+		return getProperty(config, name).map(MyrJsonbSettings::toInt).orElse(0);
+	}
+
+	private static int toInt(final Object obj) {
+		return obj instanceof Number number ? number.intValue() : Integer.parseInt(obj.toString());
+	}
+}
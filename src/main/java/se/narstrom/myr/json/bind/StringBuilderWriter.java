@@ -0,0 +1,63 @@
+package se.narstrom.myr.json.bind;
+
+import java.io.Writer;
+
+/**
+ * {@link Writer} to a {@link StringBuilder}, without the synchronization of {@link java.io.StringWriter}. Only used by
+ * one thread at a time.
+ */
+final class StringBuilderWriter extends Writer {
+	private final StringBuilder builder;
+
+	StringBuilderWriter(final int capacity) {
+		this.builder = new StringBuilder(capacity);
+	}
+
+	int capacity() {
+		return builder.capacity();
+	}
+
+	void reset() {
+		builder.setLength(0);
+	}
+
+	@Override
+	public void write(final int c) {
+		builder.append((char) c);
+	}
+
+	@Override
+	public void write(final char[] buffer, final int offset, final int length) {
+		builder.append(buffer, offset, length);
+	}
+
+	@Override
+	public void write(final String str, final int offset, final int length) {
+		builder.append(str, offset, offset + length);
+	}
+
+	@Override
+	public Writer append(final CharSequence csq) {
+		builder.append(csq);
+		return this;
+	}
+
+	@Override
+	public Writer append(final char c) {
+		builder.append(c);
+		return this;
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public String toString() {
+		return builder.toString();
+	}
+}
@@ -0,0 +1,152 @@
+package se.narstrom.myr.json.bind;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.annotation.JsonbSubtype;
+import jakarta.json.bind.annotation.JsonbTypeInfo;
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
+import se.narstrom.myr.json.bind.serializer.defaults.BeanModel;
+import se.narstrom.myr.json.bind.serializer.defaults.CreatorProperty;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultDeserializer;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultSerializer;
+import se.narstrom.myr.json.bind.serializer.defaults.OldProperty;
+import se.narstrom.myr.json.bind.serializer.defaults.WriteableProperty;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedCodecs;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedDeserializer;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedSerializer;
+
+/**
+ * Resolves the codecs and builds the bean models of a set of root types and every type reachable from them through
+ * properties, creator parameters, type arguments, array components and polymorphic subtypes.
+ *
+ * The types are visited level by level, each level in parallel. Errors do not stop the walk, they are all reported
+ * together at the end.
+ */
+final class WarmUp {
+	private final MyrJsonb jsonb;
+
+	private final boolean generated;
+
+	private final Set<Type> visited = ConcurrentHashMap.newKeySet();
+
+	private final Map<Type, RuntimeException> errors = new ConcurrentHashMap<>();
+
+	private WarmUp(final MyrJsonb jsonb) {
+		this.jsonb = jsonb;
+		this.generated = MyrJsonbConfig.CODEC_ENGINE_GENERATED.equals(jsonb.getSettings().codecEngine());
+	}
+
+	/**
+	 * @param pool the pool to visit the types in, or {@code null} for the common pool
+	 * @throws JsonbException with every error as a suppressed exception, if any type has an invalid mapping
+	 */
+	static void run(final MyrJsonb jsonb, final Collection<? extends Type> roots, final ForkJoinPool pool) {
+		final WarmUp warmUp = new WarmUp(jsonb);
+
+		List<Type> level = roots.stream().filter(warmUp.visited::add).map(Type.class::cast).toList();
+		while (!level.isEmpty()) {
+			final List<Type> current = level;
+			if (pool != null)
+				level = pool.submit(() -> warmUp.visitAll(current)).join();
+			else
+				level = warmUp.visitAll(current);
+		}
+
+		if (!warmUp.errors.isEmpty()) {
+			// @formatter:off
+			final String message = warmUp.errors.entrySet().stream()
+					.map(entry -> entry.getKey().getTypeName() + ": " + entry.getValue().getMessage())
+					.sorted()
+					.collect(Collectors.joining("; ", "Invalid mapping of " + warmUp.errors.size() + " types: ", ""));
+			// @formatter:on
+			final JsonbException ex = new JsonbException(message);
+			warmUp.errors.values().forEach(ex::addSuppressed);
+			throw ex;
+		}
+	}
+
+	// Returns the types reachable from the level that are not yet visited
+	private List<Type> visitAll(final List<Type> types) {
+		return types.parallelStream().flatMap(type -> visit(type).stream()).filter(visited::add).toList();
+	}
+
+	private List<Type> visit(final Type type) {
+		final List<Type> reachable = new ArrayList<>();
+		try {
+			if (type instanceof WildcardType || type instanceof TypeVariable<?>) {
+				final Type[] bounds = (type instanceof WildcardType wildcard) ? wildcard.getUpperBounds() : ((TypeVariable<?>) type).getBounds();
+				Collections.addAll(reachable, bounds);
+				return reachable;
+			}
+
+			if (type instanceof ParameterizedType parameterized)
+				Collections.addAll(reachable, parameterized.getActualTypeArguments());
+			else if (type instanceof GenericArrayType array)
+				reachable.add(array.getGenericComponentType());
+
+			final Class<?> clazz = ReflectionUtilities.getRawType(type);
+			if (clazz == Object.class)
+				return reachable;
+			if (clazz.isArray())
+				reachable.add(clazz.getComponentType());
+
+			final JsonbSerializer<?> serializer = jsonb.findSerializer(type);
+			final JsonbDeserializer<?> deserializer = jsonb.findDeserializer(type);
+
+			final boolean defaultSerializer = serializer instanceof DefaultSerializer || serializer instanceof GeneratedSerializer;
+			final boolean defaultDeserializer = deserializer instanceof DefaultDeserializer || deserializer instanceof GeneratedDeserializer;
+			if (!defaultSerializer && !defaultDeserializer)
+				return reachable;
+
+			final JsonbTypeInfo typeInfo = clazz.getAnnotation(JsonbTypeInfo.class);
+			if (typeInfo != null) {
+				for (final JsonbSubtype subtype : typeInfo.value())
+					reachable.add(subtype.type());
+			}
+
+			// Declared types that are never instantiated are only reached through their subtypes
+			if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()))
+				return reachable;
+
+			if (defaultSerializer) {
+				// Serialized by the runtime class, so the model is keyed on the raw type
+				for (final OldProperty property : BeanModel.of(clazz).serialization(jsonb.getMetrics()).properties())
+					reachable.add(property.type());
+				if (generated)
+					GeneratedCodecs.serializer(clazz);
+			}
+
+			// The subtype of a polymorphic type is only known from the discriminator. A type without a creator is taken to
+			// be serialized only, deserializing it still fails on first use.
+			if (defaultDeserializer && typeInfo == null && BeanModel.hasCreator(clazz)) {
+				final BeanModel.Deserialization model = BeanModel.of(type).deserialization(jsonb.getMetrics());
+				for (final CreatorProperty property : model.creatorProperties().values())
+					reachable.add(property.type());
+				for (final WriteableProperty property : model.properties().values())
+					reachable.add(property.type());
+				if (generated)
+					GeneratedCodecs.deserializer(type);
+			}
+		} catch (final RuntimeException ex) {
+			errors.put(type, ex);
+		}
+		return reachable;
+	}
+}
@@ -0,0 +1,37 @@
+package se.narstrom.myr.json.bind;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of output buffers used by the {@code toJson} methods that return a {@link String}.
+ *
+ * Only the non-blocking queue operations are used, and they hold a {@link java.util.concurrent.locks.ReentrantLock}
+ * rather than a monitor, so virtual threads neither wait for a buffer nor pin their carrier threads.
+ */
+final class WriterPool {
+	static final int INITIAL_CAPACITY = 256;
+
+	// Larger buffers are dropped rather than retained for the lifetime of the pool
+	static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private final BlockingQueue<StringBuilderWriter> writers;
+
+	WriterPool(final int size) {
+		this.writers = new ArrayBlockingQueue<>(size);
+	}
+
+	StringBuilderWriter acquire() {
+		final StringBuilderWriter writer = writers.poll();
+		if (writer == null)
+			return new StringBuilderWriter(INITIAL_CAPACITY);
+		return writer;
+	}
+
+	void release(final StringBuilderWriter writer) {
+		if (writer.capacity() > MAX_RETAINED_CAPACITY)
+			return;
+		writer.reset();
+		writers.offer(writer);
+	}
+}
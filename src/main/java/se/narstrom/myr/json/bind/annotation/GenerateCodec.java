@@ -0,0 +1,20 @@
+package se.narstrom.myr.json.bind.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean for the {@code myrjsonbind-processor} annotation processor, that generates a
+ * {@link se.narstrom.myr.json.bind.serializer.generated.CompiledCodec} for it at compile time.
+ *
+ * The bean must be a top level or static nested class without type parameters. Without the processor on the annotation
+ * processor path the annotation has no effect and the bean is bound reflectively.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateCodec {
+}
@@ -0,0 +1,39 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Disabled by default, enable it with {@code se.narstrom.myr.json.bind.Binding#enabled=true} in the recording
+ * settings and tune the threshold to find the slow nested types.
+ */
+@Name("se.narstrom.myr.json.bind.Binding")
+@Label("JSON-B Nested Binding")
+@Category("JSON-B")
+@Description("Serialization or deserialization of a nested value")
+@Enabled(false)
+@Threshold("10 ms")
+public final class BindingEvent extends Event {
+	@Label("Type")
+	public String type;
+
+	@Label("Codec")
+	@Description("The serializer or deserializer of the type")
+	public Class<?> codec;
+
+	@Label("Path")
+	@Description("compiled, generated, reflective, adapter or builtin")
+	public String path;
+
+	@Label("Deserialization")
+	public boolean deserialization;
+
+	@Label("Depth")
+	@Description("Nesting depth of the value, the root value is at depth 0")
+	public int depth;
+}
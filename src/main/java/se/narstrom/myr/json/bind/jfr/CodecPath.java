@@ -0,0 +1,34 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import java.lang.reflect.Type;
+
+import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
+import se.narstrom.myr.json.bind.serializer.AdapterSerializer;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultDeserializer;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultSerializer;
+import se.narstrom.myr.json.bind.serializer.generated.CompiledCodec;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedCodecs;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedDeserializer;
+import se.narstrom.myr.json.bind.serializer.generated.GeneratedSerializer;
+
+/**
+ * The path reported in the events, only computed for events that are committed.
+ */
+public final class CodecPath {
+	private CodecPath() {
+	}
+
+	public static String of(final Object codec, final Type type) {
+		if (codec instanceof CompiledCodec)
+			return "compiled";
+		if (codec instanceof GeneratedSerializer)
+			return GeneratedCodecs.serializer(ReflectionUtilities.getRawType(type)) != null ? "generated" : "reflective";
+		if (codec instanceof GeneratedDeserializer)
+			return GeneratedCodecs.deserializer(type) != null ? "generated" : "reflective";
+		if (codec instanceof DefaultSerializer || codec instanceof DefaultDeserializer)
+			return "reflective";
+		if (codec instanceof AdapterSerializer)
+			return "adapter";
+		return "builtin";
+	}
+}
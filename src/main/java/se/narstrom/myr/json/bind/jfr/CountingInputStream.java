@@ -0,0 +1,48 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read, only used while an event is recorded.
+ */
+public final class CountingInputStream extends FilterInputStream {
+	private long count = 0;
+
+	public CountingInputStream(final InputStream in) {
+		super(in);
+	}
+
+	public long count() {
+		return count;
+	}
+
+	@Override
+	public int read() throws IOException {
+		final int b = in.read();
+		if (b != -1)
+			++count;
+		return b;
+	}
+
+	@Override
+	public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+		final int n = in.read(buffer, offset, length);
+		if (n > 0)
+			count += n;
+		return n;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		final long skipped = in.skip(n);
+		count += skipped;
+		return skipped;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+}
@@ -0,0 +1,32 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes written, for the events, the metrics and the stream flush threshold.
+ */
+public final class CountingOutputStream extends FilterOutputStream {
+	private long count = 0;
+
+	public CountingOutputStream(final OutputStream out) {
+		super(out);
+	}
+
+	public long count() {
+		return count;
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+		out.write(b);
+		++count;
+	}
+
+	@Override
+	public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+		out.write(buffer, offset, length);
+		count += length;
+	}
+}
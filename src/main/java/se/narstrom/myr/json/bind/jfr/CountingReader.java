@@ -0,0 +1,48 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Counts the characters read, only used while an event is recorded.
+ */
+public final class CountingReader extends FilterReader {
+	private long count = 0;
+
+	public CountingReader(final Reader in) {
+		super(in);
+	}
+
+	public long count() {
+		return count;
+	}
+
+	@Override
+	public int read() throws IOException {
+		final int c = in.read();
+		if (c != -1)
+			++count;
+		return c;
+	}
+
+	@Override
+	public int read(final char[] buffer, final int offset, final int length) throws IOException {
+		final int n = in.read(buffer, offset, length);
+		if (n > 0)
+			count += n;
+		return n;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		final long skipped = in.skip(n);
+		count += skipped;
+		return skipped;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+}
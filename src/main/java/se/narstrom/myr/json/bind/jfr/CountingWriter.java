@@ -0,0 +1,38 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Counts the characters written, for the events, the metrics and the stream flush threshold.
+ */
+public final class CountingWriter extends FilterWriter {
+	private long count = 0;
+
+	public CountingWriter(final Writer out) {
+		super(out);
+	}
+
+	public long count() {
+		return count;
+	}
+
+	@Override
+	public void write(final int c) throws IOException {
+		out.write(c);
+		++count;
+	}
+
+	@Override
+	public void write(final char[] buffer, final int offset, final int length) throws IOException {
+		out.write(buffer, offset, length);
+		count += length;
+	}
+
+	@Override
+	public void write(final String str, final int offset, final int length) throws IOException {
+		out.write(str, offset, length);
+		count += length;
+	}
+}
@@ -0,0 +1,36 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("se.narstrom.myr.json.bind.Deserialization")
+@Label("JSON-B Deserialization")
+@Category("JSON-B")
+@Description("A fromJson call")
+@Threshold("1 ms")
+public final class DeserializationEvent extends Event {
+	@Label("Type")
+	public String type;
+
+	@Label("Deserializer")
+	@Description("The deserializer of the root type")
+	public Class<?> deserializer;
+
+	@Label("Path")
+	@Description("compiled, generated, reflective, adapter or builtin")
+	public String path;
+
+	@Label("Bytes")
+	@Description("Bytes read from an input stream")
+	@DataAmount
+	public long bytes;
+
+	@Label("Characters")
+	@Description("Characters read from a string or reader")
+	public long characters;
+}
@@ -0,0 +1,39 @@
+package se.narstrom.myr.json.bind.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("se.narstrom.myr.json.bind.Serialization")
+@Label("JSON-B Serialization")
+@Category("JSON-B")
+@Description("A toJson call")
+@Threshold("1 ms")
+public final class SerializationEvent extends Event {
+	@Label("Type")
+	public String type;
+
+	@Label("Serializer")
+	@Description("The serializer of the root type")
+	public Class<?> serializer;
+
+	@Label("Path")
+	@Description("compiled, generated, reflective, adapter or builtin")
+	public String path;
+
+	@Label("Parallel")
+	public boolean parallel;
+
+	@Label("Bytes")
+	@Description("Bytes written to an output stream")
+	@DataAmount
+	public long bytes;
+
+	@Label("Characters")
+	@Description("Characters written to a string or writer")
+	public long characters;
+}
@@ -0,0 +1,220 @@
+package se.narstrom.myr.json.bind.metrics;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free counters, registered as an MXBean with {@link se.narstrom.myr.json.bind.MyrJsonbConfig#METRICS}.
+ *
+ * Only the first value of a type or exception class allocates.
+ */
+public final class DefaultMetricsListener implements JsonbMetricsListener, JsonbMetricsMXBean {
+	private final Direction serialization = new Direction();
+
+	private final Direction deserialization = new Direction();
+
+	private final LongAdder serializerCacheHits = new LongAdder();
+
+	private final LongAdder serializerCacheMisses = new LongAdder();
+
+	private final LongAdder deserializerCacheHits = new LongAdder();
+
+	private final LongAdder deserializerCacheMisses = new LongAdder();
+
+	private final LongAdder beanModelBuilds = new LongAdder();
+
+	private final LongAdder unknownPropertySkips = new LongAdder();
+
+	@Override
+	public void serialized(final Type type, final long bytes, final long characters) {
+		serialization.add(type, bytes, characters);
+	}
+
+	@Override
+	public void deserialized(final Type type, final long bytes, final long characters) {
+		deserialization.add(type, bytes, characters);
+	}
+
+	@Override
+	public void failed(final Type type, final boolean deserialization, final Throwable exception) {
+		(deserialization ? this.deserialization : this.serialization).failed(exception.getClass());
+	}
+
+	@Override
+	public void serializerLookup(final Class<?> type, final boolean cacheHit) {
+		(cacheHit ? serializerCacheHits : serializerCacheMisses).increment();
+	}
+
+	@Override
+	public void deserializerLookup(final Class<?> type, final boolean cacheHit) {
+		(cacheHit ? deserializerCacheHits : deserializerCacheMisses).increment();
+	}
+
+	@Override
+	public void beanModelBuilt(final Type type) {
+		beanModelBuilds.increment();
+	}
+
+	@Override
+	public void unknownPropertySkipped(final Type type, final String name) {
+		unknownPropertySkips.increment();
+	}
+
+	@Override
+	public long getSerializedObjects() {
+		return serialization.total.objects.sum();
+	}
+
+	@Override
+	public long getSerializedBytes() {
+		return serialization.total.bytes.sum();
+	}
+
+	@Override
+	public long getSerializedCharacters() {
+		return serialization.total.characters.sum();
+	}
+
+	@Override
+	public Map<String, TypeMetrics> getSerializedByType() {
+		return serialization.byType();
+	}
+
+	@Override
+	public Map<String, Long> getSerializationFailures() {
+		return serialization.failures();
+	}
+
+	@Override
+	public long getDeserializedObjects() {
+		return deserialization.total.objects.sum();
+	}
+
+	@Override
+	public long getDeserializedBytes() {
+		return deserialization.total.bytes.sum();
+	}
+
+	@Override
+	public long getDeserializedCharacters() {
+		return deserialization.total.characters.sum();
+	}
+
+	@Override
+	public Map<String, TypeMetrics> getDeserializedByType() {
+		return deserialization.byType();
+	}
+
+	@Override
+	public Map<String, Long> getDeserializationFailures() {
+		return deserialization.failures();
+	}
+
+	@Override
+	public long getSerializerCacheHits() {
+		return serializerCacheHits.sum();
+	}
+
+	@Override
+	public long getSerializerCacheMisses() {
+		return serializerCacheMisses.sum();
+	}
+
+	@Override
+	public long getDeserializerCacheHits() {
+		return deserializerCacheHits.sum();
+	}
+
+	@Override
+	public long getDeserializerCacheMisses() {
+		return deserializerCacheMisses.sum();
+	}
+
+	@Override
+	public long getBeanModelBuilds() {
+		return beanModelBuilds.sum();
+	}
+
+	@Override
+	public long getUnknownPropertySkips() {
+		return unknownPropertySkips.sum();
+	}
+
+	@Override
+	public void reset() {
+		serialization.reset();
+		deserialization.reset();
+		serializerCacheHits.reset();
+		serializerCacheMisses.reset();
+		deserializerCacheHits.reset();
+		deserializerCacheMisses.reset();
+		beanModelBuilds.reset();
+		unknownPropertySkips.reset();
+	}
+
+	private static final class Counters {
+		private final LongAdder objects = new LongAdder();
+
+		private final LongAdder bytes = new LongAdder();
+
+		private final LongAdder characters = new LongAdder();
+
+		private void add(final long bytes, final long characters) {
+			this.objects.increment();
+			this.bytes.add(bytes);
+			this.characters.add(characters);
+		}
+
+		private TypeMetrics snapshot() {
+			return new TypeMetrics(objects.sum(), bytes.sum(), characters.sum());
+		}
+	}
+
+	private static final class Direction {
+		private final Counters total = new Counters();
+
+		private final ConcurrentMap<Type, Counters> types = new ConcurrentHashMap<>();
+
+		private final ConcurrentMap<Class<?>, LongAdder> failures = new ConcurrentHashMap<>();
+
+		private void add(final Type type, final long bytes, final long characters) {
+			total.add(bytes, characters);
+
+			Counters counters = types.get(type);
+			if (counters == null)
+				counters = types.computeIfAbsent(type, key -> new Counters());
+			counters.add(bytes, characters);
+		}
+
+		private void failed(final Class<?> exceptionClass) {
+			LongAdder counter = failures.get(exceptionClass);
+			if (counter == null)
+				counter = failures.computeIfAbsent(exceptionClass, key -> new LongAdder());
+			counter.increment();
+		}
+
+		private Map<String, TypeMetrics> byType() {
+			final Map<String, TypeMetrics> result = new TreeMap<>();
+			types.forEach((type, counters) -> result.put(type.getTypeName(), counters.snapshot()));
+			return result;
+		}
+
+		private Map<String, Long> failures() {
+			final Map<String, Long> result = new TreeMap<>();
+			failures.forEach((exceptionClass, counter) -> result.put(exceptionClass.getName(), counter.sum()));
+			return result;
+		}
+
+		private void reset() {
+			total.objects.reset();
+			total.bytes.reset();
+			total.characters.reset();
+			types.clear();
+			failures.clear();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package se.narstrom.myr.json.bind.metrics;
+
+import java.lang.reflect.Type;
+
+/**
+ * Notified of the operations of one {@link jakarta.json.bind.Jsonb} instance, configured with
+ * {@link se.narstrom.myr.json.bind.MyrJsonbConfig#METRICS_LISTENER}.
+ *
+ * Called on the threads doing the work, from hot paths, so implementations must be thread safe and cheap. Without a
+ * listener none of the counting is done.
+ */
+public interface JsonbMetricsListener {
+	/**
+	 * A top level value was serialized, the size is counted in bytes for output streams and in characters otherwise.
+	 */
+	default void serialized(final Type type, final long bytes, final long characters) {
+	}
+
+	/**
+	 * A top level value was deserialized, the size is counted in bytes for input streams and in characters otherwise.
+	 */
+	default void deserialized(final Type type, final long bytes, final long characters) {
+	}
+
+	/**
+	 * A top level serialization or deserialization failed.
+	 */
+	default void failed(final Type type, final boolean deserialization, final Throwable exception) {
+	}
+
+	default void serializerLookup(final Class<?> type, final boolean cacheHit) {
+	}
+
+	default void deserializerLookup(final Class<?> type, final boolean cacheHit) {
+	}
+
+	/**
+	 * The reflective model of a bean was built, models are shared between instances so it is reported by the instance
+	 * that first needed it.
+	 */
+	default void beanModelBuilt(final Type type) {
+	}
+
+	default void unknownPropertySkipped(final Type type, final String name) {
+	}
+}
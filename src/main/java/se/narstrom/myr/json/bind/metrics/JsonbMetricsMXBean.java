@@ -0,0 +1,43 @@
+package se.narstrom.myr.json.bind.metrics;
+
+import java.util.Map;
+
+/**
+ * The counters of {@link DefaultMetricsListener}, the types are keyed by their type names and the failures by the
+ * class names of the exceptions.
+ */
+public interface JsonbMetricsMXBean {
+	long getSerializedObjects();
+
+	long getSerializedBytes();
+
+	long getSerializedCharacters();
+
+	Map<String, TypeMetrics> getSerializedByType();
+
+	Map<String, Long> getSerializationFailures();
+
+	long getDeserializedObjects();
+
+	long getDeserializedBytes();
+
+	long getDeserializedCharacters();
+
+	Map<String, TypeMetrics> getDeserializedByType();
+
+	Map<String, Long> getDeserializationFailures();
+
+	long getSerializerCacheHits();
+
+	long getSerializerCacheMisses();
+
+	long getDeserializerCacheHits();
+
+	long getDeserializerCacheMisses();
+
+	long getBeanModelBuilds();
+
+	long getUnknownPropertySkips();
+
+	void reset();
+}
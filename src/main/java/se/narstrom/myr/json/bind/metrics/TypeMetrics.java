@@ -0,0 +1,33 @@
+package se.narstrom.myr.json.bind.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Snapshot of the counters of one root type.
+ */
+public final class TypeMetrics {
+	private final long objects;
+
+	private final long bytes;
+
+	private final long characters;
+
+	@ConstructorProperties({ "objects", "bytes", "characters" })
+	public TypeMetrics(final long objects, final long bytes, final long characters) {
+		this.objects = objects;
+		this.bytes = bytes;
+		this.characters = characters;
+	}
+
+	public long getObjects() {
+		return objects;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getCharacters() {
+		return characters;
+	}
+}
@@ -0,0 +1,224 @@
+package se.narstrom.myr.json.bind.reflect;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The interned instance of a class, parameterized type or generic array type, with the type algebra done on it
+ * memoized: its supertype, its interfaces, its type arguments, its ancestors and the member types resolved against it.
+ *
+ * Equal types share one instance, so the types resolved by {@link ReflectionUtilities} are mostly compared by
+ * identity and their hash codes are computed once.
+ *
+ * A type is cached on its owner, the class of the type with the innermost class loader, which has the class loaders of
+ * all the other classes of the type as ancestors. The cache then keeps no class loader reachable that the owner does
+ * not already keep reachable, and the entry is dropped with the owner. Types with classes from unrelated class
+ * loaders have no owner and are not cached, and neither are ancestors and member types with classes the owner can not
+ * hold.
+ */
+final class CanonicalType {
+	private static final ClassValue<CanonicalType> CLASSES = new ClassValue<>() {
+		@Override
+		protected CanonicalType computeValue(final Class<?> clazz) {
+			return new CanonicalType(clazz, clazz);
+		}
+	};
+
+	// Keyed on the owner
+	private static final ClassValue<ConcurrentMap<Type, CanonicalType>> GENERIC_TYPES = new ClassValue<>() {
+		@Override
+		protected ConcurrentMap<Type, CanonicalType> computeValue(final Class<?> clazz) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	// Stands in for null, which the maps can not hold
+	private static final Type NONE = new Type() {
+	};
+
+	private final Type type;
+
+	// The class the type is cached on, or null if it is not cached
+	private final Class<?> owner;
+
+	private volatile Type superType;
+
+	private volatile Type[] interfaces;
+
+	private volatile Type[] typeArguments;
+
+	private final ConcurrentMap<Class<?>, Type> ancestors = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Type, Type> resolved = new ConcurrentHashMap<>();
+
+	private CanonicalType(final Type type, final Class<?> owner) {
+		this.type = type;
+		this.owner = owner;
+		// Published with this instance, a type that is seen without the link is looked up
+		if (type instanceof ParameterizedTypeImpl parameterized)
+			parameterized.canonical = this;
+		else if (type instanceof GenericArrayTypeImpl genericArray)
+			genericArray.canonical = this;
+	}
+
+	static boolean isSupported(final Type type) {
+		return type instanceof Class<?> || type instanceof ParameterizedType || type instanceof GenericArrayType;
+	}
+
+	static CanonicalType of(final Type type) {
+		if (type instanceof Class<?> clazz)
+			return CLASSES.get(clazz);
+		if (type instanceof ParameterizedTypeImpl parameterized && parameterized.canonical != null)
+			return parameterized.canonical;
+		if (type instanceof GenericArrayTypeImpl genericArray && genericArray.canonical != null)
+			return genericArray.canonical;
+
+		final Class<?> owner = findOwner(type);
+		if (owner == null)
+			return new CanonicalType(canonicalForm(type), null);
+
+		final ConcurrentMap<Type, CanonicalType> types = GENERIC_TYPES.get(owner);
+
+		final CanonicalType canonical = types.get(type);
+		if (canonical != null)
+			return canonical;
+
+		// Built outside of the map, the arguments may intern into the same map
+		final CanonicalType created = new CanonicalType(canonicalForm(type), owner);
+		final CanonicalType existing = types.putIfAbsent(created.type, created);
+		return (existing != null) ? existing : created;
+	}
+
+	Type type() {
+		return type;
+	}
+
+	Class<?> owner() {
+		return owner;
+	}
+
+	Type superType() {
+		Type superType = this.superType;
+		if (superType == null)
+			this.superType = superType = nullToNone(ReflectionUtilities.computeSuperType(type));
+		return noneToNull(superType);
+	}
+
+	// Not copied, callers must not modify it
+	Type[] interfaces() {
+		Type[] interfaces = this.interfaces;
+		if (interfaces == null)
+			this.interfaces = interfaces = ReflectionUtilities.computeInterfaces(type);
+		return interfaces;
+	}
+
+	// Not copied, callers must not modify it
+	Type[] typeArguments() {
+		Type[] typeArguments = this.typeArguments;
+		if (typeArguments == null)
+			this.typeArguments = typeArguments = ReflectionUtilities.computeTypeArguments(type);
+		return typeArguments;
+	}
+
+	Type ancestor(final Class<?> rawAncestor) {
+		Type ancestor = ancestors.get(rawAncestor);
+		if (ancestor == null) {
+			ancestor = nullToNone(ReflectionUtilities.computeAncestorType(type, rawAncestor));
+			if (canHold(rawAncestor))
+				ancestors.putIfAbsent(rawAncestor, ancestor);
+		}
+		return noneToNull(ancestor);
+	}
+
+	Type resolve(final Type memberType) {
+		Type resolvedType = resolved.get(memberType);
+		if (resolvedType == null) {
+			resolvedType = ReflectionUtilities.resolveType(memberType, ReflectionUtilities.getTypeParameters(type), typeArguments());
+			if (canHold(findOwner(memberType)))
+				resolved.putIfAbsent(memberType, resolvedType);
+		}
+		return resolvedType;
+	}
+
+	private boolean canHold(final Class<?> clazz) {
+		return owner != null && clazz != null && isAncestor(clazz.getClassLoader(), owner.getClassLoader());
+	}
+
+	// The class of the type with the innermost class loader, or null if the class loaders are unrelated
+	static Class<?> findOwner(final Type type) {
+		if (type instanceof Class<?> clazz) {
+			return clazz;
+		} else if (type instanceof ParameterizedType parameterized) {
+			Class<?> owner = (Class<?>) parameterized.getRawType();
+			if (parameterized.getOwnerType() != null)
+				owner = inner(owner, findOwner(parameterized.getOwnerType()));
+			for (final Type argument : parameterized.getActualTypeArguments())
+				owner = inner(owner, findOwner(argument));
+			return owner;
+		} else if (type instanceof GenericArrayType genericArray) {
+			return findOwner(genericArray.getGenericComponentType());
+		} else if (type instanceof TypeVariable<?> variable) {
+			// The bounds are seen from the declaration, and may refer back to the variable
+			final GenericDeclaration declaration = variable.getGenericDeclaration();
+			return (declaration instanceof Executable executable) ? executable.getDeclaringClass() : (Class<?>) declaration;
+		} else if (type instanceof WildcardType wildcard) {
+			Class<?> owner = Object.class;
+			for (final Type bound : wildcard.getUpperBounds())
+				owner = inner(owner, findOwner(bound));
+			for (final Type bound : wildcard.getLowerBounds())
+				owner = inner(owner, findOwner(bound));
+			return owner;
+		} else {
+			return null;
+		}
+	}
+
+	private static Class<?> inner(final Class<?> first, final Class<?> second) {
+		if (first == null || second == null)
+			return null;
+		if (isAncestor(first.getClassLoader(), second.getClassLoader()))
+			return second;
+		if (isAncestor(second.getClassLoader(), first.getClassLoader()))
+			return first;
+		return null;
+	}
+
+	// Whether the class loader is the ancestor or the same as the other, null being the bootstrap class loader
+	private static boolean isAncestor(final ClassLoader ancestor, final ClassLoader loader) {
+		if (ancestor == null)
+			return true;
+		for (ClassLoader current = loader; current != null; current = current.getParent()) {
+			if (current == ancestor)
+				return true;
+		}
+		return false;
+	}
+
+	private static Type canonicalForm(final Type type) {
+		if (type instanceof ParameterizedType parameterized) {
+			final Type[] arguments = parameterized.getActualTypeArguments();
+			for (int i = 0; i < arguments.length; ++i)
+				arguments[i] = ReflectionUtilities.intern(arguments[i]);
+			final Type ownerType = ReflectionUtilities.intern(parameterized.getOwnerType());
+			return new ParameterizedTypeImpl(ownerType, (Class<?>) parameterized.getRawType(), arguments);
+		} else {
+			final GenericArrayType genericArray = (GenericArrayType) type;
+			return new GenericArrayTypeImpl(ReflectionUtilities.intern(genericArray.getGenericComponentType()));
+		}
+	}
+
+	private static Type nullToNone(final Type type) {
+		return (type != null) ? type : NONE;
+	}
+
+	private static Type noneToNull(final Type type) {
+		return (type != NONE) ? type : null;
+	}
+}
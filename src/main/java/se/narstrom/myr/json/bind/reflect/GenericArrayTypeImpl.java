@@ -8,8 +8,14 @@ public final class GenericArrayTypeImpl implements GenericArrayType {
 
 	private final Type componentType;
 
+	private final int hashCode;
+
+	// Set when the type is interned
+	CanonicalType canonical;
+
 	public GenericArrayTypeImpl(final Type componentType) {
 		this.componentType = componentType;
+		this.hashCode = Objects.hashCode(componentType);
 	}
 
 	@Override
@@ -24,14 +30,16 @@ public final class GenericArrayTypeImpl implements GenericArrayType {
 
 	@Override
 	public boolean equals(final Object otherObject) {
+		if (otherObject == this)
+			return true;
 		if (!(otherObject instanceof GenericArrayType other))
 			return false;
 
-		return Objects.equals(other, other.getGenericComponentType());
+		return Objects.equals(componentType, other.getGenericComponentType());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(componentType);
+		return hashCode;
 	}
 }
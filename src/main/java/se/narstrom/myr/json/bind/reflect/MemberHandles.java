@@ -0,0 +1,98 @@
+package se.narstrom.myr.json.bind.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import jakarta.json.bind.JsonbException;
+
+/**
+ * Turns reflective members into method handles of a uniform shape.
+ *
+ * Access is checked once when the handle is created, instead of on every invocation.
+ */
+public final class MemberHandles {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private MemberHandles() {
+	}
+
+	/**
+	 * @return a handle of type {@code (Object)R}, where {@code R} is the primitive type of the field or {@code Object}
+	 */
+	public static MethodHandle getter(final Field field) {
+		try {
+			return erase(LOOKUP.unreflectGetter(accessible(field)));
+		} catch (final IllegalAccessException ex) {
+			throw new JsonbException(ex.toString(), ex);
+		}
+	}
+
+	/**
+	 * @return a handle of type {@code (Object)R}, where {@code R} is the primitive return type or {@code Object}
+	 */
+	public static MethodHandle getter(final Method method) {
+		try {
+			return erase(LOOKUP.unreflect(accessible(method)));
+		} catch (final IllegalAccessException ex) {
+			throw new JsonbException(ex.toString(), ex);
+		}
+	}
+
+	/**
+	 * @return a handle of type {@code (Object,P)void}, where {@code P} is the primitive type of the field or {@code Object}
+	 */
+	public static MethodHandle setter(final Field field) {
+		try {
+			return erase(LOOKUP.unreflectSetter(accessible(field)));
+		} catch (final IllegalAccessException ex) {
+			throw new JsonbException(ex.toString(), ex);
+		}
+	}
+
+	/**
+	 * @return a handle of type {@code (Object,P)void}, where {@code P} is the primitive parameter type or {@code Object}
+	 */
+	public static MethodHandle setter(final Method method) {
+		try {
+			return erase(LOOKUP.unreflect(accessible(method)).asType(MethodType.methodType(Void.TYPE, method.getDeclaringClass(), method.getParameterTypes()[0])));
+		} catch (final IllegalAccessException ex) {
+			throw new JsonbException(ex.toString(), ex);
+		}
+	}
+
+	/**
+	 * @return a handle of type {@code (Object[])Object} taking all the creator arguments as an array
+	 */
+	public static MethodHandle creator(final Executable creator) {
+		try {
+			final MethodHandle handle = switch (creator) {
+				case Method method -> LOOKUP.unreflect(accessible(method));
+				case Constructor<?> constructor -> LOOKUP.unreflectConstructor(accessible(constructor));
+			};
+			return handle.asSpreader(Object[].class, creator.getParameterCount()).asType(MethodType.methodType(Object.class, Object[].class));
+		} catch (final IllegalAccessException ex) {
+			throw new JsonbException(ex.toString(), ex);
+		}
+	}
+
+	private static <T extends AccessibleObject> T accessible(final T member) {
+		// Public members of public classes does not need this, anything else is allowed to fail here and is reported by the lookup
+		member.trySetAccessible();
+		return member;
+	}
+
+	private static MethodHandle erase(final MethodHandle handle) {
+		final MethodType type = handle.type();
+		return handle.asType(MethodType.methodType(erase(type.returnType()), type.parameterList().stream().map(MemberHandles::erase).toList()));
+	}
+
+	private static Class<?> erase(final Class<?> type) {
+		return type.isPrimitive() ? type : Object.class;
+	}
+}
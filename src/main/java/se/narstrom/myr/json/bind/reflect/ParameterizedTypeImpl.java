@@ -10,10 +10,17 @@ public class ParameterizedTypeImpl implements ParameterizedType {
 	private final Class<?> rawType;
 	private final Type[] arguments;
 
+	// Same as the parameterized types of the JDK, so that the two can be mixed as map keys
+	private final int hashCode;
+
+	// Set when the type is interned
+	CanonicalType canonical;
+
 	public ParameterizedTypeImpl(final Type ownerType, final Class<?> rawType, final Type[] arguments) {
 		this.ownerType = ownerType;
 		this.rawType = rawType;
 		this.arguments = arguments.clone();
+		this.hashCode = Objects.hashCode(ownerType) ^ Objects.hashCode(rawType) ^ Arrays.hashCode(this.arguments);
 	}
 
 	@Override
@@ -33,14 +40,18 @@ public class ParameterizedTypeImpl implements ParameterizedType {
 
 	@Override
 	public final boolean equals(final Object otherObject) {
+		if (otherObject == this)
+			return true;
+		if (otherObject instanceof ParameterizedTypeImpl other)
+			return hashCode == other.hashCode && rawType == other.rawType && Objects.equals(ownerType, other.ownerType) && Arrays.equals(arguments, other.arguments);
 		if (!(otherObject instanceof ParameterizedType other))
 			return false;
-		return Objects.equals(arguments, other.getActualTypeArguments()) && Objects.equals(rawType, other.getRawType()) && Objects.equals(ownerType, other.getOwnerType());
+		return Arrays.equals(arguments, other.getActualTypeArguments()) && Objects.equals(rawType, other.getRawType()) && Objects.equals(ownerType, other.getOwnerType());
 	}
 
 	@Override
 	public final int hashCode() {
-		return Objects.hashCode(ownerType) ^ Objects.hashCode(rawType) ^ Arrays.hashCode(arguments);
+		return hashCode;
 	}
 
 	@Override
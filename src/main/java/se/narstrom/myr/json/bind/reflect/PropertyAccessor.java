@@ -0,0 +1,134 @@
+package se.narstrom.myr.json.bind.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import jakarta.json.bind.JsonbException;
+
+/**
+ * Reads and writes a single bean property through method handles.
+ *
+ * The {@code int}, {@code long}, {@code double} and {@code boolean} getters avoids boxing and may only be used when
+ * {@link #type()} is the matching primitive type.
+ *
+ * @param type   the raw type of the property
+ * @param reader a {@code (Object)R} handle, or {@code null} if the property is not readable
+ * @param writer a {@code (Object,P)void} handle, or {@code null} if the property is not writeable
+ * @param boxedReader {@code reader} adapted to {@code (Object)Object}
+ * @param boxedWriter {@code writer} adapted to {@code (Object,Object)void}
+ */
+public record PropertyAccessor(Class<?> type, MethodHandle reader, MethodHandle writer, MethodHandle boxedReader, MethodHandle boxedWriter) {
+	private static final MethodType BOXED_READER = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType BOXED_WRITER = MethodType.methodType(Void.TYPE, Object.class, Object.class);
+
+	public PropertyAccessor(final Class<?> type, final MethodHandle reader, final MethodHandle writer) {
+		this(type, reader, writer, (reader != null) ? reader.asType(BOXED_READER) : null, (writer != null) ? writer.asType(BOXED_WRITER) : null);
+	}
+
+	public static PropertyAccessor of(final Field field, final Method getter, final Method setter) {
+		final MethodHandle reader;
+		if (getter != null)
+			reader = MemberHandles.getter(getter);
+		else if (field != null)
+			reader = MemberHandles.getter(field);
+		else
+			reader = null;
+
+		final MethodHandle writer;
+		if (setter != null)
+			writer = MemberHandles.setter(setter);
+		else if (field != null && !Modifier.isFinal(field.getModifiers()))
+			writer = MemberHandles.setter(field);
+		else
+			writer = null;
+
+		final Class<?> type;
+		if (field != null)
+			type = field.getType();
+		else if (getter != null)
+			type = getter.getReturnType();
+		else
+			type = setter.getParameterTypes()[0];
+
+		return new PropertyAccessor(type, reader, writer);
+	}
+
+	public boolean isReadable() {
+		return reader != null;
+	}
+
+	public boolean isWriteable() {
+		return writer != null;
+	}
+
+	public Object get(final Object bean) {
+		if (boxedReader == null)
+			throw new JsonbException("property is not readable");
+		try {
+			return boxedReader.invokeExact(bean);
+		} catch (final Throwable ex) {
+			throw wrap(ex);
+		}
+	}
+
+	public int getInt(final Object bean) {
+		if (reader == null)
+			throw new JsonbException("property is not readable");
+		try {
+			return (int) reader.invokeExact(bean);
+		} catch (final Throwable ex) {
+			throw wrap(ex);
+		}
+	}
+
+	public long getLong(final Object bean) {
+		if (reader == null)
+			throw new JsonbException("property is not readable");
+		try {
+			return (long) reader.invokeExact(bean);
+		} catch (final Throwable ex) {
+			throw wrap(ex);
+		}
+	}
+
+	public double getDouble(final Object bean) {
+		if (reader == null)
+			throw new JsonbException("property is not readable");
+		try {
+			return (double) reader.invokeExact(bean);
+		} catch (final Throwable ex) {
+			throw wrap(ex);
+		}
+	}
+
+	public boolean getBoolean(final Object bean) {
+		if (reader == null)
+			throw new JsonbException("property is not readable");
+		try {
+			return (boolean) reader.invokeExact(bean);
+		} catch (final Throwable ex) {
+			throw wrap(ex);
+		}
+	}
+
+	public void set(final Object bean, final Object value) {
+		if (boxedWriter == null)
+			throw new JsonbException("property is not writeable");
+		try {
+			boxedWriter.invokeExact(bean, value);
+		} catch (final Throwable ex) {
+			throw wrap(ex);
+		}
+	}
+
+	private static RuntimeException wrap(final Throwable ex) {
+		if (ex instanceof Error error)
+			throw error;
+		if (ex instanceof JsonbException jsonbEx)
+			return jsonbEx;
+		return new JsonbException(ex.toString(), ex);
+	}
+}
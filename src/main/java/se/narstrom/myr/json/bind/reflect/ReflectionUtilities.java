@@ -9,6 +9,12 @@ import java.util.Arrays;
 
 import jakarta.json.bind.JsonbException;
 
+/**
+ * Type algebra on reflected types.
+ *
+ * The results for classes, parameterized types and generic array types are memoized per type, and the types returned
+ * are interned, see {@link #intern(Type)}.
+ */
 public final class ReflectionUtilities {
 	private ReflectionUtilities() {
 	}
@@ -17,10 +23,17 @@ public final class ReflectionUtilities {
 		if (type == null)
 			return null;
 
+		if (CanonicalType.isSupported(type))
+			return CanonicalType.of(type).ancestor(rawAncestor);
+
+		return computeAncestorType(type, rawAncestor);
+	}
+
+	static Type computeAncestorType(final Type type, final Class<?> rawAncestor) {
 		if (getRawType(type) == rawAncestor)
 			return type;
 
-		for (final Type interfaceType : getInterfaces(type)) {
+		for (final Type interfaceType : interfaces(type)) {
 			if (rawAncestor == getRawType(interfaceType))
 				return interfaceType;
 
@@ -43,9 +56,19 @@ public final class ReflectionUtilities {
 	}
 
 	public static Type[] getInterfaces(final Type type) {
+		return interfaces(type).clone();
+	}
+
+	private static Type[] interfaces(final Type type) {
+		if (CanonicalType.isSupported(type))
+			return CanonicalType.of(type).interfaces();
+		return computeInterfaces(type);
+	}
+
+	static Type[] computeInterfaces(final Type type) {
 		final Class<?> rawType = getRawType(type);
 		final TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
-		final Type[] typeArguments = getTypeArguments(type);
+		final Type[] typeArguments = typeArguments(type);
 
 		if (typeArguments.length == 0)
 			return rawType.getGenericInterfaces();
@@ -89,6 +112,12 @@ public final class ReflectionUtilities {
 	}
 
 	public static Type getSuperType(final Type type) {
+		if (CanonicalType.isSupported(type))
+			return CanonicalType.of(type).superType();
+		return computeSuperType(type);
+	}
+
+	static Type computeSuperType(final Type type) {
 		final Class<?> rawType = getRawType(type);
 		final Type superType = rawType.getGenericSuperclass();
 
@@ -99,6 +128,23 @@ public final class ReflectionUtilities {
 	}
 
 	public static Type[] getTypeArguments(final Type type) {
+		return typeArguments(type).clone();
+	}
+
+	/**
+	 * Same as {@code getTypeArguments(type)[index]}, without copying the arguments.
+	 */
+	public static Type getTypeArgument(final Type type, final int index) {
+		return typeArguments(type)[index];
+	}
+
+	private static Type[] typeArguments(final Type type) {
+		if (CanonicalType.isSupported(type))
+			return CanonicalType.of(type).typeArguments();
+		return computeTypeArguments(type);
+	}
+
+	static Type[] computeTypeArguments(final Type type) {
 		if (type instanceof ParameterizedType parameterized) {
 			return parameterized.getActualTypeArguments();
 		} else if (type instanceof Class<?> clazz) {
@@ -110,12 +156,34 @@ public final class ReflectionUtilities {
 		}
 	}
 
+	/**
+	 * @return the class of the type with the innermost class loader, which has the class loaders of all the other
+	 *         classes of the type as ancestors, or {@code null} if the class loaders are unrelated. A cache of the type
+	 *         held by the class keeps no class loader reachable that the class does not already keep reachable.
+	 */
+	public static Class<?> getOwner(final Type type) {
+		if (CanonicalType.isSupported(type))
+			return CanonicalType.of(type).owner();
+		return CanonicalType.findOwner(type);
+	}
+
 	public static TypeVariable<?>[] getTypeParameters(final Type type) {
 		return getRawType(type).getTypeParameters();
 	}
 
+	/**
+	 * @return the shared instance of types equal to the type, for classes, parameterized types and generic array types
+	 */
+	public static Type intern(final Type type) {
+		if (CanonicalType.isSupported(type))
+			return CanonicalType.of(type).type();
+		return type;
+	}
+
 	public static Type resolveType(final Type type, final Type reference) {
-		return resolveType(type, getTypeParameters(reference), getTypeArguments(reference));
+		if (CanonicalType.isSupported(reference))
+			return CanonicalType.of(reference).resolve(type);
+		return resolveType(type, getTypeParameters(reference), typeArguments(reference));
 	}
 
 	public static Type resolveType(final Type type, final TypeVariable<?>[] parameters, final Type[] arguments) {
@@ -124,7 +192,7 @@ public final class ReflectionUtilities {
 
 		} else if (type instanceof GenericArrayType genericArray) {
 			final Type componentType = genericArray.getGenericComponentType();
-			return new GenericArrayTypeImpl(resolveType(componentType, parameters, arguments));
+			return intern(new GenericArrayTypeImpl(resolveType(componentType, parameters, arguments)));
 
 		} else if (type instanceof ParameterizedType parameterized) {
 			final Type[] typeArguments = parameterized.getActualTypeArguments();
@@ -134,7 +202,7 @@ public final class ReflectionUtilities {
 						typeArguments[i] = arguments[j];
 				}
 			}
-			return new ParameterizedTypeImpl(parameterized.getOwnerType(), (Class<?>) parameterized.getRawType(), typeArguments);
+			return intern(new ParameterizedTypeImpl(parameterized.getOwnerType(), (Class<?>) parameterized.getRawType(), typeArguments));
 
 		} else if (type instanceof TypeVariable<?> typeVariable) {
 			for (int i = 0; i < parameters.length; ++i) {
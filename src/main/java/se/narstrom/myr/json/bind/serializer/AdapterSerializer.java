@@ -22,7 +22,7 @@ public final class AdapterSerializer<O, A> implements JsonbSerializer<O>, JsonbD
 	@Override
 	public O deserialize(final JsonParser parser, final DeserializationContext context, final Type type) {
 		final Type adapterType = ReflectionUtilities.getAncestorType(adapter.getClass(), JsonbAdapter.class);
-		final Type adaptedType = ReflectionUtilities.getTypeArguments(adapterType)[1];
+		final Type adaptedType = ReflectionUtilities.getTypeArgument(adapterType, 1);
 
 		final A adapted = context.deserialize(adaptedType, parser);
 		try {
@@ -2,7 +2,9 @@ package se.narstrom.myr.json.bind.serializer;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import jakarta.json.bind.JsonbException;
@@ -13,15 +15,28 @@ import jakarta.json.bind.serializer.SerializationContext;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.bind.MyrJsonbContext;
 import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
+import se.narstrom.myr.json.bind.serializer.basic.BooleanSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.ByteSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.CharacterSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.DoubleSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.FloatSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.IntegerSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.LongSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.ShortSerializer;
 
 public final class ArraySerializer implements JsonbSerializer<Object>, JsonbDeserializer<Object> {
+	private static final int INITIAL_CAPACITY = 16;
 
 	@Override
 	public void serialize(final Object object, final JsonGenerator generator, final SerializationContext context) {
 		if (!object.getClass().isArray())
 			throw new JsonbException("Expected an array, got object of type: " + object.getClass().getTypeName());
 
+		if (object.getClass().componentType().isPrimitive() && serializePrimitive(object, generator, (MyrJsonbContext) context))
+			return;
+
 		generator.writeStartArray();
 
 		for (int i = 0; i < Array.getLength(object); ++i) {
@@ -38,6 +53,13 @@ public final class ArraySerializer implements JsonbSerializer<Object>, JsonbDese
 			throw new JsonbException("Expected an array, got type: " + type.getTypeName());
 
 		final Type componentType = ReflectionUtilities.getComponentType(type);
+
+		if (componentType instanceof Class<?> componentClass && componentClass.isPrimitive()) {
+			final Object array = deserializePrimitive(parser, componentClass, (MyrJsonbContext) context);
+			if (array != null)
+				return array;
+		}
+
 		final List<Object> elements = new ArrayList<>();
 
 		while (parser.next() != Event.END_ARRAY) {
@@ -55,4 +77,203 @@ public final class ArraySerializer implements JsonbSerializer<Object>, JsonbDese
 
 		return array;
 	}
+
+	/**
+	 * Writes primitive arrays without boxing, when the element type is handled by the built in serializer.
+	 *
+	 * @return {@code false} if the array has to be written element by element
+	 */
+	private boolean serializePrimitive(final Object object, final JsonGenerator generator, final MyrJsonbContext context) {
+		switch (object) {
+			case boolean[] array when context.findSerializer(Boolean.class) instanceof BooleanSerializer -> {
+				generator.writeStartArray();
+				for (final boolean value : array)
+					generator.write(value);
+				generator.writeEnd();
+			}
+			case byte[] array when context.findSerializer(Byte.class) instanceof ByteSerializer -> {
+				generator.writeStartArray();
+				for (final byte value : array)
+					generator.write(value);
+				generator.writeEnd();
+			}
+			case char[] array when context.findSerializer(Character.class) instanceof CharacterSerializer -> {
+				generator.writeStartArray();
+				for (final char value : array)
+					generator.write(String.valueOf(value));
+				generator.writeEnd();
+			}
+			case short[] array when context.findSerializer(Short.class) instanceof ShortSerializer -> {
+				generator.writeStartArray();
+				for (final short value : array)
+					generator.write(value);
+				generator.writeEnd();
+			}
+			case int[] array when context.findSerializer(Integer.class) instanceof IntegerSerializer -> {
+				generator.writeStartArray();
+				for (final int value : array)
+					generator.write(value);
+				generator.writeEnd();
+			}
+			case long[] array when context.findSerializer(Long.class) instanceof LongSerializer -> {
+				generator.writeStartArray();
+				for (final long value : array)
+					generator.write(value);
+				generator.writeEnd();
+			}
+			case float[] array when context.findSerializer(Float.class) instanceof FloatSerializer -> {
+				generator.writeStartArray();
+				for (final float value : array)
+					generator.write(new BigDecimal(Float.toString(value)));
+				generator.writeEnd();
+			}
+			case double[] array when context.findSerializer(Double.class) instanceof DoubleSerializer -> {
+				generator.writeStartArray();
+				for (final double value : array)
+					generator.write(value);
+				generator.writeEnd();
+			}
+			default -> {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads primitive arrays into a growing array of the component type, when the element type is handled by the built
+	 * in deserializer.
+	 *
+	 * @return {@code null} if the array has to be read element by element
+	 */
+	private Object deserializePrimitive(final JsonParser parser, final Class<?> componentClass, final MyrJsonbContext context) {
+		final JsonbDeserializer<?> deserializer = context.findDeserializer(componentClass);
+
+		if (componentClass == Boolean.TYPE && deserializer instanceof BooleanSerializer)
+			return deserializeBooleans(parser);
+		if (componentClass == Byte.TYPE && deserializer instanceof ByteSerializer)
+			return deserializeBytes(parser);
+		if (componentClass == Character.TYPE && deserializer instanceof CharacterSerializer)
+			return deserializeChars(parser);
+		if (componentClass == Short.TYPE && deserializer instanceof ShortSerializer)
+			return deserializeShorts(parser);
+		if (componentClass == Integer.TYPE && deserializer instanceof IntegerSerializer)
+			return deserializeInts(parser);
+		if (componentClass == Long.TYPE && deserializer instanceof LongSerializer)
+			return deserializeLongs(parser);
+		if (componentClass == Float.TYPE && deserializer instanceof FloatSerializer)
+			return deserializeFloats(parser);
+		if (componentClass == Double.TYPE && deserializer instanceof DoubleSerializer)
+			return deserializeDoubles(parser);
+		return null;
+	}
+
+	private static boolean[] deserializeBooleans(final JsonParser parser) {
+		boolean[] array = new boolean[INITIAL_CAPACITY];
+		int size = 0;
+		Event event;
+		while ((event = parser.next()) != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			array[size++] = switch (event) {
+				case VALUE_TRUE -> true;
+				case VALUE_FALSE -> false;
+				default -> throw new JsonbException("Not a boolean");
+			};
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static byte[] deserializeBytes(final JsonParser parser) {
+		byte[] array = new byte[INITIAL_CAPACITY];
+		int size = 0;
+		while (parser.next() != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			requireNumber(parser);
+			array[size++] = (byte) parser.getInt();
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static char[] deserializeChars(final JsonParser parser) {
+		char[] array = new char[INITIAL_CAPACITY];
+		int size = 0;
+		while (parser.next() != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			if (parser.currentEvent() != Event.VALUE_STRING)
+				throw new JsonbException("Not a string");
+			final String value = parser.getString();
+			if (value.length() != 1)
+				throw new JsonbException("Length of string not 1");
+			array[size++] = value.charAt(0);
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static short[] deserializeShorts(final JsonParser parser) {
+		short[] array = new short[INITIAL_CAPACITY];
+		int size = 0;
+		while (parser.next() != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			requireNumber(parser);
+			array[size++] = (short) parser.getInt();
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static int[] deserializeInts(final JsonParser parser) {
+		int[] array = new int[INITIAL_CAPACITY];
+		int size = 0;
+		while (parser.next() != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			requireNumber(parser);
+			array[size++] = parser.getInt();
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static long[] deserializeLongs(final JsonParser parser) {
+		long[] array = new long[INITIAL_CAPACITY];
+		int size = 0;
+		while (parser.next() != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			requireNumber(parser);
+			array[size++] = parser.getLong();
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static float[] deserializeFloats(final JsonParser parser) {
+		float[] array = new float[INITIAL_CAPACITY];
+		int size = 0;
+		while (parser.next() != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			requireNumber(parser);
+			array[size++] = parser.getBigDecimal().floatValue();
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static double[] deserializeDoubles(final JsonParser parser) {
+		double[] array = new double[INITIAL_CAPACITY];
+		int size = 0;
+		while (parser.next() != Event.END_ARRAY) {
+			if (size == array.length)
+				array = Arrays.copyOf(array, size * 2);
+			requireNumber(parser);
+			array[size++] = parser.getBigDecimal().doubleValue();
+		}
+		return Arrays.copyOf(array, size);
+	}
+
+	private static void requireNumber(final JsonParser parser) {
+		if (parser.currentEvent() != Event.VALUE_NUMBER)
+			throw new JsonbException("Not a number: " + parser.currentEvent());
+	}
 }
@@ -0,0 +1,54 @@
+package se.narstrom.myr.json.bind.serializer;
+
+import java.lang.reflect.Type;
+import java.util.Base64;
+
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.config.BinaryDataStrategy;
+import jakarta.json.bind.serializer.DeserializationContext;
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+
+// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#binary-data
+public final class BinaryDataSerializer implements JsonbSerializer<byte[]>, JsonbDeserializer<byte[]> {
+	private final Base64.Encoder encoder;
+
+	private final Base64.Decoder decoder;
+
+	private BinaryDataSerializer(final Base64.Encoder encoder, final Base64.Decoder decoder) {
+		this.encoder = encoder;
+		this.decoder = decoder;
+	}
+
+	/**
+	 * @return the serializer for the strategy, or {@code null} for {@link BinaryDataStrategy#BYTE}
+	 */
+	public static BinaryDataSerializer of(final String strategy) {
+		return switch (strategy) {
+			case BinaryDataStrategy.BYTE -> null;
+			case BinaryDataStrategy.BASE_64 -> new BinaryDataSerializer(Base64.getEncoder(), Base64.getDecoder());
+			case BinaryDataStrategy.BASE_64_URL -> new BinaryDataSerializer(Base64.getUrlEncoder(), Base64.getUrlDecoder());
+			default -> throw new JsonbException("Unknown binary data strategy: " + strategy);
+		};
+	}
+
+	@Override
+	public byte[] deserialize(final JsonParser parser, final DeserializationContext context, final Type type) {
+		if (parser.currentEvent() != Event.VALUE_STRING)
+			throw new JsonbException("Expected a string found " + parser.currentEvent());
+		try {
+			return decoder.decode(parser.getString());
+		} catch (final IllegalArgumentException ex) {
+			throw new JsonbException(ex.getMessage(), ex);
+		}
+	}
+
+	@Override
+	public void serialize(final byte[] data, final JsonGenerator generator, final SerializationContext context) {
+		generator.write(encoder.encodeToString(data));
+	}
+}
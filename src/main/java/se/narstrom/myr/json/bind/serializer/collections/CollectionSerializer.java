@@ -80,8 +80,8 @@ public final class CollectionSerializer implements JsonbSerializer<Collection<?>
 	private Type findElementType(final Type type) {
 		final Type genericCollection = ReflectionUtilities.getAncestorType(type, Collection.class);
 
-		if (genericCollection instanceof ParameterizedType parameterized) {
-			return ReflectionUtilities.resolveType(parameterized.getActualTypeArguments()[0], type);
+		if (genericCollection instanceof ParameterizedType) {
+			return ReflectionUtilities.resolveType(ReflectionUtilities.getTypeArgument(genericCollection, 0), type);
 		} else {
 			return Object.class;
 		}
@@ -0,0 +1,48 @@
+package se.narstrom.myr.json.bind.serializer.collections;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.BaseStream;
+
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+import se.narstrom.myr.json.bind.MyrJsonbContext;
+
+/**
+ * Writes {@link Iterable}, {@link Iterator}, {@link Spliterator} and stream sources as arrays, pulling one element at a
+ * time.
+ *
+ * The source is never collected, and if set, the generator is flushed every
+ * {@link se.narstrom.myr.json.bind.MyrJsonbConfig#STREAM_FLUSH_THRESHOLD} bytes. The source is not closed.
+ */
+public final class IterableSerializer implements JsonbSerializer<Object> {
+
+	@Override
+	public void serialize(final Object obj, final JsonGenerator generator, final SerializationContext ctx) {
+		final Iterator<?> iterator = switch (obj) {
+			case Iterable<?> iterable -> iterable.iterator();
+			case Iterator<?> it -> it;
+			case Spliterator<?> spliterator -> Spliterators.iterator(spliterator);
+			case BaseStream<?, ?> stream -> stream.iterator();
+			default -> throw new JsonbException("Not an iterable source: " + obj.getClass().getTypeName());
+		};
+
+		final MyrJsonbContext context = (MyrJsonbContext) ctx;
+		final int threshold = context.getSettings().streamFlushThreshold();
+		long flushed = context.getOutputCount();
+		final boolean flushing = threshold > 0 && flushed >= 0;
+
+		generator.writeStartArray();
+		while (iterator.hasNext()) {
+			ctx.serialize(iterator.next(), generator);
+			if (flushing && context.getOutputCount() - flushed >= threshold) {
+				generator.flush();
+				flushed = context.getOutputCount();
+			}
+		}
+		generator.writeEnd();
+	}
+}
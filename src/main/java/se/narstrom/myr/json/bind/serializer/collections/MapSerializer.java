@@ -25,13 +25,8 @@ public final class MapSerializer implements JsonbSerializer<Map<String, ?>>, Jso
 	public Map<String, ?> deserialize(final JsonParser parser, final DeserializationContext context, final Type type) {
 		final Class<?> clazz = ReflectionUtilities.getRawType(type);
 
-		final Type[] keyAndValueTypes = getKeyAndValueTypes(type);
-		if (keyAndValueTypes == null)
-			throw new JsonbException("Not a map?");
-
-		assert keyAndValueTypes.length == 2;
-		final Type keyType = keyAndValueTypes[0];
-		final Type valueType = keyAndValueTypes[1];
+		final Type keyType = getTypeArgument(type, 0);
+		final Type valueType = getTypeArgument(type, 1);
 
 //		if (keyType  != String.class)
 //			throw new JsonbException("Map keys most be String, is " + keyType);
@@ -77,13 +72,14 @@ public final class MapSerializer implements JsonbSerializer<Map<String, ?>>, Jso
 			throw new JsonbException("Unsupported interface type " + type);
 	}
 
-	private Type[] getKeyAndValueTypes(final Type type) {
+	// The key type at index 0 and the value type at index 1
+	private Type getTypeArgument(final Type type, final int index) {
 		final Type genericMap = ReflectionUtilities.getAncestorType(type, Map.class);
 
-		if (genericMap instanceof ParameterizedType parameterized) {
-			return parameterized.getActualTypeArguments();
+		if (genericMap instanceof ParameterizedType) {
+			return ReflectionUtilities.getTypeArgument(genericMap, index);
 		} else {
-			return new Type[] { Object.class, Object.class };
+			return Object.class;
 		}
 	}
 }
@@ -0,0 +1,441 @@
+package se.narstrom.myr.json.bind.serializer.defaults;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.annotation.JsonbCreator;
+import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.json.bind.annotation.JsonbSubtype;
+import jakarta.json.bind.annotation.JsonbTransient;
+import jakarta.json.bind.annotation.JsonbTypeInfo;
+import se.narstrom.myr.json.bind.metrics.JsonbMetricsListener;
+import se.narstrom.myr.json.bind.reflect.MemberHandles;
+import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
+
+/**
+ * Reflective metadata of a bean type, built once per resolved type and shared between all Jsonb instances.
+ *
+ * The serialization and deserialization halves are built lazily and independently, a type that is only ever
+ * serialized does not need a creator.
+ */
+public final class BeanModel {
+
+	// Keyed on the owner of the type, see ReflectionUtilities.getOwner, so that a model is dropped when any class of its
+	// type can be unloaded
+	private static final ClassValue<ConcurrentMap<Type, BeanModel>> MODELS = new ClassValue<>() {
+		@Override
+		protected ConcurrentMap<Type, BeanModel> computeValue(final Class<?> clazz) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final Type type;
+
+	private final Class<?> rawType;
+
+	private final JsonbTypeInfo typeInfo;
+
+	private final Map<String, Class<?>> subtypes;
+
+	private volatile Serialization serialization;
+
+	private volatile Deserialization deserialization;
+
+	private BeanModel(final Type type) {
+		this.type = type;
+		this.rawType = ReflectionUtilities.getRawType(type);
+		this.typeInfo = rawType.getAnnotation(JsonbTypeInfo.class);
+		this.subtypes = (typeInfo != null) ? findSubtypes(typeInfo) : Map.of();
+	}
+
+	public static BeanModel of(final Type type) {
+		final Class<?> owner = ReflectionUtilities.getOwner(type);
+		// Not cached, the classes of the type have unrelated class loaders
+		if (owner == null)
+			return new BeanModel(type);
+
+		final ConcurrentMap<Type, BeanModel> models = MODELS.get(owner);
+
+		final BeanModel model = models.get(type);
+		if (model != null)
+			return model;
+
+		return models.computeIfAbsent(type, BeanModel::new);
+	}
+
+	public Type type() {
+		return type;
+	}
+
+	public Class<?> rawType() {
+		return rawType;
+	}
+
+	/**
+	 * @return the {@link JsonbTypeInfo} declared directly on this type, or {@code null}
+	 */
+	public JsonbTypeInfo typeInfo() {
+		return typeInfo;
+	}
+
+	public Class<?> findSubtype(final String alias) {
+		if (!subtypes.containsKey(alias))
+			throw new JsonbException("Not subtype found");
+
+		final Class<?> subtype = subtypes.get(alias);
+		if (subtype == null)
+			throw new JsonbException("Multiple potential subtypes");
+
+		return subtype;
+	}
+
+	public Serialization serialization() {
+		return serialization(null);
+	}
+
+	/**
+	 * @param metrics notified if the model is built by this call, or {@code null}
+	 */
+	public Serialization serialization(final JsonbMetricsListener metrics) {
+		Serialization result = serialization;
+		if (result == null) {
+			// Racing threads builds equal models, last one wins
+			final SequencedMap<String, OldProperty> properties = Properties.getProperties(rawType);
+			result = new Serialization(findDiscriminators(rawType, properties.keySet()), List.copyOf(properties.values()));
+			serialization = result;
+			if (metrics != null)
+				metrics.beanModelBuilt(type);
+		}
+		return result;
+	}
+
+	public Deserialization deserialization() {
+		return deserialization(null);
+	}
+
+	/**
+	 * @param metrics notified if the model is built by this call, or {@code null}
+	 */
+	public Deserialization deserialization(final JsonbMetricsListener metrics) {
+		Deserialization result = deserialization;
+		if (result == null) {
+			validatePolymorphicType(rawType);
+			final Executable creator = findCreator(rawType);
+			result = new Deserialization(creator, MemberHandles.creator(creator), findCreatorProperties(type, creator), findWriteableProperties(type, rawType));
+			deserialization = result;
+			if (metrics != null)
+				metrics.beanModelBuilt(type);
+		}
+		return result;
+	}
+
+	/**
+	 * Whether the class declares a creator or a public or protected no-args constructor, without validating it. A class
+	 * without one can still be serialized.
+	 */
+	public static boolean hasCreator(final Class<?> clazz) {
+		for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+			if (constructor.isAnnotationPresent(JsonbCreator.class))
+				return true;
+			if ((Modifier.isPublic(constructor.getModifiers()) || Modifier.isProtected(constructor.getModifiers())) && constructor.getParameterCount() == 0)
+				return true;
+		}
+		for (final Method method : clazz.getDeclaredMethods()) {
+			if (method.isAnnotationPresent(JsonbCreator.class))
+				return true;
+		}
+		return false;
+	}
+
+	public record Discriminator(String key, String alias) {
+	}
+
+	public record Serialization(List<Discriminator> discriminators, List<OldProperty> properties) {
+	}
+
+	public record Deserialization(Executable creator, MethodHandle instantiator, SequencedMap<String, CreatorProperty> creatorProperties, Map<String, WriteableProperty> properties) {
+		public Object instantiate(final Object[] arguments) {
+			try {
+				return instantiator.invokeExact(arguments);
+			} catch (final JsonbException ex) {
+				throw ex;
+			} catch (final Error ex) {
+				throw ex;
+			} catch (final Throwable ex) {
+				throw new JsonbException("Reflective operation error", ex);
+			}
+		}
+	}
+
+	private static Map<String, Class<?>> findSubtypes(final JsonbTypeInfo typeInfo) {
+		final Map<String, Class<?>> subtypes = new HashMap<>();
+		for (final JsonbSubtype subtype : typeInfo.value()) {
+			// A null value marks an ambiguous alias
+			if (subtypes.containsKey(subtype.alias()))
+				subtypes.put(subtype.alias(), null);
+			else
+				subtypes.put(subtype.alias(), subtype.type());
+		}
+		return Collections.unmodifiableMap(subtypes);
+	}
+
+	private static List<Discriminator> findDiscriminators(final Class<?> clazz, final Set<String> propertyNames) {
+		final Set<String> keys = new HashSet<>();
+		final List<Discriminator> discriminators = new ArrayList<>();
+
+		for (final JsonbTypeInfo info : getTypeInfos(clazz)) {
+			String value = null;
+
+			if (!keys.add(info.key()))
+				throw new JsonbException("Name conflict");
+
+			for (final JsonbSubtype subtype : info.value()) {
+				final Class<?> type = subtype.type();
+				if (type.isAssignableFrom(clazz)) {
+					if (value != null)
+						throw new JsonbException("Multiple subtypes are compatible with concrete type");
+					value = subtype.alias();
+				}
+			}
+
+			if (value != null)
+				discriminators.add(new Discriminator(info.key(), value));
+		}
+
+		for (final String propertyName : propertyNames) {
+			if (keys.contains(propertyName))
+				throw new JsonbException("Name conflict");
+		}
+
+		return List.copyOf(discriminators);
+	}
+
+	private static List<JsonbTypeInfo> getTypeInfos(final Class<?> clazz) {
+		Class<?> parent = null;
+
+		final Class<?> superClazz = clazz.getSuperclass();
+		if (superClazz != null) {
+			if (superClazz.isAnnotationPresent(JsonbTypeInfo.class))
+				parent = superClazz;
+		}
+
+		for (final Class<?> iface : clazz.getInterfaces()) {
+			if (!iface.isAnnotationPresent(JsonbTypeInfo.class))
+				continue;
+			if (parent != null)
+				throw new JsonbException("Multiple polymorphic parents");
+			parent = iface;
+		}
+
+		final List<JsonbTypeInfo> typeInfos = new ArrayList<>();
+		if (parent != null)
+			typeInfos.addAll(getTypeInfos(parent));
+
+		final JsonbTypeInfo typeInfo = clazz.getAnnotation(JsonbTypeInfo.class);
+		if (typeInfo != null) {
+			for (JsonbSubtype subtype : typeInfo.value()) {
+				if (!clazz.isAssignableFrom(subtype.type()))
+					throw new JsonbException("Invalid subtype, not a subclass");
+			}
+			typeInfos.add(typeInfo);
+		}
+
+		return typeInfos;
+	}
+
+	private static void validatePolymorphicType(final Class<?> type) {
+		Class<?> parent = null;
+
+		final Class<?> superClass = type.getSuperclass();
+		if (superClass != null && superClass.isAnnotationPresent(JsonbTypeInfo.class))
+			parent = superClass;
+
+		for (final Class<?> iface : type.getInterfaces()) {
+			if (iface.isAnnotationPresent(JsonbTypeInfo.class)) {
+				if (parent != null)
+					throw new JsonbException("Invalid polymorphic type, multiple parents");
+				parent = iface;
+			}
+		}
+	}
+
+	private static Executable findCreator(final Class<?> clazz) {
+		Executable creator = null;
+
+		for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+			if (!constructor.isAnnotationPresent(JsonbCreator.class))
+				continue;
+			if (!Modifier.isPublic(constructor.getModifiers()) && !Modifier.isProtected(constructor.getModifiers()))
+				throw new JsonbException("Creator most be public or protected");
+			if (creator != null)
+				throw new JsonbException("Only one creatior is allowed");
+			creator = constructor;
+		}
+
+		for (final Method method : clazz.getDeclaredMethods()) {
+			if (!method.isAnnotationPresent(JsonbCreator.class))
+				continue;
+			if (!Modifier.isPublic(method.getModifiers()) && !Modifier.isProtected(method.getModifiers()))
+				throw new JsonbException("Creator most be public or protected");
+			if (!Modifier.isStatic(method.getModifiers()))
+				throw new JsonbException("Creator method most be static");
+			if (method.getReturnType() != clazz)
+				throw new JsonbException("Creator method most return an instance of contained class");
+			if (creator != null)
+				throw new JsonbException("Only on creator is allowed");
+			creator = method;
+		}
+
+		if (creator == null) {
+			for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+				if (!Modifier.isPublic(constructor.getModifiers()) && !Modifier.isProtected(constructor.getModifiers()))
+					continue;
+				if (constructor.getParameterCount() != 0)
+					continue;
+				creator = constructor;
+			}
+		}
+
+		if (creator == null)
+			throw new JsonbException("No public or protected no-args constructor");
+
+		return creator;
+	}
+
+	private static SequencedMap<String, CreatorProperty> findCreatorProperties(final Type beanType, final Executable creator) {
+		final SequencedMap<String, CreatorProperty> properties = new LinkedHashMap<>();
+
+		int index = 0;
+		for (final Parameter parameter : creator.getParameters()) {
+			final JsonbProperty annotation = parameter.getAnnotation(JsonbProperty.class);
+
+			final String name;
+			if (annotation != null)
+				name = annotation.value();
+			else
+				name = parameter.getName();
+
+			if (properties.put(name, new CreatorProperty(beanType, creator, parameter, index++)) != null)
+				throw new JsonbException("Duplicate property name");
+		}
+
+		return Collections.unmodifiableSequencedMap(properties);
+	}
+
+	private static Map<String, WriteableProperty> findWriteableProperties(final Type beanType, final Class<?> beanClazz) {
+		final Map<String, WriteableProperty> properties;
+
+		final Type superType = ReflectionUtilities.getSuperType(beanType);
+		final Class<?> superClazz = beanClazz.getSuperclass();
+		if (superClazz != null && superClazz != Object.class)
+			properties = new HashMap<>(findWriteableProperties(superType, superClazz));
+		else
+			properties = new HashMap<>();
+
+		final Map<String, Field> fields = new HashMap<>();
+		for (final Field field : beanClazz.getDeclaredFields()) {
+			if (field.isSynthetic())
+				continue;
+			fields.put(field.getName(), field);
+		}
+
+		final Map<String, Method> setters = new HashMap<>();
+		for (final Method method : beanClazz.getDeclaredMethods()) {
+			if (method.isSynthetic() || method.isBridge())
+				continue;
+
+			if (method.getParameterCount() != 1)
+				continue;
+
+			final String methodName = method.getName();
+			if (!methodName.startsWith("set") || !Character.isUpperCase(methodName.codePointAt(3)))
+				continue;
+
+			final int firstCodePoint = methodName.codePointAt(3);
+			final String rest = (firstCodePoint > 0xFFFF) ? methodName.substring(5) : methodName.substring(4);
+			final String name = Character.toString(Character.toLowerCase(firstCodePoint)) + rest;
+
+			setters.put(name, method);
+		}
+
+		final Set<String> names = new HashSet<>();
+		names.addAll(fields.keySet());
+		names.addAll(setters.keySet());
+
+		final Map<String, WriteableProperty> localProperties = new HashMap<>();
+
+		for (final String name : names) {
+			final Field field = fields.get(name);
+			final Method setter = setters.get(name);
+			String propertyName = null;
+
+			if ((field != null && field.isAnnotationPresent(JsonbTransient.class)) || (setter != null && setter.isAnnotationPresent(JsonbTransient.class)))
+				continue;
+
+			if (field != null) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers))
+					continue;
+
+				final JsonbProperty annotation = field.getAnnotation(JsonbProperty.class);
+				if (annotation != null)
+					propertyName = annotation.value();
+			}
+
+			if (setter != null) {
+				final int modifiers = setter.getModifiers();
+				if (Modifier.isStatic(modifiers))
+					continue;
+
+				final JsonbProperty annotation = setter.getAnnotation(JsonbProperty.class);
+				if (annotation != null) {
+					if (propertyName != null && !propertyName.equals(annotation.value()))
+						throw new JsonbException("Conflicting annotations for property " + name);
+					propertyName = annotation.value();
+				}
+			}
+
+			if (propertyName == null)
+				propertyName = name;
+
+			final WriteableProperty property;
+			if (setter != null) {
+				if (Modifier.isPublic(setter.getModifiers()))
+					property = new SetterProperty(beanType, setter);
+				else
+					continue;
+			} else if (field != null && Modifier.isPublic(field.getModifiers())) {
+				property = new FieldProperty(beanType, field);
+			} else {
+				continue;
+			}
+
+			if (localProperties.containsKey(propertyName))
+				throw new JsonbException("Duplicate property name " + propertyName + ": " + properties.get(propertyName) + " vs " + property);
+
+			localProperties.put(propertyName, property);
+		}
+
+		properties.putAll(localProperties);
+
+		return Collections.unmodifiableMap(properties);
+	}
+}
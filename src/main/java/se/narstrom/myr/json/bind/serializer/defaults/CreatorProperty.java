@@ -1,27 +1,18 @@
 package se.narstrom.myr.json.bind.serializer.defaults;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Executable;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 
 import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
 
-public record CreatorProperty(Type beanType, Executable creator, int index) implements Property {
-	@Override
-	public Type type() {
-		return ReflectionUtilities.resolveType(creator.getGenericParameterTypes()[index], beanType());
-	}
-
-	@Override
-	public <T extends Annotation> T getAnnotation(final Class<T> annotationClass) {
-		T annotation = creator.getParameters()[index].getAnnotation(annotationClass);
-
-		if (annotation == null)
-			annotation = ReflectionUtilities.getRawType(beanType()).getAnnotation(annotationClass);
-
-		if (annotation == null)
-			annotation = ReflectionUtilities.getRawType(beanType()).getPackage().getAnnotation(annotationClass);
+public record CreatorProperty(Type beanType, Executable creator, int index, Type type, EffectiveAnnotations annotations) implements Property {
 
-		return annotation;
+	public CreatorProperty(final Type beanType, final Executable creator, final Parameter parameter, final int index) {
+		// @formatter:off
+		this(beanType, creator, index,
+				ReflectionUtilities.resolveType(creator.getGenericParameterTypes()[index], beanType),
+				EffectiveAnnotations.of(parameter, ReflectionUtilities.getRawType(beanType)));
+		// @formatter:on
 	}
 }
@@ -1,32 +1,20 @@
 package se.narstrom.myr.json.bind.serializer.defaults;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.SequencedMap;
-import java.util.Set;
 
 import jakarta.json.JsonObject;
 import jakarta.json.bind.JsonbException;
-import jakarta.json.bind.annotation.JsonbCreator;
-import jakarta.json.bind.annotation.JsonbProperty;
-import jakarta.json.bind.annotation.JsonbSubtype;
 import jakarta.json.bind.annotation.JsonbTypeInfo;
 import jakarta.json.bind.serializer.DeserializationContext;
 import jakarta.json.bind.serializer.JsonbDeserializer;
-import jakarta.json.spi.JsonProvider;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
 import se.narstrom.myr.json.bind.MyrJsonbContext;
+import se.narstrom.myr.json.bind.metrics.JsonbMetricsListener;
 import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
 
 public class DefaultDeserializer implements JsonbDeserializer<Object> {
@@ -43,274 +31,85 @@ public class DefaultDeserializer implements JsonbDeserializer<Object> {
 		if (parser.currentEvent() != Event.START_OBJECT)
 			throw new JsonbException("Not an object, event: " + parser.currentEvent());
 
+		final JsonbMetricsListener metrics = ((MyrJsonbContext) context).getMetrics();
+
+		final BeanModel model = BeanModel.of(type);
+		if (model.typeInfo() == null)
+			return deserializeObject(parser, context, type, model.deserialization(metrics));
+
+		// The discriminator can be anywhere in the object, so polymorphic types are buffered
 		final JsonObject jsonObject = parser.getObject();
+		final Type concreteType = findConcreteType(jsonObject, type);
 
-		final Type concreteType = findConcreteType(jsonObject, clazz, type);
-		final Class<?> concreteClazz = ReflectionUtilities.getRawType(concreteType);
+		final JsonParser objectParser = ((MyrJsonbContext) context).getParserFactory().createParser(jsonObject);
+		objectParser.next();
 
-		validatePolymorphicType(concreteClazz);
+		return deserializeObject(objectParser, context, concreteType, BeanModel.of(concreteType).deserialization(metrics));
+	}
 
-		final Executable creator = findCreator(concreteClazz);
-		final SequencedMap<String, CreatorProperty> creatorProperties = findCreatorProperties(type, creator);
-		final Map<String, WriteableProperty> properties = findProperties(concreteType, concreteClazz);
+	private Object deserializeObject(final JsonParser parser, final DeserializationContext context, final Type type, final BeanModel.Deserialization model) {
+		final Executable creator = model.creator();
+		final SequencedMap<String, CreatorProperty> creatorProperties = model.creatorProperties();
+		final Map<String, WriteableProperty> properties = model.properties();
 
-		final JsonProvider jsonp = ((MyrJsonbContext) context).getJsonpProvider();
-		final JsonParser objectParser = jsonp.createParserFactory(null).createParser(jsonObject);
-		objectParser.next();
+		final Object[] creatorArguments = new Object[creator.getParameterCount()];
 
-		final SequencedMap<String, Object> values = new LinkedHashMap<>();
+		// Without creator parameters the instance can be created up front and bound while parsing
+		final Object instance = creatorArguments.length == 0 ? model.instantiate(creatorArguments) : null;
+		final SequencedMap<WriteableProperty, Object> values = instance == null ? new LinkedHashMap<>() : null;
 
 		Event event;
-		while ((event = objectParser.next()) != Event.END_OBJECT) {
+		while ((event = parser.next()) != Event.END_OBJECT) {
 			assert event == Event.KEY_NAME;
-			final String name = objectParser.getString();
+			final String name = parser.getString();
 
+			final CreatorProperty creatorProperty = creatorProperties.get(name);
 			final WriteableProperty property = properties.get(name);
 
-			if (property == null) {
-				if (((MyrJsonbContext) context).getConfig().getProperty("jsonb.fail-on-unknown-properties").orElse(Boolean.FALSE) == Boolean.TRUE)
+			if (creatorProperty == null && property == null) {
+				if (((MyrJsonbContext) context).getSettings().failOnUnknownProperties())
 					throw new JsonbException("Unknown property: " + name);
-				objectParser.getValue();
-				objectParser.next();
+				final JsonbMetricsListener metrics = ((MyrJsonbContext) context).getMetrics();
+				if (metrics != null)
+					metrics.unknownPropertySkipped(type, name);
+				parser.next();
+				parser.getValue();
 				continue;
 			}
 
-			final Object value = context.deserialize(property.type(), objectParser);
-			values.put(name, value);
-		}
-
-		try {
-			final Object[] creatorArguments = new Object[creator.getParameterCount()];
-			for (final Map.Entry<String, CreatorProperty> entry : creatorProperties.entrySet()) {
-				final CreatorProperty property = entry.getValue();
-				final int index = property.index();
-				creatorArguments[index] = values.get(entry.getKey());
-			}
-
-			final Object object;
-			creator.setAccessible(true);
-			try {
-				object = switch (creator) {
-					case Method method -> method.invoke(null, creatorArguments);
-					case Constructor<?> constructor -> constructor.newInstance(creatorArguments);
-				};
-			} finally {
-				creator.setAccessible(false);
-			}
-
-			for (final Map.Entry<String, Object> entry : values.entrySet()) {
-				final WriteableProperty property = properties.get(entry.getKey());
-				final Object value = entry.getValue();
-				property.set(object, value);
-			}
-
-			return object;
-		} catch (final ReflectiveOperationException ex) {
-			throw new JsonbException("Reflective operation error", ex);
-		}
-	}
-
-	private Type findConcreteType(final JsonObject object, final Class<?> clazz, final Type type) {
-		final JsonbTypeInfo typeInfo = clazz.getAnnotation(JsonbTypeInfo.class);
-		if (typeInfo == null)
-			return type;
+			final Object value = context.deserialize(creatorProperty != null ? creatorProperty.type() : property.type(), parser);
 
-		final String key = typeInfo.key();
-		final String value = object.getString(key);
+			if (creatorProperty != null)
+				creatorArguments[creatorProperty.index()] = value;
 
-		Class<?> concreteType = null;
-		for (final JsonbSubtype subtype : typeInfo.value()) {
-			if (value.equals(subtype.alias())) {
-				if (concreteType != null)
-					throw new JsonbException("Multiple potential subtypes");
-				concreteType = subtype.type();
-			}
-		}
-
-		if (concreteType == null)
-			throw new JsonbException("Not subtype found");
-
-		return findConcreteType(object, concreteType, concreteType);
-	}
-
-	private void validatePolymorphicType(final Class<?> type) {
-		Class<?> parent = null;
-
-		final Class<?> superClass = type.getSuperclass();
-		if (superClass != null && superClass.isAnnotationPresent(JsonbTypeInfo.class))
-			parent = superClass;
-
-		for (final Class<?> iface : type.getInterfaces()) {
-			if (iface.isAnnotationPresent(JsonbTypeInfo.class)) {
-				if (parent != null)
-					throw new JsonbException("Invalid polymorphic type, multiple parents");
-				parent = iface;
+			if (property != null) {
+				if (instance != null)
+					property.set(instance, value);
+				else
+					values.put(property, value);
 			}
 		}
-	}
 
-	private Executable findCreator(final Class<?> clazz) {
-		Executable creator = null;
+		if (instance != null)
+			return instance;
 
-		for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
-			if (!constructor.isAnnotationPresent(JsonbCreator.class))
-				continue;
-			if (!Modifier.isPublic(constructor.getModifiers()) && !Modifier.isProtected(constructor.getModifiers()))
-				throw new JsonbException("Creator most be public or protected");
-			if (creator != null)
-				throw new JsonbException("Only one creatior is allowed");
-			creator = constructor;
-		}
+		final Object object = model.instantiate(creatorArguments);
 
-		for (final Method method : clazz.getDeclaredMethods()) {
-			if (!method.isAnnotationPresent(JsonbCreator.class))
-				continue;
-			if (!Modifier.isPublic(method.getModifiers()) && !Modifier.isProtected(method.getModifiers()))
-				throw new JsonbException("Creator most be public or protected");
-			if (!Modifier.isStatic(method.getModifiers()))
-				throw new JsonbException("Creator method most be static");
-			if (method.getReturnType() != clazz)
-				throw new JsonbException("Creator method most return an instance of contained class");
-			if (creator != null)
-				throw new JsonbException("Only on creator is allowed");
-			creator = method;
-		}
-
-		if (creator == null) {
-			for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
-				if (!Modifier.isPublic(constructor.getModifiers()) && !Modifier.isProtected(constructor.getModifiers()))
-					continue;
-				if (constructor.getParameterCount() != 0)
-					continue;
-				creator = constructor;
-			}
-		}
+		for (final Map.Entry<WriteableProperty, Object> entry : values.entrySet())
+			entry.getKey().set(object, entry.getValue());
 
-		if (creator == null)
-			throw new JsonbException("No public or protected no-args constructor");
-
-		return creator;
+		return object;
 	}
 
-	private SequencedMap<String, CreatorProperty> findCreatorProperties(final Type beanType, final Executable creator) {
-		final SequencedMap<String, CreatorProperty> properties = new LinkedHashMap<>();
-
-		int index = 0;
-		for (final Parameter parameter : creator.getParameters()) {
-			final JsonbProperty annotation = parameter.getAnnotation(JsonbProperty.class);
-
-			final String name;
-			if (annotation != null)
-				name = annotation.value();
-			else
-				name = parameter.getName();
-
-			if (properties.put(name, new CreatorProperty(beanType, creator, index++)) != null)
-				throw new JsonbException("Duplicate property name");
-		}
-
-		return Collections.unmodifiableSequencedMap(properties);
-	}
-
-	private Map<String, WriteableProperty> findProperties(final Type beanType, final Class<?> beanClazz) {
-		final Map<String, WriteableProperty> properties;
-
-		final Type superType = ReflectionUtilities.getSuperType(beanType);
-		final Class<?> superClazz = beanClazz.getSuperclass();
-		if (superClazz != null && superClazz != Object.class)
-			properties = findProperties(superType, superClazz);
-		else
-			properties = new HashMap<>();
-
-		final Map<String, Field> fields = new HashMap<>();
-		for (final Field field : beanClazz.getDeclaredFields()) {
-			if (field.isSynthetic())
-				continue;
-			fields.put(field.getName(), field);
-		}
-
-		final Map<String, Method> setters = new HashMap<>();
-		for (final Method method : beanClazz.getDeclaredMethods()) {
-			if (method.isSynthetic() || method.isBridge())
-				continue;
-
-			if (method.getParameterCount() != 1)
-				continue;
-
-			final String methodName = method.getName();
-			if (!methodName.startsWith("set") || !Character.isUpperCase(methodName.codePointAt(3)))
-				continue;
-
-			final int firstCodePoint = methodName.codePointAt(3);
-			final String rest = (firstCodePoint > 0xFFFF) ? methodName.substring(5) : methodName.substring(4);
-			final String name = Character.toString(Character.toLowerCase(firstCodePoint)) + rest;
-
-			setters.put(name, method);
-		}
-
-		final Set<String> names = new HashSet<>();
-		names.addAll(fields.keySet());
-		names.addAll(setters.keySet());
-
-		final Map<String, WriteableProperty> localProperties = new HashMap<>();
-
-		for (final String name : names) {
-			final Field field = fields.get(name);
-			final Method setter = setters.get(name);
-			String propertyName = null;
-			Type unresolvedPropertyType = null;
-
-			if (field != null) {
-				int modifiers = field.getModifiers();
-				if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isTransient(modifiers))
-					continue;
-
-				unresolvedPropertyType = field.getGenericType();
-
-				final JsonbProperty annotation = field.getAnnotation(JsonbProperty.class);
-				if (annotation != null)
-					propertyName = annotation.value();
-			}
-
-			if (setter != null) {
-				final int modifiers = setter.getModifiers();
-				if (Modifier.isStatic(modifiers))
-					continue;
-
-				if (unresolvedPropertyType == null)
-					unresolvedPropertyType = setter.getGenericParameterTypes()[0];
-
-				final JsonbProperty annotation = setter.getAnnotation(JsonbProperty.class);
-				if (annotation != null) {
-					if (propertyName != null && !propertyName.equals(annotation.value()))
-						throw new JsonbException("Conflicting annotations for property " + name);
-					propertyName = annotation.value();
-				}
-			}
-
-			if (propertyName == null)
-				propertyName = name;
-
-			final WriteableProperty property;
-			if (setter != null) {
-				if (Modifier.isPublic(setter.getModifiers()))
-					property = new SetterProperty(beanType, setter);
-				else
-					continue;
-			} else if (field != null && Modifier.isPublic(field.getModifiers())) {
-				property = new FieldProperty(beanType, field);
-			} else {
-				continue;
-			}
-
-			if (localProperties.containsKey(propertyName))
-				throw new JsonbException("Duplicate property name " + propertyName + ": " + properties.get(propertyName) + " vs " + property);
-
-			localProperties.put(propertyName, property);
-		}
+	private Type findConcreteType(final JsonObject object, final Type type) {
+		final BeanModel model = BeanModel.of(type);
+		final JsonbTypeInfo typeInfo = model.typeInfo();
+		if (typeInfo == null)
+			return type;
 
-		properties.putAll(localProperties);
+		final String value = object.getString(typeInfo.key());
+		final Class<?> concreteType = model.findSubtype(value);
 
-		return properties;
+		return findConcreteType(object, concreteType);
 	}
 }
@@ -1,23 +1,19 @@
 package se.narstrom.myr.json.bind.serializer.defaults;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
-import java.util.SequencedMap;
-import java.util.Set;
 
-import jakarta.json.bind.JsonbConfig;
-import jakarta.json.bind.JsonbException;
-import jakarta.json.bind.annotation.JsonbSubtype;
-import jakarta.json.bind.annotation.JsonbTypeInfo;
 import jakarta.json.bind.serializer.JsonbSerializer;
 import jakarta.json.bind.serializer.SerializationContext;
 import jakarta.json.stream.JsonGenerator;
 import se.narstrom.myr.json.bind.MyrJsonbContext;
+import se.narstrom.myr.json.bind.reflect.PropertyAccessor;
+import se.narstrom.myr.json.bind.serializer.basic.BooleanSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.DoubleSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.IntegerSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.LongSerializer;
 
 public final class DefaultSerializer implements JsonbSerializer<Object> {
 
@@ -27,48 +23,26 @@ public final class DefaultSerializer implements JsonbSerializer<Object> {
 
 		assert !clazz.isArray() && !clazz.isPrimitive();
 
-		Set<String> blacklist = new HashSet<>();
+		final BeanModel.Serialization model = BeanModel.of(clazz).serialization(((MyrJsonbContext) context).getMetrics());
 
 		generator.writeStartObject();
-		serializeTypeInfos(object, clazz, generator, context, blacklist);
-		serializeProperties(object, clazz, generator, context, blacklist);
+		serializeTypeInfos(model, generator);
+		serializeProperties(object, model, generator, context);
 		generator.writeEnd();
 	}
 
-	private void serializeTypeInfos(final Object object, final Class<?> clazz, final JsonGenerator generator, final SerializationContext context, final Set<String> blacklist) {
-		final List<JsonbTypeInfo> infos = getTypeInfos(clazz);
-
-		for (final JsonbTypeInfo info : infos) {
-			String value = null;
-
-			if (!blacklist.add(info.key()))
-				throw new JsonbException("Name conflict");
-
-			for (final JsonbSubtype subtype : info.value()) {
-				final Class<?> type = subtype.type();
-				if (type.isAssignableFrom(clazz)) {
-					if (value != null)
-						throw new JsonbException("Multiple subtypes are compatible with concrete type");
-					value = subtype.alias();
-				}
-			}
-
-			if (value != null)
-				generator.write(info.key(), value);
-		}
+	private void serializeTypeInfos(final BeanModel.Serialization model, final JsonGenerator generator) {
+		for (final BeanModel.Discriminator discriminator : model.discriminators())
+			generator.write(discriminator.key(), discriminator.alias());
 	}
 
-	private void serializeProperties(final Object object, final Class<?> clazz, final JsonGenerator generator, final SerializationContext context, final Set<String> blacklist) {
-		final SequencedMap<String, OldProperty> properties = Properties.getProperties(clazz);
-
-		for (final String properyName : properties.keySet()) {
-			if (blacklist.contains(properyName))
-				throw new JsonbException("Name conflict");
-		}
-
+	private void serializeProperties(final Object object, final BeanModel.Serialization model, final JsonGenerator generator, final SerializationContext context) {
 		final boolean writeNulls = getWriteNulls(context);
 
-		for (final OldProperty property : properties.values()) {
+		for (final OldProperty property : model.properties()) {
+			if (property.accessor().type().isPrimitive() && serializePrimitive(object, property, generator, (MyrJsonbContext) context))
+				continue;
+
 			final Object value = property.getValue(object);
 
 			if (!writeNulls && isNullOrEmptyOptional(value))
@@ -78,41 +52,27 @@ public final class DefaultSerializer implements JsonbSerializer<Object> {
 		}
 	}
 
-	public List<JsonbTypeInfo> getTypeInfos(final Class<?> clazz) {
-		Class<?> parent = null;
-
-		final Class<?> superClazz = clazz.getSuperclass();
-		if (superClazz != null) {
-			if (superClazz.isAnnotationPresent(JsonbTypeInfo.class))
-				parent = superClazz;
-		}
-
-		for (final Class<?> iface : clazz.getInterfaces()) {
-			if (!iface.isAnnotationPresent(JsonbTypeInfo.class))
-				continue;
-			if (parent != null)
-				throw new JsonbException("Multiple polymorphic parents");
-			parent = iface;
-		}
-
-		final List<JsonbTypeInfo> typeInfos = new ArrayList<>();
-		if (parent != null)
-			typeInfos.addAll(getTypeInfos(parent));
-
-		final JsonbTypeInfo typeInfo = clazz.getAnnotation(JsonbTypeInfo.class);
-		if (typeInfo != null) {
-			for (JsonbSubtype subtype : typeInfo.value()) {
-				if (!clazz.isAssignableFrom(subtype.type()))
-					throw new JsonbException("Invalid subtype, not a subclass");
-			}
-			typeInfos.add(typeInfo);
-		}
-
-		return typeInfos;
+	// Primitives are never null, write them without boxing unless a custom serializer is installed for the wrapper type
+	private boolean serializePrimitive(final Object object, final OldProperty property, final JsonGenerator generator, final MyrJsonbContext context) {
+		final PropertyAccessor accessor = property.accessor();
+		final Class<?> type = accessor.type();
+
+		if (type == Integer.TYPE && context.findSerializer(Integer.class) instanceof IntegerSerializer)
+			generator.write(property.name(), accessor.getInt(object));
+		else if (type == Long.TYPE && context.findSerializer(Long.class) instanceof LongSerializer)
+			generator.write(property.name(), accessor.getLong(object));
+		else if (type == Double.TYPE && context.findSerializer(Double.class) instanceof DoubleSerializer)
+			generator.write(property.name(), accessor.getDouble(object));
+		else if (type == Boolean.TYPE && context.findSerializer(Boolean.class) instanceof BooleanSerializer)
+			generator.write(property.name(), accessor.getBoolean(object));
+		else
+			return false;
+
+		return true;
 	}
 
 	private boolean getWriteNulls(final SerializationContext context) {
-		return ((MyrJsonbContext) context).getConfig().getProperty(JsonbConfig.NULL_VALUES).map(Boolean.class::cast).orElse(Boolean.FALSE);
+		return ((MyrJsonbContext) context).getSettings().nullValues();
 	}
 
 	private boolean isNullOrEmptyOptional(final Object value) {
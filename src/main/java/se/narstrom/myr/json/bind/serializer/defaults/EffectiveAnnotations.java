@@ -0,0 +1,52 @@
+package se.narstrom.myr.json.bind.serializer.defaults;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The annotations in effect for a property, resolved once when the bean model is built.
+ *
+ * An annotation on the member hides one of the same type on the bean class, which in turn hides one on the package of
+ * the bean class.
+ */
+public final class EffectiveAnnotations {
+	// Class and package annotations, shared by every property of the class
+	private static final ClassValue<EffectiveAnnotations> INHERITED = new ClassValue<>() {
+		@Override
+		protected EffectiveAnnotations computeValue(final Class<?> beanClass) {
+			final Map<Class<? extends Annotation>, Annotation> annotations = new HashMap<>();
+			if (beanClass.getPackage() != null)
+				putAll(annotations, beanClass.getPackage());
+			putAll(annotations, beanClass);
+			return new EffectiveAnnotations(Map.copyOf(annotations));
+		}
+	};
+
+	private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+	private EffectiveAnnotations(final Map<Class<? extends Annotation>, Annotation> annotations) {
+		this.annotations = annotations;
+	}
+
+	public static EffectiveAnnotations of(final AnnotatedElement member, final Class<?> beanClass) {
+		final EffectiveAnnotations inherited = INHERITED.get(beanClass);
+		final Annotation[] memberAnnotations = member.getAnnotations();
+		if (memberAnnotations.length == 0)
+			return inherited;
+
+		final Map<Class<? extends Annotation>, Annotation> annotations = new HashMap<>(inherited.annotations);
+		putAll(annotations, member);
+		return new EffectiveAnnotations(Map.copyOf(annotations));
+	}
+
+	public <T extends Annotation> T get(final Class<T> annotationClass) {
+		return annotationClass.cast(annotations.get(annotationClass));
+	}
+
+	private static void putAll(final Map<Class<? extends Annotation>, Annotation> annotations, final AnnotatedElement element) {
+		for (final Annotation annotation : element.getAnnotations())
+			annotations.put(annotation.annotationType(), annotation);
+	}
+}
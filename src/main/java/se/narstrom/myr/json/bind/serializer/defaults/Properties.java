@@ -19,6 +19,7 @@ import java.util.stream.Stream;
 
 import jakarta.json.bind.JsonbException;
 import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.json.bind.annotation.JsonbTransient;
 import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
 
 public final class Properties {
@@ -159,6 +160,12 @@ public final class Properties {
 			if (localProperties.containsKey(propertyName))
 				throw new JsonbException("Duplicate property name");
 
+			// A transient getter only hides the property from serialization, a transient field hides it from both
+			if ((field != null && field.isAnnotationPresent(JsonbTransient.class)) || (getter != null && getter.isAnnotationPresent(JsonbTransient.class))) {
+				blacklist.add(propertyName);
+				continue;
+			}
+
 			if (field != null) {
 				final int fieldModifiers = field.getModifiers();
 				if (Modifier.isStatic(fieldModifiers) || Modifier.isTransient(fieldModifiers)) {
@@ -6,5 +6,9 @@ import java.lang.reflect.Type;
 public sealed interface Property permits WriteableProperty, CreatorProperty {
 	public Type beanType();
 	public Type type();
-	public <T extends Annotation> T getAnnotation(final Class<T> annotationClass);
+	public EffectiveAnnotations annotations();
+
+	public default <T extends Annotation> T getAnnotation(final Class<T> annotationClass) {
+		return annotations().get(annotationClass);
+	}
 }
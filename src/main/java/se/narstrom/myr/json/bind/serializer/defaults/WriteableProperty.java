@@ -1,5 +1,9 @@
 package se.narstrom.myr.json.bind.serializer.defaults;
 
+import se.narstrom.myr.json.bind.reflect.PropertyAccessor;
+
 public sealed interface WriteableProperty extends Property permits FieldProperty, SetterProperty {
 	void set(final Object bean, final Object value);
+
+	PropertyAccessor accessor();
 }
@@ -0,0 +1,396 @@
+package se.narstrom.myr.json.bind.serializer.generated;
+
+import static java.lang.constant.ConstantDescs.CD_Object;
+import static java.lang.constant.ConstantDescs.CD_String;
+import static java.lang.constant.ConstantDescs.CD_boolean;
+import static java.lang.constant.ConstantDescs.CD_int;
+import static java.lang.constant.ConstantDescs.CD_void;
+import static java.lang.constant.ConstantDescs.INIT_NAME;
+import static java.lang.constant.ConstantDescs.MTD_void;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassHierarchyResolver;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.instruction.SwitchCase;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import jakarta.json.bind.serializer.DeserializationContext;
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import se.narstrom.myr.json.bind.serializer.defaults.BeanModel;
+import se.narstrom.myr.json.bind.serializer.defaults.FieldProperty;
+import se.narstrom.myr.json.bind.serializer.defaults.OldProperty;
+import se.narstrom.myr.json.bind.serializer.defaults.SetterProperty;
+import se.narstrom.myr.json.bind.serializer.defaults.WriteableProperty;
+
+/**
+ * Emits a hidden class per bean type that implements {@link JsonbSerializer} or {@link JsonbDeserializer} with direct
+ * calls to the getters, setters and fields of the bean.
+ *
+ * The hidden class is defined in the package of the bean, so it can only be generated when every member it needs is
+ * reachable from there. Otherwise {@code null} is returned and the caller falls back to the reflective codecs.
+ */
+final class CodecGenerator {
+	private static final ClassDesc CD_TYPE = desc(Type.class);
+	private static final ClassDesc CD_TYPE_ARRAY = CD_TYPE.arrayType();
+	private static final ClassDesc CD_JSON_GENERATOR = desc(JsonGenerator.class);
+	private static final ClassDesc CD_JSON_PARSER = desc(JsonParser.class);
+	private static final ClassDesc CD_SERIALIZATION_CONTEXT = desc(SerializationContext.class);
+	private static final ClassDesc CD_DESERIALIZATION_CONTEXT = desc(DeserializationContext.class);
+	private static final ClassDesc CD_JSONB_SERIALIZER = desc(JsonbSerializer.class);
+	private static final ClassDesc CD_JSONB_DESERIALIZER = desc(JsonbDeserializer.class);
+	private static final ClassDesc CD_CODEC_SUPPORT = desc(CodecSupport.class);
+
+	private static final MethodTypeDesc MTD_SERIALIZE = MethodTypeDesc.of(CD_void, CD_Object, CD_JSON_GENERATOR, CD_SERIALIZATION_CONTEXT);
+	private static final MethodTypeDesc MTD_DESERIALIZE = MethodTypeDesc.of(CD_Object, CD_JSON_PARSER, CD_DESERIALIZATION_CONTEXT, CD_TYPE);
+	private static final MethodTypeDesc MTD_CONSTRUCTOR = MethodTypeDesc.of(CD_void, CD_TYPE_ARRAY);
+
+	private static final List<Class<?>> SUPPORT_CLASSES = List.of(CodecSupport.class, JsonbSerializer.class, JsonbDeserializer.class, JsonGenerator.class, JsonParser.class, SerializationContext.class,
+			DeserializationContext.class);
+
+	// Local variable slots of serialize(Object, JsonGenerator, SerializationContext)
+	private static final int SER_GENERATOR = 2;
+	private static final int SER_CONTEXT = 3;
+	private static final int SER_BEAN = 4;
+	private static final int SER_WRITE_NULLS = 5;
+
+	// Local variable slots of deserialize(JsonParser, DeserializationContext, Type)
+	private static final int DES_PARSER = 1;
+	private static final int DES_CONTEXT = 2;
+	private static final int DES_TYPE = 3;
+	private static final int DES_BEAN = 4;
+	private static final int DES_NAME = 5;
+
+	private CodecGenerator() {
+	}
+
+	@SuppressWarnings("unchecked")
+	static JsonbSerializer<Object> generateSerializer(final Class<?> beanClass, final BeanModel.Serialization model) throws ReflectiveOperationException {
+		if (!isSupportedBean(beanClass))
+			return null;
+
+		for (final OldProperty property : model.properties()) {
+			final Member member = (property.getter() != null) ? property.getter() : property.field();
+			if (member == null || !isAccessible(member, beanClass))
+				return null;
+		}
+
+		final ClassDesc beanDesc = desc(beanClass);
+		final ClassDesc thisDesc = ClassDesc.of(beanClass.getName() + "$MyrJsonbSerializer");
+
+		final byte[] bytes = classFile(beanClass).build(thisDesc, clb -> {
+			clb.withFlags(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL | ClassFile.ACC_SYNTHETIC);
+			clb.withSuperclass(CD_Object);
+			clb.withInterfaceSymbols(CD_JSONB_SERIALIZER);
+
+			clb.withMethodBody(INIT_NAME, MTD_void, ClassFile.ACC_PUBLIC, cob -> {
+				cob.aload(0);
+				cob.invokespecial(CD_Object, INIT_NAME, MTD_void);
+				cob.return_();
+			});
+
+			clb.withMethodBody("serialize", MTD_SERIALIZE, ClassFile.ACC_PUBLIC, cob -> {
+				cob.aload(1);
+				cob.checkcast(beanDesc);
+				cob.astore(SER_BEAN);
+
+				cob.aload(SER_GENERATOR);
+				cob.invokeinterface(CD_JSON_GENERATOR, "writeStartObject", MethodTypeDesc.of(CD_JSON_GENERATOR));
+				cob.pop();
+
+				for (final BeanModel.Discriminator discriminator : model.discriminators()) {
+					cob.aload(SER_GENERATOR);
+					cob.loadConstant(discriminator.key());
+					cob.loadConstant(discriminator.alias());
+					cob.invokeinterface(CD_JSON_GENERATOR, "write", MethodTypeDesc.of(CD_JSON_GENERATOR, CD_String, CD_String));
+					cob.pop();
+				}
+
+				cob.aload(SER_CONTEXT);
+				cob.invokestatic(CD_CODEC_SUPPORT, "writeNulls", MethodTypeDesc.of(CD_boolean, CD_SERIALIZATION_CONTEXT));
+				cob.istore(SER_WRITE_NULLS);
+
+				for (final OldProperty property : model.properties())
+					serializeProperty(cob, beanDesc, property);
+
+				cob.aload(SER_GENERATOR);
+				cob.invokeinterface(CD_JSON_GENERATOR, "writeEnd", MethodTypeDesc.of(CD_JSON_GENERATOR));
+				cob.pop();
+				cob.return_();
+			});
+		});
+
+		final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup()).defineHiddenClass(bytes, true);
+		try {
+			return (JsonbSerializer<Object>) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(Void.TYPE)).invoke();
+		} catch (final ReflectiveOperationException | RuntimeException | Error ex) {
+			throw ex;
+		} catch (final Throwable ex) {
+			throw new AssertionError(ex);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static JsonbDeserializer<Object> generateDeserializer(final Class<?> beanClass, final BeanModel.Deserialization model) throws ReflectiveOperationException {
+		if (!isSupportedBean(beanClass) || Modifier.isAbstract(beanClass.getModifiers()))
+			return null;
+
+		if (!(model.creator() instanceof Constructor<?> creator) || creator.getParameterCount() != 0 || !isAccessible(creator, beanClass))
+			return null;
+
+		final List<String> names = new ArrayList<>();
+		final List<WriteableProperty> properties = new ArrayList<>();
+		for (final Map.Entry<String, WriteableProperty> entry : model.properties().entrySet()) {
+			final Member member = switch (entry.getValue()) {
+				case FieldProperty property -> property.field();
+				case SetterProperty property -> property.setter();
+			};
+			if (!isAccessible(member, beanClass) || !isAccessible(valueType(entry.getValue()), beanClass))
+				return null;
+			names.add(entry.getKey());
+			properties.add(entry.getValue());
+		}
+
+		// Properties grouped by the hash code of their names, to be dispatched with a lookupswitch
+		final SortedMap<Integer, List<Integer>> buckets = new TreeMap<>();
+		for (int i = 0; i < names.size(); ++i)
+			buckets.computeIfAbsent(names.get(i).hashCode(), hash -> new ArrayList<>()).add(i);
+
+		final ClassDesc beanDesc = desc(beanClass);
+		final ClassDesc thisDesc = ClassDesc.of(beanClass.getName() + "$MyrJsonbDeserializer");
+
+		final byte[] bytes = classFile(beanClass).build(thisDesc, clb -> {
+			clb.withFlags(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL | ClassFile.ACC_SYNTHETIC);
+			clb.withSuperclass(CD_Object);
+			clb.withInterfaceSymbols(CD_JSONB_DESERIALIZER);
+			clb.withField("types", CD_TYPE_ARRAY, ClassFile.ACC_PRIVATE | ClassFile.ACC_FINAL);
+
+			clb.withMethodBody(INIT_NAME, MTD_CONSTRUCTOR, ClassFile.ACC_PUBLIC, cob -> {
+				cob.aload(0);
+				cob.invokespecial(CD_Object, INIT_NAME, MTD_void);
+				cob.aload(0);
+				cob.aload(1);
+				cob.putfield(thisDesc, "types", CD_TYPE_ARRAY);
+				cob.return_();
+			});
+
+			clb.withMethodBody("deserialize", MTD_DESERIALIZE, ClassFile.ACC_PUBLIC, cob -> {
+				final Label start = cob.newLabel();
+				final Label loop = cob.newLabel();
+				final Label dispatch = cob.newLabel();
+				final Label unknown = cob.newLabel();
+
+				cob.aload(DES_PARSER);
+				cob.invokestatic(CD_CODEC_SUPPORT, "startObject", MethodTypeDesc.of(CD_boolean, CD_JSON_PARSER));
+				cob.ifne(start);
+				cob.aconst_null();
+				cob.areturn();
+
+				cob.labelBinding(start);
+				cob.new_(beanDesc);
+				cob.dup();
+				cob.invokespecial(beanDesc, INIT_NAME, MTD_void);
+				cob.astore(DES_BEAN);
+
+				cob.labelBinding(loop);
+				cob.aload(DES_PARSER);
+				cob.invokestatic(CD_CODEC_SUPPORT, "nextProperty", MethodTypeDesc.of(CD_String, CD_JSON_PARSER));
+				cob.astore(DES_NAME);
+				cob.aload(DES_NAME);
+				cob.ifnonnull(dispatch);
+				cob.aload(DES_BEAN);
+				cob.areturn();
+
+				cob.labelBinding(dispatch);
+				final List<SwitchCase> cases = new ArrayList<>();
+				final List<Label> targets = new ArrayList<>();
+				for (final int hash : buckets.keySet()) {
+					final Label target = cob.newLabel();
+					cases.add(SwitchCase.of(hash, target));
+					targets.add(target);
+				}
+				cob.aload(DES_NAME);
+				cob.invokevirtual(CD_String, "hashCode", MethodTypeDesc.of(CD_int));
+				cob.lookupswitch(unknown, cases);
+
+				int bucket = 0;
+				for (final List<Integer> indices : buckets.values()) {
+					cob.labelBinding(targets.get(bucket++));
+					for (final int index : indices) {
+						final Label next = cob.newLabel();
+						cob.aload(DES_NAME);
+						cob.loadConstant(names.get(index));
+						cob.invokevirtual(CD_String, "equals", MethodTypeDesc.of(CD_boolean, CD_Object));
+						cob.ifeq(next);
+						deserializeProperty(cob, thisDesc, beanDesc, properties.get(index), index);
+						cob.goto_(loop);
+						cob.labelBinding(next);
+					}
+					cob.goto_(unknown);
+				}
+
+				cob.labelBinding(unknown);
+				cob.aload(DES_NAME);
+				cob.aload(DES_PARSER);
+				cob.aload(DES_CONTEXT);
+				cob.aload(DES_TYPE);
+				cob.invokestatic(CD_CODEC_SUPPORT, "skipProperty", MethodTypeDesc.of(CD_void, CD_String, CD_JSON_PARSER, CD_DESERIALIZATION_CONTEXT, CD_TYPE));
+				cob.goto_(loop);
+			});
+		});
+
+		final Type[] types = properties.stream().map(WriteableProperty::type).toArray(Type[]::new);
+
+		final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup()).defineHiddenClass(bytes, true);
+		try {
+			return (JsonbDeserializer<Object>) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(Void.TYPE, Type[].class)).invoke(types);
+		} catch (final ReflectiveOperationException | RuntimeException | Error ex) {
+			throw ex;
+		} catch (final Throwable ex) {
+			throw new AssertionError(ex);
+		}
+	}
+
+	private static void serializeProperty(final CodeBuilder cob, final ClassDesc beanDesc, final OldProperty property) {
+		cob.aload(SER_CONTEXT);
+		cob.aload(SER_GENERATOR);
+		cob.loadConstant(property.name());
+
+		final Class<?> valueType;
+		cob.aload(SER_BEAN);
+		if (property.getter() != null) {
+			final Method getter = property.getter();
+			valueType = getter.getReturnType();
+			cob.invokevirtual(beanDesc, getter.getName(), MethodTypeDesc.of(desc(valueType)));
+		} else {
+			final Field field = property.field();
+			valueType = field.getType();
+			cob.getfield(beanDesc, field.getName(), desc(valueType));
+		}
+
+		if (valueType == Integer.TYPE || valueType == Long.TYPE || valueType == Double.TYPE || valueType == Boolean.TYPE) {
+			final String name = "serialize" + Character.toUpperCase(valueType.getName().charAt(0)) + valueType.getName().substring(1);
+			cob.invokestatic(CD_CODEC_SUPPORT, name, MethodTypeDesc.of(CD_void, CD_SERIALIZATION_CONTEXT, CD_JSON_GENERATOR, CD_String, desc(valueType)));
+			return;
+		}
+
+		if (valueType.isPrimitive()) {
+			final Class<?> wrapper = MethodType.methodType(valueType).wrap().returnType();
+			cob.invokestatic(desc(wrapper), "valueOf", MethodTypeDesc.of(desc(wrapper), desc(valueType)));
+		}
+
+		cob.iload(SER_WRITE_NULLS);
+		cob.invokestatic(CD_CODEC_SUPPORT, "serializeProperty", MethodTypeDesc.of(CD_void, CD_SERIALIZATION_CONTEXT, CD_JSON_GENERATOR, CD_String, CD_Object, CD_boolean));
+	}
+
+	private static void deserializeProperty(final CodeBuilder cob, final ClassDesc thisDesc, final ClassDesc beanDesc, final WriteableProperty property, final int index) {
+		final Class<?> valueType = valueType(property);
+
+		cob.aload(DES_BEAN);
+
+		cob.aload(DES_CONTEXT);
+		cob.aload(0);
+		cob.getfield(thisDesc, "types", CD_TYPE_ARRAY);
+		cob.loadConstant(index);
+		cob.aaload();
+		cob.aload(DES_PARSER);
+		cob.invokeinterface(CD_DESERIALIZATION_CONTEXT, "deserialize", MethodTypeDesc.of(CD_Object, CD_TYPE, CD_JSON_PARSER));
+
+		if (valueType.isPrimitive()) {
+			final String name = "to" + Character.toUpperCase(valueType.getName().charAt(0)) + valueType.getName().substring(1);
+			cob.invokestatic(CD_CODEC_SUPPORT, name, MethodTypeDesc.of(desc(valueType), CD_Object));
+		} else if (valueType != Object.class) {
+			cob.checkcast(desc(valueType));
+		}
+
+		switch (property) {
+			case SetterProperty setter -> {
+				final Method method = setter.setter();
+				final Class<?> returnType = method.getReturnType();
+				cob.invokevirtual(beanDesc, method.getName(), MethodTypeDesc.of(desc(returnType), desc(valueType)));
+				if (returnType == Long.TYPE || returnType == Double.TYPE)
+					cob.pop2();
+				else if (returnType != Void.TYPE)
+					cob.pop();
+			}
+			case FieldProperty field -> cob.putfield(beanDesc, field.field().getName(), desc(valueType));
+		}
+	}
+
+	private static Class<?> valueType(final WriteableProperty property) {
+		return switch (property) {
+			case FieldProperty field -> field.field().getType();
+			case SetterProperty setter -> setter.setter().getParameterTypes()[0];
+		};
+	}
+
+	private static ClassFile classFile(final Class<?> beanClass) {
+		final ClassHierarchyResolver resolver = ClassHierarchyResolver.defaultResolver().orElse(ClassHierarchyResolver.ofClassLoading(beanClass.getClassLoader()));
+		return ClassFile.of(ClassFile.ClassHierarchyResolverOption.of(resolver));
+	}
+
+	private static boolean isSupportedBean(final Class<?> beanClass) {
+		if (beanClass.isAnnotation() || beanClass.isArray() || beanClass.isEnum() || beanClass.isPrimitive() || beanClass.isSynthetic() || beanClass.isHidden() || beanClass.isInterface())
+			return false;
+
+		// The generated class is resolved by the class loader of the bean
+		final ClassLoader loader = beanClass.getClassLoader();
+		for (final Class<?> supportClass : SUPPORT_CLASSES) {
+			try {
+				if (Class.forName(supportClass.getName(), false, loader) != supportClass)
+					return false;
+			} catch (final ClassNotFoundException ex) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isAccessible(final Member member, final Class<?> beanClass) {
+		final int modifiers = member.getModifiers();
+		if (Modifier.isPrivate(modifiers))
+			return false;
+		return Modifier.isPublic(modifiers) || isSamePackage(member.getDeclaringClass(), beanClass);
+	}
+
+	private static boolean isAccessible(final Class<?> type, final Class<?> beanClass) {
+		if (type.isPrimitive())
+			return true;
+		if (type.isArray())
+			return isAccessible(type.getComponentType(), beanClass);
+		if (type.isHidden())
+			return false;
+		if (isSamePackage(type, beanClass))
+			return true;
+		if (!Modifier.isPublic(type.getModifiers()) || !type.getModule().isExported(type.getPackageName()))
+			return false;
+		return type.getDeclaringClass() == null || isAccessible(type.getDeclaringClass(), beanClass);
+	}
+
+	private static boolean isSamePackage(final Class<?> a, final Class<?> b) {
+		return a.getClassLoader() == b.getClassLoader() && a.getPackageName().equals(b.getPackageName());
+	}
+
+	private static ClassDesc desc(final Class<?> clazz) {
+		return ClassDesc.ofDescriptor(clazz.descriptorString());
+	}
+}
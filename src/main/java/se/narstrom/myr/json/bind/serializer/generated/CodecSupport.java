@@ -0,0 +1,171 @@
+package se.narstrom.myr.json.bind.serializer.generated;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.serializer.DeserializationContext;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import se.narstrom.myr.json.bind.MyrJsonbContext;
+import se.narstrom.myr.json.bind.metrics.JsonbMetricsListener;
+import se.narstrom.myr.json.bind.reflect.GenericArrayTypeImpl;
+import se.narstrom.myr.json.bind.reflect.ParameterizedTypeImpl;
+import se.narstrom.myr.json.bind.serializer.basic.BooleanSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.DoubleSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.IntegerSerializer;
+import se.narstrom.myr.json.bind.serializer.basic.LongSerializer;
+
+/**
+ * Runtime support called from generated codecs, the generated code only contains the parts that are specific to a
+ * bean type.
+ */
+public final class CodecSupport {
+	private CodecSupport() {
+	}
+
+	public static boolean writeNulls(final SerializationContext context) {
+		return ((MyrJsonbContext) context).getSettings().nullValues();
+	}
+
+	public static void serializeProperty(final SerializationContext context, final JsonGenerator generator, final String name, final Object value, final boolean writeNulls) {
+		if (!writeNulls && isNullOrEmptyOptional(value))
+			return;
+
+		context.serialize(name, value, generator);
+	}
+
+	public static void serializeInt(final SerializationContext context, final JsonGenerator generator, final String name, final int value) {
+		if (((MyrJsonbContext) context).findSerializer(Integer.class) instanceof IntegerSerializer)
+			generator.write(name, value);
+		else
+			context.serialize(name, value, generator);
+	}
+
+	public static void serializeLong(final SerializationContext context, final JsonGenerator generator, final String name, final long value) {
+		if (((MyrJsonbContext) context).findSerializer(Long.class) instanceof LongSerializer)
+			generator.write(name, value);
+		else
+			context.serialize(name, value, generator);
+	}
+
+	public static void serializeDouble(final SerializationContext context, final JsonGenerator generator, final String name, final double value) {
+		if (((MyrJsonbContext) context).findSerializer(Double.class) instanceof DoubleSerializer)
+			generator.write(name, value);
+		else
+			context.serialize(name, value, generator);
+	}
+
+	public static void serializeBoolean(final SerializationContext context, final JsonGenerator generator, final String name, final boolean value) {
+		if (((MyrJsonbContext) context).findSerializer(Boolean.class) instanceof BooleanSerializer)
+			generator.write(name, value);
+		else
+			context.serialize(name, value, generator);
+	}
+
+	/**
+	 * @return {@code false} if the value is {@code null}
+	 */
+	public static boolean startObject(final JsonParser parser) {
+		if (parser.currentEvent() == Event.VALUE_NULL)
+			return false;
+
+		if (parser.currentEvent() != Event.START_OBJECT)
+			throw new JsonbException("Not an object, event: " + parser.currentEvent());
+
+		return true;
+	}
+
+	/**
+	 * @return the name of the next property, or {@code null} at the end of the object
+	 */
+	public static String nextProperty(final JsonParser parser) {
+		final Event event = parser.next();
+		if (event == Event.END_OBJECT)
+			return null;
+
+		assert event == Event.KEY_NAME;
+		return parser.getString();
+	}
+
+	public static void skipProperty(final String name, final JsonParser parser, final DeserializationContext context, final Type type) {
+		if (((MyrJsonbContext) context).getSettings().failOnUnknownProperties())
+			throw new JsonbException("Unknown property: " + name);
+
+		final JsonbMetricsListener metrics = ((MyrJsonbContext) context).getMetrics();
+		if (metrics != null)
+			metrics.unknownPropertySkipped(type, name);
+
+		parser.next();
+		parser.getValue();
+	}
+
+	/**
+	 * Builds the generic type of a property in source generated codecs, where no {@link Type} literal exists.
+	 *
+	 * The owner is the declaring class, as in the types reflected by the JDK, so that the two are equal and share the
+	 * cached lookups.
+	 */
+	public static Type parameterized(final Class<?> rawType, final Type... arguments) {
+		return new ParameterizedTypeImpl(rawType.getDeclaringClass(), rawType, arguments);
+	}
+
+	/**
+	 * Builds the type of an inner class of a parameterized type, like {@code Outer<String>.Inner<Integer>}.
+	 */
+	public static Type parameterizedInner(final Type ownerType, final Class<?> rawType, final Type... arguments) {
+		return new ParameterizedTypeImpl(ownerType, rawType, arguments);
+	}
+
+	public static Type arrayOf(final Type componentType) {
+		return new GenericArrayTypeImpl(componentType);
+	}
+
+	public static boolean toBoolean(final Object value) {
+		return (Boolean) requireNonNull(value);
+	}
+
+	public static byte toByte(final Object value) {
+		return (Byte) requireNonNull(value);
+	}
+
+	public static char toChar(final Object value) {
+		return (Character) requireNonNull(value);
+	}
+
+	public static short toShort(final Object value) {
+		return (Short) requireNonNull(value);
+	}
+
+	public static int toInt(final Object value) {
+		return (Integer) requireNonNull(value);
+	}
+
+	public static long toLong(final Object value) {
+		return (Long) requireNonNull(value);
+	}
+
+	public static float toFloat(final Object value) {
+		return (Float) requireNonNull(value);
+	}
+
+	public static double toDouble(final Object value) {
+		return (Double) requireNonNull(value);
+	}
+
+	private static Object requireNonNull(final Object value) {
+		if (value == null)
+			throw new JsonbException("Cannot assign null to a primitive property");
+		return value;
+	}
+
+	private static boolean isNullOrEmptyOptional(final Object value) {
+		return value == null || (value instanceof Optional opt && opt.isEmpty()) || (value instanceof OptionalDouble opt && opt.isEmpty()) || (value instanceof OptionalInt opt && opt.isEmpty())
+				|| (value instanceof OptionalLong opt && opt.isEmpty());
+	}
+}
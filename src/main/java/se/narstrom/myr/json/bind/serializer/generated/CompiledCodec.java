@@ -0,0 +1,23 @@
+package se.narstrom.myr.json.bind.serializer.generated;
+
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.bind.serializer.JsonbSerializer;
+
+/**
+ * A codec generated at compile time by the {@code myrjsonbind-processor} annotation processor, registered with
+ * {@link java.util.ServiceLoader}.
+ *
+ * A compiled codec is only used for exactly its type, and only in place of the reflective or generated default codec.
+ * Built in (de)serializers and configured adapters still take precedence.
+ */
+public interface CompiledCodec {
+	Class<?> type();
+
+	JsonbSerializer<?> serializer();
+
+	/**
+	 * @return the deserializer, or {@code null} if deserialization is left to the default codec, as for polymorphic
+	 *         types
+	 */
+	JsonbDeserializer<?> deserializer();
+}
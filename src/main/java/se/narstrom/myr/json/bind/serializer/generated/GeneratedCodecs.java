@@ -0,0 +1,85 @@
+package se.narstrom.myr.json.bind.serializer.generated;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import se.narstrom.myr.json.bind.reflect.ReflectionUtilities;
+import se.narstrom.myr.json.bind.serializer.defaults.BeanModel;
+
+/**
+ * Generated codecs, at most one per bean type and shared between all Jsonb instances.
+ *
+ * A type the generator can not handle is remembered as such, and is left to the reflective codecs.
+ */
+public final class GeneratedCodecs {
+	private static final Logger LOG = Logger.getLogger(GeneratedCodecs.class.getName());
+
+	private static final ClassValue<Optional<JsonbSerializer<Object>>> SERIALIZERS = new ClassValue<>() {
+		@Override
+		protected Optional<JsonbSerializer<Object>> computeValue(final Class<?> clazz) {
+			try {
+				return Optional.ofNullable(CodecGenerator.generateSerializer(clazz, BeanModel.of(clazz).serialization()));
+			} catch (final ReflectiveOperationException | RuntimeException | LinkageError ex) {
+				LOG.log(Level.FINE, ex, () -> "Not generating a serializer for " + clazz.getName());
+				return Optional.empty();
+			}
+		}
+	};
+
+	// Keyed on the owner of the type, see ReflectionUtilities.getOwner, so that a deserializer is dropped when any class of
+	// its type can be unloaded
+	private static final ClassValue<ConcurrentMap<Type, Optional<JsonbDeserializer<Object>>>> DESERIALIZERS = new ClassValue<>() {
+		@Override
+		protected ConcurrentMap<Type, Optional<JsonbDeserializer<Object>>> computeValue(final Class<?> clazz) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private GeneratedCodecs() {
+	}
+
+	/**
+	 * @return the generated serializer for the class, or {@code null}
+	 */
+	public static JsonbSerializer<Object> serializer(final Class<?> clazz) {
+		return SERIALIZERS.get(clazz).orElse(null);
+	}
+
+	/**
+	 * @return the generated deserializer for the type, or {@code null}
+	 */
+	public static JsonbDeserializer<Object> deserializer(final Type type) {
+		final Class<?> owner = ReflectionUtilities.getOwner(type);
+		// Not generated, the classes of the type have unrelated class loaders and the reflective codecs are cheaper than
+		// generating on every call
+		if (owner == null)
+			return null;
+
+		final ConcurrentMap<Type, Optional<JsonbDeserializer<Object>>> deserializers = DESERIALIZERS.get(owner);
+
+		Optional<JsonbDeserializer<Object>> deserializer = deserializers.get(type);
+		if (deserializer == null)
+			deserializer = deserializers.computeIfAbsent(type, GeneratedCodecs::generateDeserializer);
+
+		return deserializer.orElse(null);
+	}
+
+	private static Optional<JsonbDeserializer<Object>> generateDeserializer(final Type type) {
+		final Class<?> clazz = ReflectionUtilities.getRawType(type);
+		try {
+			final BeanModel model = BeanModel.of(type);
+			if (model.typeInfo() != null)
+				return Optional.empty();
+			return Optional.ofNullable(CodecGenerator.generateDeserializer(clazz, model.deserialization()));
+		} catch (final ReflectiveOperationException | RuntimeException | LinkageError ex) {
+			LOG.log(Level.FINE, ex, () -> "Not generating a deserializer for " + type.getTypeName());
+			return Optional.empty();
+		}
+	}
+}
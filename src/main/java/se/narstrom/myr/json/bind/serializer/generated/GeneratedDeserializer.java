@@ -0,0 +1,22 @@
+package se.narstrom.myr.json.bind.serializer.generated;
+
+import java.lang.reflect.Type;
+
+import jakarta.json.bind.serializer.DeserializationContext;
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.stream.JsonParser;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultDeserializer;
+
+// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-class
+public final class GeneratedDeserializer implements JsonbDeserializer<Object> {
+	private final DefaultDeserializer fallback = new DefaultDeserializer();
+
+	@Override
+	public Object deserialize(final JsonParser parser, final DeserializationContext context, final Type type) {
+		final JsonbDeserializer<Object> deserializer = GeneratedCodecs.deserializer(type);
+		if (deserializer != null)
+			return deserializer.deserialize(parser, context, type);
+		else
+			return fallback.deserialize(parser, context, type);
+	}
+}
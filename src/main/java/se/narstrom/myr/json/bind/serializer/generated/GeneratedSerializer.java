@@ -0,0 +1,20 @@
+package se.narstrom.myr.json.bind.serializer.generated;
+
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+import se.narstrom.myr.json.bind.serializer.defaults.DefaultSerializer;
+
+// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-class
+public final class GeneratedSerializer implements JsonbSerializer<Object> {
+	private final DefaultSerializer fallback = new DefaultSerializer();
+
+	@Override
+	public void serialize(final Object object, final JsonGenerator generator, final SerializationContext context) {
+		final JsonbSerializer<Object> serializer = GeneratedCodecs.serializer(object.getClass());
+		if (serializer != null)
+			serializer.serialize(object, generator, context);
+		else
+			fallback.serialize(object, generator, context);
+	}
+}
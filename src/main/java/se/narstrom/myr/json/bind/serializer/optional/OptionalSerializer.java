@@ -22,8 +22,8 @@ public final class OptionalSerializer implements JsonbSerializer<Optional<?>>, J
 
 		final Type optionalType = ReflectionUtilities.getAncestorType(type, Optional.class);
 
-		if (optionalType instanceof ParameterizedType parameterized) {
-			final Type innerType = parameterized.getActualTypeArguments()[0];
+		if (optionalType instanceof ParameterizedType) {
+			final Type innerType = ReflectionUtilities.getTypeArgument(optionalType, 0);
 			return Optional.of(context.deserialize(innerType, parser));
 		} else {
 			return Optional.of(context.deserialize(Object.class, parser));
@@ -21,6 +21,21 @@ import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
 
 public final class CalendarSerializer implements JsonbSerializer<Calendar>, JsonbDeserializer<Calendar> {
+	private static final int HAS_DATE = 1;
+	private static final int HAS_TIME = 2;
+	private static final int HAS_SECOND = 4;
+	private static final int HAS_MILLI = 8;
+	private static final int HAS_ZONE_OFFSET = 16;
+
+	private static final DateTimeFormatter ISO_DATE_TIME_UTC = DateTimeFormatter.ISO_DATE_TIME.withZone(ZoneOffset.UTC);
+
+	// Indexed by the mask of set fields
+	private static final DateTimeFormatter[] FORMATTERS = new DateTimeFormatter[32];
+
+	static {
+		for (int fields = 0; fields < FORMATTERS.length; ++fields)
+			FORMATTERS[fields] = createFormatter(fields);
+	}
 
 	@Override
 	public Calendar deserialize(final JsonParser parser, final DeserializationContext ctx, final Type type) {
@@ -33,7 +48,7 @@ public final class CalendarSerializer implements JsonbSerializer<Calendar>, Json
 			if (str.indexOf('T') == -1) {
 				return GregorianCalendar.from(LocalDate.parse(str, DateTimeFormatter.ISO_DATE).atTime(0, 0).atZone(ZoneOffset.UTC));
 			} else {
-				return GregorianCalendar.from(ZonedDateTime.parse(str, DateTimeFormatter.ISO_DATE_TIME.withZone(ZoneOffset.UTC)));
+				return GregorianCalendar.from(ZonedDateTime.parse(str, ISO_DATE_TIME_UTC));
 			}
 		} catch (final DateTimeException ex) {
 			throw new JsonbException(ex.getMessage(), ex);
@@ -48,6 +63,31 @@ public final class CalendarSerializer implements JsonbSerializer<Calendar>, Json
 		boolean hasMilli = hasSecond && obj.isSet(Calendar.MILLISECOND);
 		boolean hasZoneOffset = obj.isSet(Calendar.ZONE_OFFSET);
 
+		int fields = 0;
+		if (hasDate)
+			fields |= HAS_DATE;
+		if (hasTime)
+			fields |= HAS_TIME;
+		if (hasSecond)
+			fields |= HAS_SECOND;
+		if (hasMilli)
+			fields |= HAS_MILLI;
+		if (hasZoneOffset)
+			fields |= HAS_ZONE_OFFSET;
+
+		final DateTimeFormatter formatter = FORMATTERS[fields];
+
+		if (obj instanceof GregorianCalendar gregorian) {
+			generator.write(gregorian.toZonedDateTime().format(formatter));
+		} else {
+			generator.write(obj.toInstant().atZone(obj.getTimeZone().toZoneId()).format(formatter));
+		}
+	}
+
+	private static DateTimeFormatter createFormatter(final int fields) {
+		final boolean hasDate = (fields & HAS_DATE) != 0;
+		final boolean hasTime = (fields & HAS_TIME) != 0;
+
 		final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
 		if (hasDate || !hasTime)
 			builder.append(DateTimeFormatter.ISO_LOCAL_DATE);
@@ -58,26 +98,19 @@ public final class CalendarSerializer implements JsonbSerializer<Calendar>, Json
 			builder.appendLiteral(':');
 			builder.appendValue(ChronoField.MINUTE_OF_HOUR, 2);
 		}
-		if (hasSecond) {
+		if ((fields & HAS_SECOND) != 0) {
 			builder.appendLiteral(':');
 			builder.appendValue(ChronoField.SECOND_OF_MINUTE, 2);
 		}
-		if (hasMilli) {
+		if ((fields & HAS_MILLI) != 0) {
 			builder.appendFraction(ChronoField.NANO_OF_SECOND, 0, 3, true);
 		}
 		builder.appendOffsetId();
-		if (hasZoneOffset) {
+		if ((fields & HAS_ZONE_OFFSET) != 0) {
 			builder.appendLiteral('[');
 			builder.appendZoneRegionId();
 			builder.appendLiteral(']');
 		}
-
-		final DateTimeFormatter formatter = builder.toFormatter();
-
-		if (obj instanceof GregorianCalendar gregorian) {
-			generator.write(gregorian.toZonedDateTime().format(formatter));
-		} else {
-			generator.write(obj.toInstant().atZone(obj.getTimeZone().toZoneId()).format(formatter));
-		}
+		return builder.toFormatter();
 	}
 }
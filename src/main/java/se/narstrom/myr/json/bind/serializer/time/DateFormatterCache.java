@@ -0,0 +1,61 @@
+package se.narstrom.myr.json.bind.serializer.time;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import se.narstrom.myr.json.bind.MyrJsonbSettings;
+
+/**
+ * The formatter to use for a date type given the date format and locale of the settings.
+ *
+ * The formatter for the last seen settings is kept, so the common case of one Jsonb instance is a single read.
+ */
+final class DateFormatterCache {
+	private static final ConcurrentMap<Key, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+	private final DateTimeFormatter defaultFormatter;
+
+	private final ZoneId zone;
+
+	private volatile Resolved last;
+
+	private record Key(String pattern, DateTimeFormatter defaultFormatter, Locale locale, ZoneId zone) {
+	}
+
+	private record Resolved(MyrJsonbSettings settings, DateTimeFormatter formatter) {
+	}
+
+	/**
+	 * @param zone the zone override, or {@code null}
+	 */
+	DateFormatterCache(final DateTimeFormatter defaultFormatter, final ZoneId zone) {
+		this.defaultFormatter = defaultFormatter;
+		this.zone = zone;
+	}
+
+	DateTimeFormatter get(final MyrJsonbSettings settings) {
+		final Resolved resolved = last;
+		if (resolved != null && resolved.settings() == settings)
+			return resolved.formatter();
+
+		final Key key = new Key(settings.dateFormat(), settings.dateFormat() == null ? defaultFormatter : null, settings.locale(), zone);
+		final DateTimeFormatter formatter = FORMATTERS.computeIfAbsent(key, DateFormatterCache::createFormatter);
+		last = new Resolved(settings, formatter);
+		return formatter;
+	}
+
+	private static DateTimeFormatter createFormatter(final Key key) {
+		final DateTimeFormatter formatter;
+		if (key.pattern() != null)
+			formatter = DateTimeFormatter.ofPattern(key.pattern(), key.locale());
+		else
+			formatter = key.defaultFormatter().withLocale(key.locale());
+
+		if (key.zone() != null)
+			return formatter.withZone(key.zone());
+		return formatter;
+	}
+}
@@ -0,0 +1,338 @@
+package se.narstrom.myr.json.bind.serializer.time;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+/**
+ * Hand written ISO-8601 codecs for the common forms of the default java.time formats.
+ *
+ * The output is identical to the corresponding {@link DateTimeFormatter} constants. Values outside the common forms,
+ * like years outside 0000-9999, offsets with seconds or lower case separators, return {@code null} and are left to the
+ * formatter.
+ */
+final class IsoFormat {
+	// https://jakarta.ee/specifications/jsonb/3.0/jakarta-jsonb-spec-3.0#java-time
+	static final Codec<Instant> INSTANT = new Codec<>(IsoFormat::formatInstant, IsoFormat::parseInstant);
+	static final Codec<LocalDate> LOCAL_DATE = new Codec<>(IsoFormat::formatLocalDate, IsoFormat::parseLocalDate);
+	static final Codec<LocalDateTime> LOCAL_DATE_TIME = new Codec<>(IsoFormat::formatLocalDateTime, IsoFormat::parseLocalDateTime);
+	static final Codec<OffsetDateTime> OFFSET_DATE_TIME = new Codec<>(IsoFormat::formatOffsetDateTime, IsoFormat::parseOffsetDateTime);
+
+	private static final int SECONDS_PER_DAY = 86400;
+
+	// Days from 0000-03-01 to 1970-01-01
+	private static final long DAYS_0000_TO_1970 = 719468L;
+
+	record Codec<T>(Function<T, String> formatter, Function<String, T> parser) {
+		/**
+		 * @return the formatted value, or {@code null} if left to the formatter
+		 */
+		String format(final T value) {
+			return formatter.apply(value);
+		}
+
+		/**
+		 * @return the parsed value, or {@code null} if left to the formatter
+		 */
+		T parse(final String text) {
+			return parser.apply(text);
+		}
+	}
+
+	private IsoFormat() {
+	}
+
+	// DateTimeFormatter.ISO_INSTANT
+	private static String formatInstant(final Instant instant) {
+		final long epochDay = Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+		final int secondOfDay = (int) Math.floorMod(instant.getEpochSecond(), SECONDS_PER_DAY);
+
+		// Civil date from days, https://howardhinnant.github.io/date_algorithms.html#civil_from_days
+		final long shifted = epochDay + DAYS_0000_TO_1970;
+		final long era = Math.floorDiv(shifted, 146097);
+		final int dayOfEra = (int) (shifted - era * 146097);
+		final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+		final int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+		final int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+		final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+		if (year < 0 || year > 9999)
+			return null;
+
+		final int nano = instant.getNano();
+		final int fractionDigits;
+		final int fraction;
+		if (nano == 0) {
+			fractionDigits = 0;
+			fraction = 0;
+		} else if (nano % 1_000_000 == 0) {
+			fractionDigits = 3;
+			fraction = nano / 1_000_000;
+		} else if (nano % 1_000 == 0) {
+			fractionDigits = 6;
+			fraction = nano / 1_000;
+		} else {
+			fractionDigits = 9;
+			fraction = nano;
+		}
+
+		final char[] buf = new char[20 + (fractionDigits > 0 ? fractionDigits + 1 : 0)];
+		int pos = putDate(buf, 0, (int) year, month, day);
+		buf[pos++] = 'T';
+		pos = putTime(buf, pos, secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60);
+		pos = putFraction(buf, pos, fraction, fractionDigits);
+		buf[pos] = 'Z';
+		return new String(buf);
+	}
+
+	private static Instant parseInstant(final String text) {
+		if (text.length() < 20 || text.charAt(text.length() - 1) != 'Z' || text.length() > 20 && text.charAt(19) != '.')
+			return null;
+
+		final int year = parseDigits(text, 0, 4);
+		final int month = parseDigits(text, 5, 2);
+		final int day = parseDigits(text, 8, 2);
+		final int hour = parseDigits(text, 11, 2);
+		final int minute = parseDigits(text, 14, 2);
+		final int second = parseDigits(text, 17, 2);
+		final int nano = text.length() == 20 ? 0 : parseFraction(text, 20, text.length() - 1);
+
+		if ((year | month | day | hour | minute | second | nano) < 0 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':'
+				|| text.charAt(16) != ':')
+			return null;
+
+		if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) || hour > 23 || minute > 59 || second > 59)
+			return null;
+
+		// Days from civil, https://howardhinnant.github.io/date_algorithms.html#days_from_civil
+		final int shiftedYear = month <= 2 ? year - 1 : year;
+		final int era = Math.floorDiv(shiftedYear, 400);
+		final int yearOfEra = shiftedYear - era * 400;
+		final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+		final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		final long epochDay = era * 146097L + dayOfEra - DAYS_0000_TO_1970;
+
+		return Instant.ofEpochSecond(epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second, nano);
+	}
+
+	// DateTimeFormatter.ISO_LOCAL_DATE
+	private static String formatLocalDate(final LocalDate date) {
+		if (date.getYear() < 0 || date.getYear() > 9999)
+			return null;
+
+		final char[] buf = new char[10];
+		putDate(buf, 0, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+		return new String(buf);
+	}
+
+	private static LocalDate parseLocalDate(final String text) {
+		if (text.length() != 10)
+			return null;
+
+		final int year = parseDigits(text, 0, 4);
+		final int month = parseDigits(text, 5, 2);
+		final int day = parseDigits(text, 8, 2);
+
+		if ((year | month | day) < 0 || text.charAt(4) != '-' || text.charAt(7) != '-')
+			return null;
+
+		try {
+			return LocalDate.of(year, month, day);
+		} catch (final DateTimeException ex) {
+			return null;
+		}
+	}
+
+	// DateTimeFormatter.ISO_LOCAL_DATE_TIME
+	private static String formatLocalDateTime(final LocalDateTime dateTime) {
+		if (dateTime.getYear() < 0 || dateTime.getYear() > 9999)
+			return null;
+
+		final char[] buf = new char[19 + localFractionLength(dateTime.getNano())];
+		putLocalDateTime(buf, dateTime);
+		return new String(buf);
+	}
+
+	private static LocalDateTime parseLocalDateTime(final String text) {
+		return parseLocalDateTime(text, text.length());
+	}
+
+	// DateTimeFormatter.ISO_OFFSET_DATE_TIME
+	private static String formatOffsetDateTime(final OffsetDateTime dateTime) {
+		if (dateTime.getYear() < 0 || dateTime.getYear() > 9999)
+			return null;
+
+		// Same as appendOffsetId(), "Z" or +HH:MM with seconds only when non-zero
+		final String offset = dateTime.getOffset().getId();
+
+		final char[] buf = new char[19 + localFractionLength(dateTime.getNano()) + offset.length()];
+		final int pos = putLocalDateTime(buf, dateTime.toLocalDateTime());
+		offset.getChars(0, offset.length(), buf, pos);
+		return new String(buf);
+	}
+
+	private static OffsetDateTime parseOffsetDateTime(final String text) {
+		final int length = text.length();
+		final ZoneOffset offset;
+		final int end;
+		if (length > 0 && text.charAt(length - 1) == 'Z') {
+			offset = ZoneOffset.UTC;
+			end = length - 1;
+		} else if (length > 6 && (text.charAt(length - 6) == '+' || text.charAt(length - 6) == '-') && text.charAt(length - 3) == ':') {
+			final int hours = parseDigits(text, length - 5, 2);
+			final int minutes = parseDigits(text, length - 2, 2);
+			if ((hours | minutes) < 0)
+				return null;
+			try {
+				offset = text.charAt(length - 6) == '+' ? ZoneOffset.ofHoursMinutes(hours, minutes) : ZoneOffset.ofHoursMinutes(-hours, -minutes);
+			} catch (final DateTimeException ex) {
+				return null;
+			}
+			end = length - 6;
+		} else {
+			return null;
+		}
+
+		final LocalDateTime dateTime = parseLocalDateTime(text, end);
+		if (dateTime == null)
+			return null;
+		return OffsetDateTime.of(dateTime, offset);
+	}
+
+	// yyyy-MM-ddTHH:mm[:ss[.fffffffff]]
+	private static LocalDateTime parseLocalDateTime(final String text, final int end) {
+		if (end < 16 || end == 17 || end == 18 || end == 20 || end > 29)
+			return null;
+
+		final int year = parseDigits(text, 0, 4);
+		final int month = parseDigits(text, 5, 2);
+		final int day = parseDigits(text, 8, 2);
+		final int hour = parseDigits(text, 11, 2);
+		final int minute = parseDigits(text, 14, 2);
+
+		if ((year | month | day | hour | minute) < 0 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':')
+			return null;
+
+		int second = 0;
+		int nano = 0;
+		if (end > 16) {
+			second = parseDigits(text, 17, 2);
+			if (second < 0 || text.charAt(16) != ':')
+				return null;
+		}
+		if (end > 19) {
+			nano = parseFraction(text, 20, end);
+			if (nano < 0 || text.charAt(19) != '.')
+				return null;
+		}
+
+		try {
+			return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+		} catch (final DateTimeException ex) {
+			return null;
+		}
+	}
+
+	private static int putLocalDateTime(final char[] buf, final LocalDateTime dateTime) {
+		int pos = putDate(buf, 0, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth());
+		buf[pos++] = 'T';
+		pos = putTime(buf, pos, dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond());
+
+		// ISO_LOCAL_TIME prints as few fraction digits as possible
+		int fraction = dateTime.getNano();
+		int digits = 9;
+		if (fraction != 0) {
+			while (fraction % 10 == 0) {
+				fraction /= 10;
+				digits--;
+			}
+		}
+		return putFraction(buf, pos, fraction, fraction == 0 ? 0 : digits);
+	}
+
+	private static int localFractionLength(final int nano) {
+		if (nano == 0)
+			return 0;
+
+		int digits = 9;
+		for (int fraction = nano; fraction % 10 == 0; fraction /= 10)
+			digits--;
+		return digits + 1;
+	}
+
+	private static int putDate(final char[] buf, int pos, final int year, final int month, final int day) {
+		pos = putDigits(buf, pos, year, 4);
+		buf[pos++] = '-';
+		pos = putDigits(buf, pos, month, 2);
+		buf[pos++] = '-';
+		return putDigits(buf, pos, day, 2);
+	}
+
+	private static int putTime(final char[] buf, int pos, final int hour, final int minute, final int second) {
+		pos = putDigits(buf, pos, hour, 2);
+		buf[pos++] = ':';
+		pos = putDigits(buf, pos, minute, 2);
+		buf[pos++] = ':';
+		return putDigits(buf, pos, second, 2);
+	}
+
+	private static int putFraction(final char[] buf, int pos, final int fraction, final int digits) {
+		if (digits == 0)
+			return pos;
+		buf[pos++] = '.';
+		return putDigits(buf, pos, fraction, digits);
+	}
+
+	private static int putDigits(final char[] buf, final int pos, int value, final int digits) {
+		for (int i = pos + digits - 1; i >= pos; --i) {
+			buf[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		return pos + digits;
+	}
+
+	/**
+	 * @return the value, or {@code -1} if not all characters are ASCII digits
+	 */
+	private static int parseDigits(final String text, final int start, final int count) {
+		int value = 0;
+		for (int i = start; i < start + count; ++i) {
+			final char ch = text.charAt(i);
+			if (ch < '0' || ch > '9')
+				return -1;
+			value = value * 10 + (ch - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * @return the fraction in nanoseconds, or {@code -1} if not between one and nine ASCII digits
+	 */
+	private static int parseFraction(final String text, final int start, final int end) {
+		final int count = end - start;
+		if (count < 1 || count > 9)
+			return -1;
+
+		int value = parseDigits(text, start, count);
+		if (value < 0)
+			return -1;
+		for (int i = count; i < 9; ++i)
+			value *= 10;
+		return value;
+	}
+
+	private static int lengthOfMonth(final int year, final int month) {
+		return switch (month) {
+			case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+			case 4, 6, 9, 11 -> 30;
+			default -> 31;
+		};
+	}
+}
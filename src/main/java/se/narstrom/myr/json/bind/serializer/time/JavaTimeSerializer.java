@@ -2,14 +2,15 @@ package se.narstrom.myr.json.bind.serializer.time;
 
 import java.lang.reflect.Type;
 import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalQuery;
-import java.util.Locale;
-import java.util.Optional;
 
-import jakarta.json.bind.JsonbConfig;
 import jakarta.json.bind.JsonbException;
 import jakarta.json.bind.serializer.DeserializationContext;
 import jakarta.json.bind.serializer.JsonbDeserializer;
@@ -19,27 +20,62 @@ import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
 import se.narstrom.myr.json.bind.MyrJsonbContext;
+import se.narstrom.myr.json.bind.MyrJsonbSettings;
 import se.narstrom.myr.json.bind.serializer.defaults.Property;
 import se.narstrom.myr.json.bind.serializer.defaults.PropertyDeserializer;
 
 public final class JavaTimeSerializer<T extends TemporalAccessor> implements JsonbSerializer<T>, JsonbDeserializer<T>, PropertyDeserializer<T> {
-	private final DateTimeFormatter defaultFormatter;
+	private final DateFormatterCache formatters;
 
 	private final TemporalQuery<T> temporalQuery;
 
+	private final IsoFormat.Codec<T> isoCodec;
+
 	public JavaTimeSerializer(final DateTimeFormatter formatter, final TemporalQuery<T> temporalQuery) {
-		this.defaultFormatter = formatter;
+		this(formatter, temporalQuery, null);
+	}
+
+	/**
+	 * @param isoCodec fast path for the default format, or {@code null}
+	 */
+	JavaTimeSerializer(final DateTimeFormatter formatter, final TemporalQuery<T> temporalQuery, final IsoFormat.Codec<T> isoCodec) {
+		this.formatters = new DateFormatterCache(formatter, null);
 		this.temporalQuery = temporalQuery;
+		this.isoCodec = isoCodec;
+	}
+
+	public static JavaTimeSerializer<Instant> instant() {
+		return new JavaTimeSerializer<>(DateTimeFormatter.ISO_INSTANT, Instant::from, IsoFormat.INSTANT);
+	}
+
+	public static JavaTimeSerializer<LocalDate> localDate() {
+		return new JavaTimeSerializer<>(DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from, IsoFormat.LOCAL_DATE);
+	}
+
+	public static JavaTimeSerializer<LocalDateTime> localDateTime() {
+		return new JavaTimeSerializer<>(DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from, IsoFormat.LOCAL_DATE_TIME);
+	}
+
+	public static JavaTimeSerializer<OffsetDateTime> offsetDateTime() {
+		return new JavaTimeSerializer<>(DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from, IsoFormat.OFFSET_DATE_TIME);
 	}
 
 	@Override
 	public T deserialize(final JsonParser parser, final DeserializationContext context, final Type type) {
-		final DateTimeFormatter formatter = findFormatter((MyrJsonbContext) context);
-
 		if (parser.currentEvent() != Event.VALUE_STRING)
 			throw new JsonbException("Not a string");
+
+		final MyrJsonbSettings settings = ((MyrJsonbContext) context).getSettings();
+		final String str = parser.getString();
+
+		if (isoCodec != null && settings.dateFormat() == null) {
+			final T value = isoCodec.parse(str);
+			if (value != null)
+				return value;
+		}
+
 		try {
-			return formatter.parse(parser.getString(), temporalQuery);
+			return formatters.get(settings).parse(str, temporalQuery);
 		} catch (final DateTimeParseException ex) {
 			throw new JsonbException(ex.getMessage(), ex);
 		}
@@ -53,28 +89,20 @@ public final class JavaTimeSerializer<T extends TemporalAccessor> implements Jso
 
 	@Override
 	public void serialize(final T obj, final JsonGenerator generator, final SerializationContext context) {
-		final DateTimeFormatter formatter = findFormatter((MyrJsonbContext) context);
+		final MyrJsonbSettings settings = ((MyrJsonbContext) context).getSettings();
+
+		if (isoCodec != null && settings.dateFormat() == null) {
+			final String str = isoCodec.format(obj);
+			if (str != null) {
+				generator.write(str);
+				return;
+			}
+		}
 
 		try {
-			generator.write(formatter.format(obj));
+			generator.write(formatters.get(settings).format(obj));
 		} catch (final DateTimeException ex) {
 			throw new JsonbException(ex.getMessage(), ex);
 		}
 	}
-
-	private DateTimeFormatter findFormatter(final MyrJsonbContext context) {
-		final Optional<String> format = context.getConfig().getProperty(JsonbConfig.DATE_FORMAT).map(obj -> (String) obj);
-		final Locale locale = findLocale(context);
-
-		final DateTimeFormatter formatter;
-		if (format.isPresent())
-			formatter = DateTimeFormatter.ofPattern(format.get(), locale);
-		else
-			formatter = defaultFormatter.withLocale(locale);
-		return formatter;
-	}
-
-	private Locale findLocale(final MyrJsonbContext context) {
-		return context.getConfig().getProperty(JsonbConfig.LOCALE).map(obj -> (Locale) obj).orElseGet(Locale::getDefault);
-	}
 }
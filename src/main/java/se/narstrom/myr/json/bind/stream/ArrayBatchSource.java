@@ -0,0 +1,103 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Function;
+
+/**
+ * Reads a top level JSON array in UTF-8 and splits it into batches of elements, each batch as the text of a smaller
+ * JSON array.
+ */
+public final class ArrayBatchSource<T> implements BatchingSpliterator.Source<T> {
+	private static final int READ_SIZE = 64 * 1024;
+
+	// A batch is also completed once it is this large, whatever the number of elements
+	private static final int MAX_BATCH_BYTES = 1024 * 1024;
+
+	private final InputStream stream;
+
+	private final int batchSize;
+
+	private final Function<byte[], Spliterator<T>> binder;
+
+	private final ArrayElementScanner scanner = new ArrayElementScanner(this::element);
+
+	private final Deque<byte[]> batches = new ArrayDeque<>();
+
+	private final byte[] readBuffer = new byte[READ_SIZE];
+
+	private byte[] batch = new byte[READ_SIZE];
+
+	private int batchLength = 0;
+
+	private int batchElements = 0;
+
+	private boolean done = false;
+
+	/**
+	 * @param batchSize the number of elements in a batch
+	 * @param binder    binds the elements of a batch, given the text of a JSON array
+	 */
+	public ArrayBatchSource(final InputStream stream, final int batchSize, final Function<byte[], Spliterator<T>> binder) {
+		this.stream = stream;
+		this.batchSize = batchSize;
+		this.binder = binder;
+	}
+
+	@Override
+	public Spliterator<T> nextBatch() {
+		final byte[] next;
+		synchronized (this) {
+			try {
+				while (batches.isEmpty() && !done) {
+					final int count = stream.read(readBuffer);
+					if (count < 0) {
+						scanner.finish();
+						completeBatch();
+						done = true;
+					} else {
+						scanner.feed(readBuffer, 0, count);
+					}
+				}
+			} catch (final IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			next = batches.poll();
+		}
+
+		if (next == null)
+			return null;
+		return binder.apply(next);
+	}
+
+	private void element(final byte[] buffer, final int offset, final int length) {
+		ensureCapacity(length + 2);
+		batch[batchLength++] = (byte) (batchElements == 0 ? '[' : ',');
+		System.arraycopy(buffer, offset, batch, batchLength, length);
+		batchLength += length;
+
+		if (++batchElements == batchSize || batchLength >= MAX_BATCH_BYTES)
+			completeBatch();
+	}
+
+	private void completeBatch() {
+		if (batchElements == 0)
+			return;
+
+		ensureCapacity(1);
+		batch[batchLength++] = ']';
+		batches.add(Arrays.copyOf(batch, batchLength));
+		batchLength = 0;
+		batchElements = 0;
+	}
+
+	private void ensureCapacity(final int count) {
+		if (batchLength + count > batch.length)
+			batch = Arrays.copyOf(batch, Math.max(batch.length * 2, batchLength + count));
+	}
+}
@@ -0,0 +1,234 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import jakarta.json.bind.JsonbException;
+
+/**
+ * Push based scanner that splits the UTF-8 text of a top level JSON array into the texts of its elements, or a sequence
+ * of top level JSON values into the texts of the values.
+ *
+ * Only the structure is tracked, strings and escapes included, the elements themselves are validated when parsed. Bytes
+ * can be fed in chunks of any size, an element may span any number of chunks.
+ */
+public final class ArrayElementScanner {
+	private static final int INITIAL_CAPACITY = 256;
+
+	private static final byte[] BYTE_ORDER_MARK = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	private final ElementSink sink;
+
+	private final boolean array;
+
+	private State state;
+
+	private byte[] element = new byte[INITIAL_CAPACITY];
+
+	private int length = 0;
+
+	private int depth = 0;
+
+	private boolean inString = false;
+
+	private boolean escaped = false;
+
+	private long position = 0;
+
+	// Bytes of the byte order mark seen at the start of the input
+	private int byteOrderMark = 0;
+
+	@FunctionalInterface
+	public interface ElementSink {
+		/**
+		 * @param buffer only valid during the call
+		 */
+		void element(byte[] buffer, int offset, int length);
+	}
+
+	private enum State {
+		BEFORE_ARRAY, BEFORE_FIRST_ELEMENT, BEFORE_ELEMENT, IN_ELEMENT, AFTER_ELEMENT, AFTER_ARRAY
+	}
+
+	public ArrayElementScanner(final ElementSink sink) {
+		this(sink, true);
+	}
+
+	/**
+	 * @param array {@code true} to split the elements of one top level array, {@code false} to split a sequence of
+	 *              values separated by whitespace
+	 */
+	public ArrayElementScanner(final ElementSink sink, final boolean array) {
+		this.sink = sink;
+		this.array = array;
+		this.state = array ? State.BEFORE_ARRAY : State.BEFORE_ELEMENT;
+	}
+
+	public void feed(final byte[] buffer, final int offset, final int count) {
+		for (int i = offset; i < offset + count; ++i) {
+			accept(buffer[i]);
+			++position;
+		}
+	}
+
+	public void feed(final ByteBuffer buffer) {
+		while (buffer.hasRemaining()) {
+			accept(buffer.get());
+			++position;
+		}
+	}
+
+	/**
+	 * Called at the end of the input.
+	 *
+	 * @throws JsonbException if the array is not complete
+	 */
+	public void finish() {
+		if (byteOrderMark > 0 && byteOrderMark < BYTE_ORDER_MARK.length)
+			throw new JsonbException("Unexpected end of input at byte " + position);
+
+		// A number or literal is only known to be complete at the end of the input
+		if (!array && state == State.IN_ELEMENT && depth == 0 && !inString)
+			emit();
+
+		if (state != (array ? State.AFTER_ARRAY : State.BEFORE_ELEMENT))
+			throw new JsonbException("Unexpected end of input at byte " + position);
+	}
+
+	/**
+	 * @return {@code true} once the closing bracket of the array is seen
+	 */
+	public boolean isComplete() {
+		return state == State.AFTER_ARRAY;
+	}
+
+	private void accept(final byte b) {
+		// Only the complete UTF-8 byte order mark, and only at the start of the input
+		if (position == byteOrderMark && position < BYTE_ORDER_MARK.length) {
+			if (b == BYTE_ORDER_MARK[byteOrderMark]) {
+				++byteOrderMark;
+				return;
+			}
+			if (byteOrderMark > 0)
+				throw unexpected(b);
+		}
+
+		switch (state) {
+			case BEFORE_ARRAY -> {
+				if (isWhitespace(b))
+					return;
+				if (b != '[')
+					throw unexpected(b);
+				state = State.BEFORE_FIRST_ELEMENT;
+			}
+			case BEFORE_FIRST_ELEMENT, BEFORE_ELEMENT -> {
+				if (isWhitespace(b))
+					return;
+				if (b == ']' && state == State.BEFORE_FIRST_ELEMENT) {
+					state = State.AFTER_ARRAY;
+					return;
+				}
+				if (b == ']' || b == '}' || b == ',')
+					throw unexpected(b);
+				state = State.IN_ELEMENT;
+				length = 0;
+				depth = 0;
+				inString = false;
+				escaped = false;
+				acceptInElement(b);
+			}
+			case IN_ELEMENT -> acceptInElement(b);
+			case AFTER_ELEMENT -> afterElement(b);
+			case AFTER_ARRAY -> {
+				if (!isWhitespace(b))
+					throw unexpected(b);
+			}
+		}
+	}
+
+	private void acceptInElement(final byte b) {
+		if (inString) {
+			append(b);
+			if (escaped) {
+				escaped = false;
+			} else if (b == '\\') {
+				escaped = true;
+			} else if (b == '"') {
+				inString = false;
+				if (depth == 0)
+					emit();
+			}
+			return;
+		}
+
+		switch (b) {
+			case '"' -> {
+				append(b);
+				inString = true;
+			}
+			case '{', '[' -> {
+				append(b);
+				++depth;
+			}
+			case '}', ']' -> {
+				if (depth == 0) {
+					// End of the array right after a number or literal
+					emit();
+					accept(b);
+					return;
+				}
+				append(b);
+				if (--depth == 0)
+					emit();
+			}
+			case ',' -> {
+				if (depth == 0) {
+					emit();
+					accept(b);
+				} else {
+					append(b);
+				}
+			}
+			case ' ', '\t', '\n', '\r' -> {
+				if (depth == 0)
+					emit();
+				else
+					append(b);
+			}
+			default -> append(b);
+		}
+	}
+
+	private void afterElement(final byte b) {
+		if (isWhitespace(b))
+			return;
+		if (!array)
+			throw unexpected(b);
+		if (b == ',')
+			state = State.BEFORE_ELEMENT;
+		else if (b == ']')
+			state = State.AFTER_ARRAY;
+		else
+			throw unexpected(b);
+	}
+
+	private void emit() {
+		state = array ? State.AFTER_ELEMENT : State.BEFORE_ELEMENT;
+		sink.element(element, 0, length);
+		length = 0;
+	}
+
+	private void append(final byte b) {
+		if (length == element.length)
+			element = Arrays.copyOf(element, length * 2);
+		element[length++] = b;
+	}
+
+	private JsonbException unexpected(final byte b) {
+		return new JsonbException("Unexpected character '" + (char) (b & 0xFF) + "' at byte " + position);
+	}
+
+	private static boolean isWhitespace(final byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+	}
+}
@@ -0,0 +1,69 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.lang.reflect.Type;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.serializer.DeserializationContext;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+
+/**
+ * Deserializes the elements of a JSON array one at a time, as they are requested.
+ *
+ * The parser is positioned before the array, and the elements are read from it in order, so the spliterator can not
+ * be split.
+ */
+public final class ArrayElementSpliterator<T> implements Spliterator<T> {
+	private final JsonParser parser;
+
+	private final DeserializationContext context;
+
+	private final Type elementType;
+
+	private boolean started = false;
+
+	private boolean done = false;
+
+	public ArrayElementSpliterator(final JsonParser parser, final DeserializationContext context, final Type elementType) {
+		this.parser = parser;
+		this.context = context;
+		this.elementType = elementType;
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super T> action) {
+		if (done)
+			return false;
+
+		if (!started) {
+			started = true;
+			if (!parser.hasNext() || parser.next() != Event.START_ARRAY)
+				throw new JsonbException("Not an array");
+		}
+
+		if (parser.next() == Event.END_ARRAY) {
+			done = true;
+			return false;
+		}
+
+		action.accept(context.deserialize(elementType, parser));
+		return true;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED;
+	}
+}
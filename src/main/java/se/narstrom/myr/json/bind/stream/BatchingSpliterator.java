@@ -0,0 +1,67 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a sequential source that hands out its elements in batches, so that the elements of each batch can
+ * be bound on a different thread.
+ *
+ * Splitting takes the next batch from the source, which is always a prefix of the remaining elements, so encounter
+ * order is kept.
+ */
+public final class BatchingSpliterator<T> implements Spliterator<T> {
+	private final Source<T> source;
+
+	private Spliterator<T> current = null;
+
+	@FunctionalInterface
+	public interface Source<T> {
+		/**
+		 * Must be thread safe.
+		 *
+		 * @return the next batch, or {@code null} at the end of the source
+		 */
+		Spliterator<T> nextBatch();
+	}
+
+	public BatchingSpliterator(final Source<T> source) {
+		this.source = source;
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super T> action) {
+		while (true) {
+			if (current == null) {
+				current = source.nextBatch();
+				if (current == null)
+					return false;
+			}
+
+			if (current.tryAdvance(action))
+				return true;
+
+			current = null;
+		}
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		if (current != null) {
+			final Spliterator<T> prefix = current;
+			current = null;
+			return prefix;
+		}
+		return source.nextBatch();
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED;
+	}
+}
@@ -0,0 +1,85 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Non-blocking deserialization of UTF-8 input pushed in chunks as it arrives.
+ *
+ * Values are handed out as soon as their last byte is fed, either the elements of a top level array or each value of a
+ * whitespace separated sequence. Only the text of completed values not yet taken and of the value being read is
+ * buffered. When {@link #hasNext()} returns {@code false} more input is needed.
+ *
+ * Not thread safe, a feed is used by one thread at a time.
+ */
+public final class JsonFeed<T> {
+	private final ArrayElementScanner scanner;
+
+	private final Function<byte[], T> binder;
+
+	private final Deque<byte[]> values = new ArrayDeque<>();
+
+	private boolean finished = false;
+
+	/**
+	 * @param array  {@code true} for the elements of a top level array, {@code false} for a sequence of values
+	 * @param binder deserializes the UTF-8 text of one value
+	 */
+	public JsonFeed(final boolean array, final Function<byte[], T> binder) {
+		this.scanner = new ArrayElementScanner(this::value, array);
+		this.binder = binder;
+	}
+
+	/**
+	 * Consumes all remaining bytes of the buffer.
+	 */
+	public void feed(final ByteBuffer chunk) {
+		if (finished)
+			throw new IllegalStateException("Feed is finished");
+		scanner.feed(chunk);
+	}
+
+	/**
+	 * Signals the end of the input.
+	 *
+	 * @throws jakarta.json.bind.JsonbException if the input ends in the middle of a value
+	 */
+	public void finish() {
+		if (!finished) {
+			finished = true;
+			scanner.finish();
+		}
+	}
+
+	/**
+	 * @return {@code true} if a completed value is available
+	 */
+	public boolean hasNext() {
+		return !values.isEmpty();
+	}
+
+	/**
+	 * Deserializes the next completed value.
+	 */
+	public T next() {
+		final byte[] value = values.poll();
+		if (value == null)
+			throw new NoSuchElementException();
+		return binder.apply(value);
+	}
+
+	/**
+	 * @return {@code true} once the input is finished and all values are taken
+	 */
+	public boolean isDone() {
+		return finished && values.isEmpty();
+	}
+
+	private void value(final byte[] buffer, final int offset, final int length) {
+		values.add(Arrays.copyOfRange(buffer, offset, offset + length));
+	}
+}
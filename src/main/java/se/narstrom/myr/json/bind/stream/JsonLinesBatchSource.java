@@ -0,0 +1,59 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.function.Function;
+
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
+
+/**
+ * Reads newline delimited JSON in batches of lines, each batch deserialized by a {@link JsonLinesSpliterator} that
+ * reports the line numbers of the whole input.
+ */
+public final class JsonLinesBatchSource<T> implements BatchingSpliterator.Source<T> {
+	private final BufferedReader reader;
+
+	private final int batchSize;
+
+	private final JsonParserFactory parserFactory;
+
+	private final Function<JsonParser, T> binder;
+
+	private long lineNumber = 0;
+
+	/**
+	 * @param batchSize the number of lines in a batch
+	 */
+	public JsonLinesBatchSource(final BufferedReader reader, final int batchSize, final JsonParserFactory parserFactory, final Function<JsonParser, T> binder) {
+		this.reader = reader;
+		this.batchSize = batchSize;
+		this.parserFactory = parserFactory;
+		this.binder = binder;
+	}
+
+	@Override
+	public Spliterator<T> nextBatch() {
+		final StringBuilder lines = new StringBuilder();
+		final long firstLine;
+		synchronized (this) {
+			firstLine = lineNumber;
+			try {
+				String line;
+				for (int i = 0; i < batchSize && (line = reader.readLine()) != null; ++i) {
+					lines.append(line).append('\n');
+					++lineNumber;
+				}
+			} catch (final IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			if (lineNumber == firstLine)
+				return null;
+		}
+
+		return new JsonLinesSpliterator<>(new BufferedReader(new StringReader(lines.toString())), parserFactory, binder, firstLine);
+	}
+}
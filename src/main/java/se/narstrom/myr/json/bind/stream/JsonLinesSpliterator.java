@@ -0,0 +1,102 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import jakarta.json.JsonException;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
+
+/**
+ * Deserializes newline delimited JSON, one value per line, as the values are requested.
+ *
+ * Blank lines are skipped and leading RFC 7464 record separators are ignored, so JSON text sequences can be read as
+ * well. Errors are reported with the line number of the value.
+ */
+public final class JsonLinesSpliterator<T> implements Spliterator<T> {
+	static final char RECORD_SEPARATOR = '\u001E';
+
+	private final BufferedReader reader;
+
+	private final JsonParserFactory parserFactory;
+
+	private final Function<JsonParser, T> binder;
+
+	private long lineNumber;
+
+	/**
+	 * @param binder deserializes the value, called with the parser positioned before the value
+	 */
+	public JsonLinesSpliterator(final BufferedReader reader, final JsonParserFactory parserFactory, final Function<JsonParser, T> binder) {
+		this(reader, parserFactory, binder, 0);
+	}
+
+	/**
+	 * @param linesBefore number of lines before the first line of the reader, for error messages
+	 */
+	public JsonLinesSpliterator(final BufferedReader reader, final JsonParserFactory parserFactory, final Function<JsonParser, T> binder, final long linesBefore) {
+		this.reader = reader;
+		this.parserFactory = parserFactory;
+		this.binder = binder;
+		this.lineNumber = linesBefore;
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super T> action) {
+		final String line = nextLine();
+		if (line == null)
+			return false;
+
+		final T value;
+		try (final JsonParser parser = parserFactory.createParser(new StringReader(line))) {
+			value = binder.apply(parser);
+			if (parser.hasNext())
+				throw new JsonbException("Unexpected data after the value");
+		} catch (final JsonbException | JsonException ex) {
+			throw new JsonbException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+		}
+
+		action.accept(value);
+		return true;
+	}
+
+	private String nextLine() {
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				++lineNumber;
+
+				int start = 0;
+				while (start < line.length() && (line.charAt(start) == RECORD_SEPARATOR || Character.isWhitespace(line.charAt(start))))
+					++start;
+
+				if (start < line.length())
+					return line.substring(start);
+			}
+			return null;
+		} catch (final IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED;
+	}
+}
@@ -0,0 +1,78 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+import jakarta.json.JsonException;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+
+/**
+ * Writes newline delimited JSON, one value per line, optionally preceded by a RFC 7464 record separator.
+ */
+public final class JsonLinesWriter {
+	private final Writer writer;
+
+	private final JsonGeneratorFactory generatorFactory;
+
+	private final BiConsumer<Object, JsonGenerator> serializer;
+
+	private final boolean recordSeparator;
+
+	/**
+	 * @param writer     the destination, should be buffered
+	 * @param serializer writes one value to the generator
+	 */
+	public JsonLinesWriter(final Writer writer, final JsonGeneratorFactory generatorFactory, final BiConsumer<Object, JsonGenerator> serializer, final boolean recordSeparator) {
+		this.writer = writer;
+		this.generatorFactory = generatorFactory;
+		this.serializer = serializer;
+		this.recordSeparator = recordSeparator;
+	}
+
+	public void writeAll(final Iterator<?> values) {
+		long lineNumber = 0;
+		try {
+			final Writer lineWriter = new NonClosingWriter(writer);
+			while (values.hasNext()) {
+				final Object value = values.next();
+				++lineNumber;
+
+				if (recordSeparator)
+					writer.write(JsonLinesSpliterator.RECORD_SEPARATOR);
+
+				// Closing the generator ends the value, the shared writer stays open
+				try (final JsonGenerator generator = generatorFactory.createGenerator(lineWriter)) {
+					serializer.accept(value, generator);
+				}
+
+				writer.write('\n');
+			}
+			writer.flush();
+		} catch (final JsonbException | JsonException ex) {
+			throw new JsonbException("Line " + lineNumber + ": " + ex.getMessage(), ex);
+		} catch (final IOException ex) {
+			throw new JsonbException("I/O error on line " + lineNumber, ex);
+		}
+	}
+
+	private static final class NonClosingWriter extends FilterWriter {
+		private NonClosingWriter(final Writer out) {
+			super(out);
+		}
+
+		@Override
+		public void flush() {
+			/* Flushed once all values are written */
+		}
+
+		@Override
+		public void close() {
+			/* The shared writer stays open */
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package se.narstrom.myr.json.bind.stream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Publishes serialized output as chunks of at most a fixed size, produced only when there is demand.
+ *
+ * The serialization runs on a virtual thread that is parked whenever a chunk is full and the subscriber has not
+ * requested more, so at most one chunk is buffered. Only one subscriber is allowed.
+ */
+public final class SerializationPublisher implements Flow.Publisher<ByteBuffer> {
+	private final Consumer<OutputStream> serialization;
+
+	private final int chunkSize;
+
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	/**
+	 * @param serialization writes the output to the stream, the stream is closed afterwards
+	 */
+	public SerializationPublisher(final Consumer<OutputStream> serialization, final int chunkSize) {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("Chunk size must be positive");
+		this.serialization = serialization;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+		Objects.requireNonNull(subscriber);
+
+		if (!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(final long n) {
+				}
+
+				@Override
+				public void cancel() {
+				}
+			});
+			subscriber.onError(new IllegalStateException("Only one subscriber is allowed"));
+			return;
+		}
+
+		final ChunkSubscription subscription = new ChunkSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		Thread.ofVirtual().name("myr-jsonb-publisher").start(subscription::produce);
+	}
+
+	private final class ChunkSubscription extends OutputStream implements Flow.Subscription {
+		private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Condition demanded = lock.newCondition();
+
+		private long demand = 0;
+
+		private boolean cancelled = false;
+
+		private Throwable requestError = null;
+
+		private byte[] chunk = new byte[chunkSize];
+
+		private int length = 0;
+
+		private ChunkSubscription(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(final long n) {
+			lock.lock();
+			try {
+				if (n <= 0) {
+					if (requestError == null)
+						requestError = new IllegalArgumentException("Non-positive request: " + n);
+				} else {
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+				}
+				demanded.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void cancel() {
+			lock.lock();
+			try {
+				cancelled = true;
+				demanded.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private void produce() {
+			try {
+				serialization.accept(this);
+				close();
+			} catch (final Throwable ex) {
+				if (isCancelled())
+					return;
+
+				// JSON-P wraps the exceptions thrown by the stream
+				for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+					if (cause instanceof RequestException) {
+						subscriber.onError(cause.getCause());
+						return;
+					}
+				}
+				subscriber.onError(ex);
+				return;
+			}
+
+			if (!isCancelled())
+				subscriber.onComplete();
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			if (length == chunk.length)
+				emit();
+			chunk[length++] = (byte) b;
+		}
+
+		@Override
+		public void write(final byte[] buffer, int offset, int count) throws IOException {
+			Objects.checkFromIndexSize(offset, count, buffer.length);
+			while (count > 0) {
+				if (length == chunk.length)
+					emit();
+				final int n = Math.min(count, chunk.length - length);
+				System.arraycopy(buffer, offset, chunk, length, n);
+				length += n;
+				offset += n;
+				count -= n;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (length > 0)
+				emit();
+		}
+
+		private void emit() throws IOException {
+			awaitDemand();
+			final ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, length);
+			chunk = new byte[chunkSize];
+			length = 0;
+			subscriber.onNext(buffer);
+		}
+
+		private void awaitDemand() throws IOException {
+			lock.lock();
+			try {
+				while (demand == 0 && !cancelled && requestError == null)
+					demanded.await();
+
+				if (cancelled)
+					throw new CancelledException();
+				if (requestError != null)
+					throw new RequestException(requestError);
+
+				--demand;
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private boolean isCancelled() {
+			lock.lock();
+			try {
+				return cancelled;
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	// Thrown through the serialization to stop it
+	private static final class CancelledException extends IOException {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private static final class RequestException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		private RequestException(final Throwable cause) {
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package se.narstrom.myr.json.bind;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import jakarta.json.bind.serializer.DeserializationContext;
+import jakarta.json.bind.serializer.JsonbDeserializer;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import se.narstrom.myr.json.bind.serializer.generated.CompiledCodec;
+
+/**
+ * A value bound as a plain number by a compiled codec that records the context and thread of every call, so that tests
+ * can see which contexts the engine hands out.
+ */
+public record ContextProbe(int value) {
+	private static final Map<Object, Thread> CONTEXTS = new ConcurrentHashMap<>();
+
+	private static final Queue<String> VIOLATIONS = new ConcurrentLinkedQueue<>();
+
+	static void reset() {
+		CONTEXTS.clear();
+		VIOLATIONS.clear();
+	}
+
+	/**
+	 * @return the number of distinct contexts seen since the last reset
+	 */
+	static int contexts() {
+		return CONTEXTS.size();
+	}
+
+	/**
+	 * @return the contexts seen on more than one thread since the last reset
+	 */
+	static Queue<String> violations() {
+		return VIOLATIONS;
+	}
+
+	private static void record(final Object context) {
+		// Kept until the reset, so that the identity of a context is never reused
+		final Thread current = Thread.currentThread();
+		final Thread owner = CONTEXTS.putIfAbsent(context, current);
+		if (owner != null && owner != current)
+			VIOLATIONS.add(context + " used on " + owner + " and " + current);
+	}
+
+	public static final class Codec implements CompiledCodec, JsonbSerializer<ContextProbe>, JsonbDeserializer<ContextProbe> {
+		@Override
+		public Class<?> type() {
+			return ContextProbe.class;
+		}
+
+		@Override
+		public JsonbSerializer<?> serializer() {
+			return this;
+		}
+
+		@Override
+		public JsonbDeserializer<?> deserializer() {
+			return this;
+		}
+
+		@Override
+		public void serialize(final ContextProbe probe, final JsonGenerator generator, final SerializationContext ctx) {
+			record(ctx);
+			generator.write(probe.value());
+		}
+
+		@Override
+		public ContextProbe deserialize(final JsonParser parser, final DeserializationContext ctx, final Type rtType) {
+			record(ctx);
+			return new ContextProbe(parser.getInt());
+		}
+	}
+}
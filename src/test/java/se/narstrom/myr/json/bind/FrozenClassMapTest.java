@@ -0,0 +1,136 @@
+package se.narstrom.myr.json.bind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Distinct classes are made as hidden classes defined from the same bytes, which also gives the identity hash code
+ * collisions that end up in the overflow map.
+ */
+class FrozenClassMapTest {
+	// Far beyond the expected number of classes before the first collision, about 2^16
+	private static final int MAX_CLASSES_FOR_COLLISION = 1_000_000;
+
+	private static final List<Class<?>> JDK_CLASSES = List.of(Object.class, String.class, Integer.class, Long.class, Double.class, Boolean.class, List.class, Map.class, HashMap.class, ArrayList.class, int.class, long.class, int[].class, String[].class, Thread.class, StringBuilder.class);
+
+	@Test
+	void emptyMap() {
+		final FrozenClassMap<String> map = FrozenClassMap.of(Map.of());
+		for (final Class<?> clazz : JDK_CLASSES)
+			assertNull(map.get(clazz));
+	}
+
+	@Test
+	void presentAndAbsentKeys() {
+		final Map<Class<?>, String> entries = new LinkedHashMap<>();
+		for (final Class<?> clazz : JDK_CLASSES.subList(0, JDK_CLASSES.size() / 2))
+			entries.put(clazz, clazz.getName());
+		final FrozenClassMap<String> map = FrozenClassMap.of(entries);
+
+		for (final Class<?> clazz : JDK_CLASSES)
+			assertEquals(entries.get(clazz), map.get(clazz), clazz.getName());
+	}
+
+	@Test
+	void manyKeys() throws Exception {
+		final List<Class<?>> classes = defineClasses(10_000);
+		final Map<Class<?>, Integer> entries = new HashMap<>();
+		for (int i = 0; i < classes.size(); i += 2)
+			entries.put(classes.get(i), i);
+		final FrozenClassMap<Integer> map = FrozenClassMap.of(entries);
+
+		for (int i = 0; i < classes.size(); ++i)
+			assertEquals(i % 2 == 0 ? Integer.valueOf(i) : null, map.get(classes.get(i)));
+	}
+
+	@Test
+	void tableIsDoubledWhenTheDisplacementsRunOut() throws Exception {
+		final List<Class<?>> classes = defineClasses(64);
+		final Map<Class<?>, Integer> entries = new HashMap<>();
+		for (int i = 0; i < classes.size(); ++i)
+			entries.put(classes.get(i), i);
+
+		// Only the displacement zero, so every key must land in a free slot of its own at once
+		final FrozenClassMap<Integer> map = FrozenClassMap.of(entries, 1);
+		assertTrue(map.capacity() > FrozenClassMap.of(entries).capacity(), "capacity " + map.capacity());
+
+		for (int i = 0; i < classes.size(); ++i)
+			assertEquals(Integer.valueOf(i), map.get(classes.get(i)));
+		for (final Class<?> clazz : JDK_CLASSES)
+			assertNull(map.get(clazz));
+	}
+
+	@Test
+	void identityHashCollisions() throws Exception {
+		final Class<?>[] pair = findCollision();
+		final Class<?> first = pair[0];
+		final Class<?> second = pair[1];
+		assertNotSame(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+
+		final Map<Class<?>, String> both = new HashMap<>();
+		both.put(first, "first");
+		both.put(second, "second");
+		assertEquals("first", FrozenClassMap.of(both).get(first));
+		assertEquals("second", FrozenClassMap.of(both).get(second));
+
+		for (final Class<?> clazz : JDK_CLASSES)
+			both.put(clazz, clazz.getName());
+		final FrozenClassMap<String> map = FrozenClassMap.of(both);
+		assertEquals("first", map.get(first));
+		assertEquals("second", map.get(second));
+		for (final Class<?> clazz : JDK_CLASSES)
+			assertEquals(clazz.getName(), map.get(clazz));
+
+		// An absent key with the same hash as a present one
+		assertNull(FrozenClassMap.of(Map.of(first, "first")).get(second));
+		assertNull(FrozenClassMap.of(Map.of(second, "second")).get(first));
+	}
+
+	private static Class<?>[] findCollision() throws Exception {
+		final byte[] bytes = templateBytes();
+		final Map<Integer, Class<?>> byHash = new HashMap<>();
+		for (int i = 0; i < MAX_CLASSES_FOR_COLLISION; ++i) {
+			final Class<?> clazz = defineClass(bytes);
+			final Class<?> previous = byHash.putIfAbsent(clazz.hashCode(), clazz);
+			if (previous != null)
+				return new Class<?>[] { previous, clazz };
+		}
+		return fail("No identity hash code collision among " + MAX_CLASSES_FOR_COLLISION + " classes");
+	}
+
+	private static List<Class<?>> defineClasses(final int count) throws Exception {
+		final byte[] bytes = templateBytes();
+		final List<Class<?>> classes = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i)
+			classes.add(defineClass(bytes));
+		return classes;
+	}
+
+	private static Class<?> defineClass(final byte[] bytes) throws IllegalAccessException {
+		return MethodHandles.lookup().defineHiddenClass(bytes, false).lookupClass();
+	}
+
+	private static byte[] templateBytes() throws IOException {
+		try (final InputStream in = FrozenClassMapTest.class.getResourceAsStream("FrozenClassMapTest$Template.class")) {
+			return in.readAllBytes();
+		}
+	}
+
+	private static final class Template {
+	}
+}
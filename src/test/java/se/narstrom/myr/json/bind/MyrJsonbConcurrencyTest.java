@@ -0,0 +1,180 @@
+package se.narstrom.myr.json.bind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+
+/**
+ * One instance shared by many platform and virtual threads. Every test starts from a new instance, so the threads also
+ * race to fill the lookup caches and build the bean models.
+ */
+class MyrJsonbConcurrencyTest {
+	private static final int PLATFORM_THREADS = 64;
+
+	private static final int VIRTUAL_THREADS = 1_000;
+
+	private static final int ROUNDS = 50;
+
+	private static final int ORDERS = 100;
+
+	private static final Type ORDER_LIST = new ArrayList<Order>() {
+	}.getClass().getGenericSuperclass();
+
+	private final List<Order> orders = orders(ORDERS);
+
+	@BeforeEach
+	void resetProbes() {
+		ContextProbe.reset();
+	}
+
+	@Test
+	void platformThreads() throws Exception {
+		try (final ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+			assertSharedInstance(executor, PLATFORM_THREADS);
+		}
+	}
+
+	@Test
+	void virtualThreads() throws Exception {
+		try (final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			assertSharedInstance(executor, VIRTUAL_THREADS);
+		}
+	}
+
+	@Test
+	void parallelMethods() throws Exception {
+		final JsonbConfig config = new JsonbConfig()
+				.setProperty(MyrJsonbConfig.PARALLELISM, 8)
+				.setProperty(MyrJsonbConfig.PARALLEL_BATCH_SIZE, 7)
+				.setProperty(MyrJsonbConfig.PARALLEL_SERIALIZATION_THRESHOLD, 1);
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create(config); final MyrJsonb sequential = (MyrJsonb) JsonbBuilder.create()) {
+			final String expected = sequential.toJson(orders, ORDER_LIST);
+			ContextProbe.reset();
+
+			try (final ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+				final List<Future<?>> futures = new ArrayList<>();
+				for (int t = 0; t < PLATFORM_THREADS; ++t) {
+					futures.add(executor.submit(() -> {
+						for (int round = 0; round < ROUNDS / 10; ++round) {
+							final ByteArrayOutputStream output = new ByteArrayOutputStream();
+							jsonb.toJson(orders, ORDER_LIST, output);
+							assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+
+							final List<Order> read = jsonb.fromJsonParallel(new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8)), Order.class);
+							// Compared as beans, the maps are read back as hash maps in another order
+							assertEquals(orders, read);
+						}
+						return null;
+					}));
+				}
+				for (final Future<?> future : futures)
+					future.get(1, TimeUnit.MINUTES);
+			}
+		}
+		assertEquals(List.of(), List.copyOf(ContextProbe.violations()));
+	}
+
+	@Test
+	void newContextIsNeverShared() throws Exception {
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			assertNotSame(jsonb.newContext(), jsonb.newContext());
+		}
+	}
+
+	private void assertSharedInstance(final ExecutorService executor, final int threads) throws Exception {
+		final List<String> expected = new ArrayList<>(orders.size());
+		try (final MyrJsonb reference = (MyrJsonb) JsonbBuilder.create()) {
+			for (final Order order : orders)
+				expected.add(reference.toJson(order));
+		}
+		ContextProbe.reset();
+
+		final AtomicInteger calls = new AtomicInteger();
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<Future<?>> futures = new ArrayList<>(threads);
+			for (int t = 0; t < threads; ++t) {
+				final int offset = t;
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int round = 0; round < ROUNDS; ++round) {
+						final int i = (offset + round) % orders.size();
+						final String json = jsonb.toJson(orders.get(i));
+						assertEquals(expected.get(i), json);
+						final Order read = jsonb.fromJson(json, Order.class);
+						assertEquals(orders.get(i), read);
+						calls.addAndGet(2);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (final Future<?> future : futures)
+				future.get(1, TimeUnit.MINUTES);
+		}
+
+		assertEquals(List.of(), List.copyOf(ContextProbe.violations()));
+		// Every call binds its probes with a context of its own
+		assertEquals(calls.get(), ContextProbe.contexts());
+		assertTrue(calls.get() >= threads * ROUNDS * 2);
+	}
+
+	private static List<Order> orders(final int count) {
+		final List<Order> orders = new ArrayList<>(count);
+		for (int i = 0; i < count; ++i) {
+			final Order order = new Order();
+			order.id = i * 7919L;
+			order.customer = "customer " + i;
+			order.tags = List.of("tag" + i % 3, "tag" + i % 5);
+			order.quantities = new LinkedHashMap<>();
+			for (int j = 0; j <= i % 4; ++j)
+				order.quantities.put("item" + j, i * j);
+			order.probes = List.of(new ContextProbe(i), new ContextProbe(-i));
+			orders.add(order);
+		}
+		return orders;
+	}
+
+	public static class Order {
+		public long id;
+
+		public String customer;
+
+		public List<String> tags;
+
+		public Map<String, Integer> quantities;
+
+		public List<ContextProbe> probes;
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof Order other && id == other.id && customer.equals(other.customer) && tags.equals(other.tags) && quantities.equals(other.quantities) && probes.equals(other.probes);
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(id);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package se.narstrom.myr.json.bind;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+
+class MyrJsonbMetricsTest {
+	private static final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+
+	@Test
+	void closeUnregistersTheMBean() throws Exception {
+		final ObjectName name = new ObjectName("se.narstrom.myr.json.bind:type=Jsonb,name=" + ObjectName.quote("closed"));
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create(new JsonbConfig().setProperty(MyrJsonbConfig.METRICS, "closed"))) {
+			assertTrue(SERVER.isRegistered(name));
+		}
+		assertFalse(SERVER.isRegistered(name));
+	}
+
+	@Test
+	void garbageCollectionUnregistersTheMBean() throws Exception {
+		final ObjectName name = new ObjectName("se.narstrom.myr.json.bind:type=Jsonb,name=" + ObjectName.quote("abandoned"));
+		createAndAbandon("abandoned");
+		assertTrue(SERVER.isRegistered(name));
+
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (SERVER.isRegistered(name) && System.nanoTime() < deadline) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertFalse(SERVER.isRegistered(name));
+	}
+
+	// Not inlined, so that no local variable keeps the instance reachable
+	private static void createAndAbandon(final String name) {
+		JsonbBuilder.create(new JsonbConfig().setProperty(MyrJsonbConfig.METRICS, name)).toJson(1);
+	}
+}
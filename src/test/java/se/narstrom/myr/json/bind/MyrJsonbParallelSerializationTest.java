@@ -0,0 +1,98 @@
+package se.narstrom.myr.json.bind;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+
+/**
+ * The parallel serialization of a large collection or object array splices the chunks together, the output must be the
+ * same bytes as when serialized sequentially.
+ */
+class MyrJsonbParallelSerializationTest {
+	private static final int BATCH_SIZE = 5;
+
+	private static final int THRESHOLD = 10;
+
+	private static final Type PROBE_LIST = new ArrayList<ContextProbe>() {
+	}.getClass().getGenericSuperclass();
+
+	@BeforeEach
+	void resetProbes() {
+		ContextProbe.reset();
+	}
+
+	@Test
+	void collectionWithPartialLastChunk() throws Exception {
+		// Five chunks, the last with three elements
+		assertSameAsSequential(probes(23), PROBE_LIST, 5);
+	}
+
+	@Test
+	void collectionOfWholeChunks() throws Exception {
+		assertSameAsSequential(probes(20), PROBE_LIST, 4);
+	}
+
+	@Test
+	void objectArrayWithPartialLastChunk() throws Exception {
+		// Three chunks, each starting with a probe, the last with two elements
+		final Object[] values = new Object[12];
+		for (int i = 0; i < values.length; ++i)
+			values[i] = i % BATCH_SIZE == 0 ? new ContextProbe(i) : switch (i % 3) {
+				case 0 -> "\"text\" " + i;
+				case 1 -> null;
+				default -> List.of(i, "å€");
+			};
+		assertSameAsSequential(values, Object[].class, 3);
+	}
+
+	@Test
+	void chunksOfOnlyNulls() throws Exception {
+		final Object[] values = new Object[THRESHOLD + 1];
+		values[BATCH_SIZE] = new ContextProbe(1);
+		assertSameAsSequential(values, Object[].class, 1);
+		assertSameAsSequential(Arrays.asList(values), List.class, 1);
+	}
+
+	@Test
+	void belowThresholdIsSequential() throws Exception {
+		assertSameAsSequential(probes(THRESHOLD - 1), PROBE_LIST, 1);
+	}
+
+	private static void assertSameAsSequential(final Object value, final Type type, final int contexts) throws Exception {
+		final JsonbConfig config = new JsonbConfig()
+				.setProperty(MyrJsonbConfig.PARALLELISM, 4)
+				.setProperty(MyrJsonbConfig.PARALLEL_BATCH_SIZE, BATCH_SIZE)
+				.setProperty(MyrJsonbConfig.PARALLEL_SERIALIZATION_THRESHOLD, THRESHOLD);
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create(config); final MyrJsonb sequential = (MyrJsonb) JsonbBuilder.create()) {
+			final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			sequential.toJson(value, type, expected);
+
+			ContextProbe.reset();
+			final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+			jsonb.toJson(value, type, actual);
+
+			assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+			// One context for each chunk serialized in parallel
+			assertEquals(contexts, ContextProbe.contexts());
+		}
+	}
+
+	// Every third element is null
+	private static List<ContextProbe> probes(final int count) {
+		final List<ContextProbe> probes = new ArrayList<>();
+		for (int i = 0; i < count; ++i)
+			probes.add(i % 3 == 1 ? null : new ContextProbe(i));
+		return probes;
+	}
+}
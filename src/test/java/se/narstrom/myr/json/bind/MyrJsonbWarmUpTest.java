@@ -0,0 +1,59 @@
+package se.narstrom.myr.json.bind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Type;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.bind.annotation.JsonbCreator;
+import jakarta.json.bind.annotation.JsonbProperty;
+
+class MyrJsonbWarmUpTest {
+	@Test
+	void serializeOnlyBean() throws Exception {
+		try (final MyrJsonb jsonb = create(SerializeOnly.class)) {
+			assertEquals("{\"value\":1}", jsonb.toJson(new SerializeOnly(1)));
+			assertThrows(JsonbException.class, () -> jsonb.fromJson("{\"value\":1}", SerializeOnly.class));
+		}
+	}
+
+	@Test
+	void invalidCreatorIsReported() {
+		final JsonbException ex = assertThrows(JsonbException.class, () -> create(PrivateCreator.class));
+		assertEquals(1, ex.getSuppressed().length);
+	}
+
+	private static MyrJsonb create(final Type... types) {
+		return (MyrJsonb) JsonbBuilder.create(new JsonbConfig().setProperty(MyrJsonbConfig.WARM_UP_TYPES, types).setProperty(MyrJsonbConfig.FREEZE, true));
+	}
+
+	public static final class SerializeOnly {
+		private final int value;
+
+		public SerializeOnly(final int value) {
+			this.value = value;
+		}
+
+		public int getValue() {
+			return value;
+		}
+	}
+
+	public static final class PrivateCreator {
+		private final int value;
+
+		@JsonbCreator
+		private PrivateCreator(@JsonbProperty("value") final int value) {
+			this.value = value;
+		}
+
+		public int getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package se.narstrom.myr.json.bind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class WriterPoolTest {
+	@Test
+	void releasedWritersAreReusedEmpty() {
+		final WriterPool pool = new WriterPool(1);
+		final StringBuilderWriter writer = pool.acquire();
+		writer.write("{\"a\":1}", 0, 7);
+		assertEquals("{\"a\":1}", writer.toString());
+		pool.release(writer);
+
+		final StringBuilderWriter reused = pool.acquire();
+		assertSame(writer, reused);
+		assertEquals("", reused.toString());
+	}
+
+	@Test
+	void poolIsBounded() {
+		final WriterPool pool = new WriterPool(1);
+		final StringBuilderWriter first = pool.acquire();
+		final StringBuilderWriter second = pool.acquire();
+		assertNotSame(first, second);
+		pool.release(first);
+		pool.release(second);
+
+		assertSame(first, pool.acquire());
+		assertNotSame(second, pool.acquire());
+	}
+
+	@Test
+	void largeWritersAreDropped() {
+		final WriterPool pool = new WriterPool(1);
+		final StringBuilderWriter writer = pool.acquire();
+		final char[] chars = new char[WriterPool.MAX_RETAINED_CAPACITY + 1];
+		writer.write(chars, 0, chars.length);
+		pool.release(writer);
+
+		assertNotSame(writer, pool.acquire());
+	}
+}
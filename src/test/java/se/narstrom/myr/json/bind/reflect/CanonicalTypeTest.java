@@ -0,0 +1,75 @@
+package se.narstrom.myr.json.bind.reflect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class CanonicalTypeTest {
+	@Test
+	void equalTypesAreInterned() {
+		final Type first = ReflectionUtilities.intern(new ParameterizedTypeImpl(null, Map.class, new Type[] { String.class, Integer.class }));
+		final Type second = ReflectionUtilities.intern(new ParameterizedTypeImpl(null, Map.class, new Type[] { String.class, Integer.class }));
+		assertSame(first, second);
+		assertSame(first, ReflectionUtilities.intern(first));
+	}
+
+	@Test
+	void typeArguments() {
+		final Type type = new ParameterizedTypeImpl(null, Map.class, new Type[] { String.class, Integer.class });
+		assertEquals(String.class, ReflectionUtilities.getTypeArgument(type, 0));
+		assertEquals(Integer.class, ReflectionUtilities.getTypeArgument(type, 1));
+		assertEquals(Object.class, ReflectionUtilities.getTypeArgument(Map.class, 1));
+
+		// A copy that can be modified
+		final Type[] arguments = ReflectionUtilities.getTypeArguments(type);
+		assertNotSame(arguments, ReflectionUtilities.getTypeArguments(type));
+		arguments[0] = Long.class;
+		assertEquals(String.class, ReflectionUtilities.getTypeArgument(type, 0));
+	}
+
+	@Test
+	void cachedTypesDoNotKeepTheirClassesReachable() throws Exception {
+		final WeakReference<Class<?>> reference = internTypesOfHiddenClass();
+
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (reference.get() != null && System.nanoTime() < deadline) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+	}
+
+	// Not inlined, so that no local variable keeps the class reachable
+	private static WeakReference<Class<?>> internTypesOfHiddenClass() throws Exception {
+		final byte[] bytes;
+		try (final InputStream in = CanonicalTypeTest.class.getResourceAsStream("CanonicalTypeTest$Template.class")) {
+			bytes = in.readAllBytes();
+		}
+		final Class<?> clazz = MethodHandles.lookup().defineHiddenClass(bytes, false).lookupClass();
+
+		// Types whose raw classes are held by the bootstrap class loader
+		final Type list = new ParameterizedTypeImpl(null, List.class, new Type[] { clazz });
+		assertEquals(clazz, ReflectionUtilities.getTypeArgument(list, 0));
+		assertEquals(clazz, ReflectionUtilities.getTypeArgument(ReflectionUtilities.getAncestorType(list, Collection.class), 0));
+		assertEquals(clazz, ReflectionUtilities.resolveType(List.class.getTypeParameters()[0], list));
+		ReflectionUtilities.getAncestorType(List.class, clazz);
+		ReflectionUtilities.resolveType(new GenericArrayTypeImpl(clazz), List.class);
+
+		return new WeakReference<>(clazz);
+	}
+
+	private static final class Template {
+	}
+}
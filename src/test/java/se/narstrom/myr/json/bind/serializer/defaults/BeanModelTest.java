@@ -0,0 +1,60 @@
+package se.narstrom.myr.json.bind.serializer.defaults;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import se.narstrom.myr.json.bind.reflect.ParameterizedTypeImpl;
+
+class BeanModelTest {
+	@Test
+	void modelsAreShared() {
+		final Type type = new ParameterizedTypeImpl(null, Wrapper.class, new Type[] { String.class });
+		assertSame(BeanModel.of(type), BeanModel.of(new ParameterizedTypeImpl(null, Wrapper.class, new Type[] { String.class })));
+		assertSame(BeanModel.of(Wrapper.class), BeanModel.of(Wrapper.class));
+	}
+
+	@Test
+	void cachedModelsDoNotKeepTheirClassesReachable() throws Exception {
+		final WeakReference<Class<?>> reference = buildModelsOfHiddenClass();
+
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (reference.get() != null && System.nanoTime() < deadline) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+	}
+
+	// Not inlined, so that no local variable keeps the class reachable
+	private static WeakReference<Class<?>> buildModelsOfHiddenClass() throws Exception {
+		final byte[] bytes;
+		try (final InputStream in = BeanModelTest.class.getResourceAsStream("BeanModelTest$Template.class")) {
+			bytes = in.readAllBytes();
+		}
+		final Class<?> clazz = MethodHandles.lookup().defineHiddenClass(bytes, false).lookupClass();
+
+		// A bean class that outlives the hidden class, bound to it
+		final BeanModel model = BeanModel.of(new ParameterizedTypeImpl(null, Wrapper.class, new Type[] { clazz }));
+		// Serialized by the runtime class, only the deserialization model has the type argument
+		assertEquals(Object.class, model.serialization().properties().getFirst().type());
+		assertEquals(clazz, model.deserialization().properties().get("value").type());
+
+		return new WeakReference<>(clazz);
+	}
+
+	public static final class Wrapper<T> {
+		public T value;
+	}
+
+	private static final class Template {
+	}
+}
@@ -0,0 +1,48 @@
+package se.narstrom.myr.json.bind.serializer.generated;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import se.narstrom.myr.json.bind.reflect.ParameterizedTypeImpl;
+
+class GeneratedCodecsTest {
+	@Test
+	void cachedDeserializersDoNotKeepTheirClassesReachable() throws Exception {
+		final WeakReference<Class<?>> reference = generateDeserializerOfHiddenClass();
+
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (reference.get() != null && System.nanoTime() < deadline) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+	}
+
+	// Not inlined, so that no local variable keeps the class reachable
+	private static WeakReference<Class<?>> generateDeserializerOfHiddenClass() throws Exception {
+		final byte[] bytes;
+		try (final InputStream in = GeneratedCodecsTest.class.getResourceAsStream("GeneratedCodecsTest$Template.class")) {
+			bytes = in.readAllBytes();
+		}
+		final Class<?> clazz = MethodHandles.lookup().defineHiddenClass(bytes, false).lookupClass();
+
+		// A bean class that outlives the hidden class, bound to it
+		GeneratedCodecs.deserializer(new ParameterizedTypeImpl(null, Wrapper.class, new Type[] { clazz }));
+
+		return new WeakReference<>(clazz);
+	}
+
+	public static final class Wrapper<T> {
+		public T value;
+	}
+
+	private static final class Template {
+	}
+}
@@ -0,0 +1,162 @@
+package se.narstrom.myr.json.bind.serializer.time;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the hand written codecs against the {@link DateTimeFormatter} constants they replace.
+ */
+class IsoFormatTest {
+	private static final int ROUNDS = 100_000;
+
+	private static final long MIN_SECOND = LocalDate.of(0, 1, 1).toEpochSecond(LocalTime.MIN, ZoneOffset.UTC);
+
+	private static final long MAX_SECOND = LocalDate.of(9999, 12, 31).toEpochSecond(LocalTime.MAX, ZoneOffset.UTC);
+
+	private final Random random = new Random(20260318L);
+
+	@Test
+	void instantMatchesFormatter() {
+		for (int i = 0; i < ROUNDS; ++i)
+			assertRoundTrip(IsoFormat.INSTANT, DateTimeFormatter.ISO_INSTANT, Instant.ofEpochSecond(randomSecond(), randomNano()));
+	}
+
+	@Test
+	void localDateMatchesFormatter() {
+		for (int i = 0; i < ROUNDS; ++i)
+			assertRoundTrip(IsoFormat.LOCAL_DATE, DateTimeFormatter.ISO_LOCAL_DATE, LocalDate.ofEpochDay(Math.floorDiv(randomSecond(), 86400)));
+	}
+
+	@Test
+	void localDateTimeMatchesFormatter() {
+		for (int i = 0; i < ROUNDS; ++i)
+			assertRoundTrip(IsoFormat.LOCAL_DATE_TIME, DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime.ofEpochSecond(randomSecond(), randomNano(), ZoneOffset.UTC));
+	}
+
+	@Test
+	void offsetDateTimeMatchesFormatter() {
+		for (int i = 0; i < ROUNDS; ++i) {
+			final ZoneOffset offset = random.nextInt(8) == 0 ? ZoneOffset.UTC : ZoneOffset.ofTotalSeconds((random.nextInt(18 * 120 + 1) - 18 * 60) * 60);
+			final LocalDateTime dateTime = LocalDateTime.ofEpochSecond(randomSecond(), randomNano(), ZoneOffset.UTC);
+			assertRoundTrip(IsoFormat.OFFSET_DATE_TIME, DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime.of(dateTime, offset));
+		}
+	}
+
+	@Test
+	void instantFractionIsGroupedInThrees() {
+		assertEquals("2024-02-29T12:34:56Z", IsoFormat.INSTANT.format(Instant.parse("2024-02-29T12:34:56Z")));
+		assertEquals("2024-02-29T12:34:56.100Z", IsoFormat.INSTANT.format(Instant.parse("2024-02-29T12:34:56.1Z")));
+		assertEquals("2024-02-29T12:34:56.123400Z", IsoFormat.INSTANT.format(Instant.parse("2024-02-29T12:34:56.1234Z")));
+		assertEquals("2024-02-29T12:34:56.000000001Z", IsoFormat.INSTANT.format(Instant.parse("2024-02-29T12:34:56.000000001Z")));
+	}
+
+	@Test
+	void localFractionIsShortest() {
+		assertEquals("2024-02-29T12:34:56.1", IsoFormat.LOCAL_DATE_TIME.format(LocalDateTime.parse("2024-02-29T12:34:56.100")));
+		assertEquals("2024-02-29T12:34:56.1234", IsoFormat.LOCAL_DATE_TIME.format(LocalDateTime.parse("2024-02-29T12:34:56.1234")));
+		assertEquals("2024-02-29T12:34:56.000000001", IsoFormat.LOCAL_DATE_TIME.format(LocalDateTime.parse("2024-02-29T12:34:56.000000001")));
+	}
+
+	@Test
+	void offsets() {
+		final LocalDateTime dateTime = LocalDateTime.of(2024, 2, 29, 12, 34, 56);
+		assertEquals("2024-02-29T12:34:56Z", IsoFormat.OFFSET_DATE_TIME.format(OffsetDateTime.of(dateTime, ZoneOffset.UTC)));
+		assertEquals("2024-02-29T12:34:56+18:00", IsoFormat.OFFSET_DATE_TIME.format(OffsetDateTime.of(dateTime, ZoneOffset.MAX)));
+		assertEquals("2024-02-29T12:34:56-18:00", IsoFormat.OFFSET_DATE_TIME.format(OffsetDateTime.of(dateTime, ZoneOffset.MIN)));
+		assertEquals("2024-02-29T12:34:56+01:00:30", IsoFormat.OFFSET_DATE_TIME.format(OffsetDateTime.of(dateTime, ZoneOffset.ofHoursMinutesSeconds(1, 0, 30))));
+
+		assertEquals(OffsetDateTime.of(dateTime, ZoneOffset.ofHoursMinutes(-5, -30)), IsoFormat.OFFSET_DATE_TIME.parse("2024-02-29T12:34:56-05:30"));
+		assertEquals(OffsetDateTime.of(dateTime, ZoneOffset.UTC), IsoFormat.OFFSET_DATE_TIME.parse("2024-02-29T12:34:56+00:00"));
+	}
+
+	@Test
+	void yearsOutsideFourDigitsAreLeftToFormatter() {
+		assertNull(IsoFormat.INSTANT.format(Instant.parse("-0001-12-31T23:59:59Z")));
+		assertNull(IsoFormat.INSTANT.format(Instant.parse("+10000-01-01T00:00:00Z")));
+		assertNull(IsoFormat.LOCAL_DATE.format(LocalDate.of(-1, 1, 1)));
+		assertNull(IsoFormat.LOCAL_DATE.format(LocalDate.of(10000, 1, 1)));
+		assertNull(IsoFormat.LOCAL_DATE_TIME.format(LocalDateTime.of(10000, 1, 1, 0, 0)));
+		assertNull(IsoFormat.OFFSET_DATE_TIME.format(OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)));
+
+		assertNull(IsoFormat.INSTANT.parse("+10000-01-01T00:00:00Z"));
+		assertNull(IsoFormat.LOCAL_DATE.parse("-0001-01-01"));
+	}
+
+	@Test
+	void uncommonFormsAreLeftToFormatter() {
+		// Lower case separators
+		assertNull(IsoFormat.INSTANT.parse("2024-02-29t12:34:56Z"));
+		assertNull(IsoFormat.INSTANT.parse("2024-02-29T12:34:56z"));
+		assertNull(IsoFormat.LOCAL_DATE_TIME.parse("2024-02-29t12:34:56"));
+
+		// Leap second
+		assertNull(IsoFormat.INSTANT.parse("2016-12-31T23:59:60Z"));
+
+		// Offset with seconds
+		assertNull(IsoFormat.OFFSET_DATE_TIME.parse("2024-02-29T12:34:56+01:00:30"));
+
+		// More than nine fraction digits
+		assertNull(IsoFormat.INSTANT.parse("2024-02-29T12:34:56.1234567890Z"));
+		assertNull(IsoFormat.LOCAL_DATE_TIME.parse("2024-02-29T12:34:56.1234567890"));
+
+		// Missing or misplaced separators
+		assertNull(IsoFormat.INSTANT.parse("2024-02-29T12:34:56,1Z"));
+		assertNull(IsoFormat.LOCAL_DATE.parse("2024/02/29"));
+		assertNull(IsoFormat.LOCAL_DATE_TIME.parse("2024-02-29T12:34:"));
+		assertNull(IsoFormat.OFFSET_DATE_TIME.parse("2024-02-29T12:34:56"));
+	}
+
+	@Test
+	void invalidValuesAreLeftToFormatter() {
+		assertNull(IsoFormat.LOCAL_DATE.parse("2023-02-29"));
+		assertNull(IsoFormat.LOCAL_DATE.parse("2024-13-01"));
+		assertNull(IsoFormat.INSTANT.parse("2023-02-29T00:00:00Z"));
+		assertNull(IsoFormat.INSTANT.parse("2024-02-29T24:00:00Z"));
+		assertNull(IsoFormat.LOCAL_DATE_TIME.parse("2024-02-29T12:60"));
+		assertNull(IsoFormat.OFFSET_DATE_TIME.parse("2024-02-29T12:34:56+19:00"));
+	}
+
+	@Test
+	void optionalSecondsMatchFormatter() {
+		assertParse(IsoFormat.LOCAL_DATE_TIME, DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from, "2024-02-29T12:34");
+		assertParse(IsoFormat.OFFSET_DATE_TIME, DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from, "2024-02-29T12:34+02:00");
+		assertParse(IsoFormat.LOCAL_DATE_TIME, DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from, "2024-02-29T12:34:56.5");
+	}
+
+	private static <T extends TemporalAccessor> void assertRoundTrip(final IsoFormat.Codec<T> codec, final DateTimeFormatter formatter, final T value) {
+		final String text = codec.format(value);
+		assertEquals(formatter.format(value), text);
+		assertEquals(value, codec.parse(text), text);
+	}
+
+	private static <T> void assertParse(final IsoFormat.Codec<T> codec, final DateTimeFormatter formatter, final TemporalQuery<T> query, final String text) {
+		assertEquals(formatter.parse(text, query), codec.parse(text), text);
+	}
+
+	private long randomSecond() {
+		return MIN_SECOND + Math.floorMod(random.nextLong(), MAX_SECOND - MIN_SECOND + 1);
+	}
+
+	// Equally many values with 0, 3, 6 and 9 significant fraction digits
+	private int randomNano() {
+		return switch (random.nextInt(4)) {
+			case 0 -> 0;
+			case 1 -> random.nextInt(1000) * 1_000_000;
+			case 2 -> random.nextInt(1_000_000) * 1_000;
+			default -> random.nextInt(1_000_000_000);
+		};
+	}
+}
@@ -0,0 +1,188 @@
+package se.narstrom.myr.json.bind.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbException;
+
+/**
+ * Every input is also fed split at every byte position, and one byte at a time, which must give the same elements.
+ */
+class ArrayElementScannerTest {
+	private static final byte[] BYTE_ORDER_MARK = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	@Test
+	void emptyArray() {
+		assertArray("[]");
+		assertArray(" [ ] ");
+	}
+
+	@Test
+	void scalars() {
+		assertArray("[1,-2.5e3,true,false,null]", "1", "-2.5e3", "true", "false", "null");
+		assertArray("[ 1 , 2 ]\n", "1", "2");
+	}
+
+	@Test
+	void nestedValues() {
+		assertArray("[{\"a\":[1,2]},[[]],{}]", "{\"a\":[1,2]}", "[[]]", "{}");
+		assertArray("[ { \"a\" : { \"b\" : [ 1 , { } ] } } ]", "{ \"a\" : { \"b\" : [ 1 , { } ] } }");
+	}
+
+	@Test
+	void structureInsideStrings() {
+		assertArray("[\"a,b\",\"]\",\"[{\",\"}\"]", "\"a,b\"", "\"]\"", "\"[{\"", "\"}\"");
+		assertArray("[{\"k]\":\"v,\"}]", "{\"k]\":\"v,\"}");
+	}
+
+	@Test
+	void escapes() {
+		assertArray("[\"a\\\"b\",\"c\\\\\",\"d\\\\\\\"e\"]", "\"a\\\"b\"", "\"c\\\\\"", "\"d\\\\\\\"e\"");
+		assertArray("[\"\\\\\",1]", "\"\\\\\"", "1");
+		assertArray("[{\"\\\"\":\"\\\\\"}]", "{\"\\\"\":\"\\\\\"}");
+		assertArray("[\"\\u005d\"]", "\"\\u005d\"");
+	}
+
+	@Test
+	void multibyteCharacters() {
+		assertArray("[\"åäö\",\"€\",\"\uD83D\uDE00\"]", "\"åäö\"", "\"€\"", "\"\uD83D\uDE00\"");
+		assertArray("[{\"ключ\":\"值\"}]", "{\"ключ\":\"值\"}");
+	}
+
+	@Test
+	void sequenceOfValues() {
+		assertSequence("1 2 3", "1", "2", "3");
+		assertSequence("12345", "12345");
+		assertSequence("true\nnull\r\nfalse", "true", "null", "false");
+		assertSequence("{\"a\":1}{\"b\":2}[3]\"x\"", "{\"a\":1}", "{\"b\":2}", "[3]", "\"x\"");
+		assertSequence("\"a b\" \"c\\\" d\"", "\"a b\"", "\"c\\\" d\"");
+		assertSequence("  ");
+	}
+
+	@Test
+	void scalarAtEndOfInputIsOnlyEmittedByFinish() {
+		final List<String> elements = new ArrayList<>();
+		final ArrayElementScanner scanner = new ArrayElementScanner((buffer, offset, length) -> elements.add(new String(buffer, offset, length, StandardCharsets.UTF_8)), false);
+
+		feed(scanner, "1 23");
+		assertEquals(List.of("1"), elements);
+		feed(scanner, "4");
+		assertEquals(List.of("1"), elements);
+		scanner.finish();
+		assertEquals(List.of("1", "234"), elements);
+	}
+
+	@Test
+	void byteOrderMark() {
+		assertEquals(List.of("1"), scan(concat(BYTE_ORDER_MARK, utf8("[1]")), true, 1));
+		assertEquals(List.of("1", "2"), scan(concat(BYTE_ORDER_MARK, utf8("1 2")), false, 1));
+		assertEquals(List.of("1"), scan(concat(BYTE_ORDER_MARK, utf8("[1]")), true, 2));
+	}
+
+	@Test
+	void byteOrderMarkBytesElsewhere() {
+		// After whitespace
+		assertThrows(JsonbException.class, () -> scan(concat(utf8(" "), BYTE_ORDER_MARK, utf8("[1]")), true, 1));
+		// Before a later element, kept in the element and rejected when it is parsed
+		assertEquals(List.of("1", "\uFEFF2"), scan(concat(utf8("[1,"), BYTE_ORDER_MARK, utf8("2]")), true, 1));
+		assertEquals(List.of("1", "\uFEFF2"), scan(concat(utf8("1 "), BYTE_ORDER_MARK, utf8("2")), false, 1));
+		// Out of order or incomplete
+		assertThrows(JsonbException.class, () -> scan(concat(new byte[] { (byte) 0xBB, (byte) 0xEF, (byte) 0xBF }, utf8("[1]")), true, 1));
+		assertThrows(JsonbException.class, () -> scan(concat(new byte[] { (byte) 0xEF, (byte) 0xBB }, utf8("[1]")), true, 1));
+		assertThrows(JsonbException.class, () -> scan(new byte[] { (byte) 0xEF }, false, 1));
+	}
+
+	@Test
+	void malformedStructure() {
+		assertThrows(JsonbException.class, () -> scan(utf8("1"), true, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("[1,]"), true, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("[,1]"), true, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("[1 2]"), true, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("[1]x"), true, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("1,2"), false, 1));
+	}
+
+	@Test
+	void incompleteInput() {
+		assertThrows(JsonbException.class, () -> scan(utf8("[1,2"), true, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("[\"a]"), true, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("{\"a\":1"), false, 1));
+		assertThrows(JsonbException.class, () -> scan(utf8("\"a\\\""), false, 1));
+	}
+
+	@Test
+	void completeOnClosingBracket() {
+		final ArrayElementScanner scanner = new ArrayElementScanner((buffer, offset, length) -> {
+		});
+		feed(scanner, "[1,[2]");
+		assertFalse(scanner.isComplete());
+		scanner.feed(ByteBuffer.wrap(utf8("]")));
+		assertTrue(scanner.isComplete());
+		scanner.finish();
+	}
+
+	private static void assertArray(final String json, final String... expected) {
+		assertAllSplits(utf8(json), true, List.of(expected));
+	}
+
+	private static void assertSequence(final String json, final String... expected) {
+		assertAllSplits(utf8(json), false, List.of(expected));
+	}
+
+	private static void assertAllSplits(final byte[] input, final boolean array, final List<String> expected) {
+		assertEquals(expected, scan(input, array, input.length + 1));
+		assertEquals(expected, scan(input, array, 1));
+		for (int split = 1; split < input.length; ++split)
+			assertEquals(expected, scan(input, array, split, input.length), "split at byte " + split);
+	}
+
+	/**
+	 * Feeds the input in chunks of the sizes, the last size repeated until the input ends.
+	 */
+	private static List<String> scan(final byte[] input, final boolean array, final int... chunkSizes) {
+		final List<String> elements = new ArrayList<>();
+		final ArrayElementScanner scanner = new ArrayElementScanner((buffer, offset, length) -> elements.add(new String(buffer, offset, length, StandardCharsets.UTF_8)), array);
+
+		int offset = 0;
+		for (int i = 0; offset < input.length; ++i) {
+			final int count = Math.min(chunkSizes[Math.min(i, chunkSizes.length - 1)], input.length - offset);
+			// Copied, so that the scanner can not read past the chunk
+			scanner.feed(Arrays.copyOfRange(input, offset, offset + count), 0, count);
+			offset += count;
+		}
+		scanner.finish();
+		return elements;
+	}
+
+	private static void feed(final ArrayElementScanner scanner, final String text) {
+		final byte[] bytes = utf8(text);
+		scanner.feed(bytes, 0, bytes.length);
+	}
+
+	private static byte[] utf8(final String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] concat(final byte[]... parts) {
+		int length = 0;
+		for (final byte[] part : parts)
+			length += part.length;
+		final byte[] result = new byte[length];
+		int offset = 0;
+		for (final byte[] part : parts) {
+			System.arraycopy(part, 0, result, offset, part.length);
+			offset += part.length;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,151 @@
+package se.narstrom.myr.json.bind.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbException;
+import se.narstrom.myr.json.bind.MyrJsonb;
+
+/**
+ * {@link JsonFeed} through {@link MyrJsonb#createFeed} and {@link MyrJsonb#createArrayFeed}.
+ */
+class JsonFeedTest {
+
+	@Test
+	void arrayFedInEverySplit() throws Exception {
+		final byte[] input = utf8("[\"åäö\", \"€\",\"😀\" , \"}\"]");
+		final List<String> expected = List.of("åäö", "€", "😀", "}");
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			// Every split point, including the ones inside the multi-byte characters
+			for (int split = 0; split <= input.length; ++split) {
+				final JsonFeed<String> feed = jsonb.createArrayFeed(String.class);
+				final List<String> values = new ArrayList<>();
+				feed(feed, Arrays.copyOfRange(input, 0, split), values);
+				feed(feed, Arrays.copyOfRange(input, split, input.length), values);
+				feed.finish();
+				assertTrue(feed.isDone());
+				assertEquals(expected, values, "split at " + split);
+			}
+		}
+	}
+
+	@Test
+	void valuesAreReadyAsSoonAsTheyEnd() throws Exception {
+		final byte[] input = utf8("[\"€\",[1,2]]");
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final JsonFeed<Object> feed = jsonb.createArrayFeed(Object.class);
+			final List<Integer> ready = new ArrayList<>();
+			for (int i = 0; i < input.length; ++i) {
+				feed.feed(ByteBuffer.wrap(input, i, 1));
+				if (feed.hasNext()) {
+					ready.add(i);
+					feed.next();
+				}
+			}
+			// The closing quote of "€" after its three bytes, and the bracket closing [1,2]
+			assertEquals(List.of(5, 11), ready);
+			assertFalse(feed.isDone());
+			feed.finish();
+			assertTrue(feed.isDone());
+		}
+	}
+
+	@Test
+	void sequence() throws Exception {
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final JsonFeed<Integer> feed = jsonb.createFeed(Integer.class);
+			final List<Integer> values = new ArrayList<>();
+			feed(feed, utf8("1 2"), values);
+			feed(feed, utf8("2\n33"), values);
+			// The last number may continue in the next chunk
+			assertEquals(List.of(1, 22), values);
+			feed(feed, utf8("3"), values);
+			assertEquals(List.of(1, 22), values);
+			feed.finish();
+			feed(feed, null, values);
+			assertEquals(List.of(1, 22, 333), values);
+			assertTrue(feed.isDone());
+		}
+	}
+
+	@Test
+	void nextWithNoValueReady() throws Exception {
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final JsonFeed<Integer> feed = jsonb.createArrayFeed(Integer.class);
+			assertFalse(feed.hasNext());
+			assertThrows(NoSuchElementException.class, feed::next);
+
+			feed.feed(ByteBuffer.wrap(utf8("[1,2")));
+			assertEquals(Integer.valueOf(1), feed.next());
+			assertFalse(feed.hasNext());
+			assertThrows(NoSuchElementException.class, feed::next);
+			assertFalse(feed.isDone());
+		}
+	}
+
+	@Test
+	void finishInTheMiddleOfAValue() throws Exception {
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final JsonFeed<Object> array = jsonb.createArrayFeed(Object.class);
+			array.feed(ByteBuffer.wrap(utf8("[1,{\"a\":")));
+			assertThrows(JsonbException.class, array::finish);
+
+			final JsonFeed<Object> sequence = jsonb.createFeed(Object.class);
+			sequence.feed(ByteBuffer.wrap(utf8("1 \"€")));
+			assertThrows(JsonbException.class, sequence::finish);
+
+			// A split multi-byte character is also incomplete
+			final JsonFeed<Object> character = jsonb.createFeed(Object.class);
+			character.feed(ByteBuffer.wrap(Arrays.copyOf(utf8("\"€\""), 2)));
+			assertThrows(JsonbException.class, character::finish);
+		}
+	}
+
+	@Test
+	void feedAfterFinish() throws Exception {
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final JsonFeed<Integer> feed = jsonb.createFeed(Integer.class);
+			feed.feed(ByteBuffer.wrap(utf8("1")));
+			feed.finish();
+			assertThrows(IllegalStateException.class, () -> feed.feed(ByteBuffer.wrap(utf8(" 2"))));
+			// Finishing twice is harmless
+			feed.finish();
+			assertEquals(Integer.valueOf(1), feed.next());
+			assertTrue(feed.isDone());
+		}
+	}
+
+	@Test
+	void bindingErrorsAreThrownByNext() throws Exception {
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final JsonFeed<Integer> feed = jsonb.createArrayFeed(Integer.class);
+			feed.feed(ByteBuffer.wrap(utf8("[\"x\",2]")));
+			assertThrows(JsonbException.class, feed::next);
+			assertEquals(Integer.valueOf(2), feed.next());
+		}
+	}
+
+	// Feeds the chunk, then takes every value that is ready
+	private static <T> void feed(final JsonFeed<T> feed, final byte[] chunk, final List<T> values) {
+		if (chunk != null)
+			feed.feed(ByteBuffer.wrap(chunk));
+		while (feed.hasNext())
+			values.add(feed.next());
+	}
+
+	private static byte[] utf8(final String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,158 @@
+package se.narstrom.myr.json.bind.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.JsonbException;
+import se.narstrom.myr.json.bind.MyrJsonb;
+import se.narstrom.myr.json.bind.MyrJsonbConfig;
+
+/**
+ * {@link MyrJsonb#toJsonLines} and {@link MyrJsonb#fromJsonLines} through {@link JsonLinesWriter} and
+ * {@link JsonLinesSpliterator}.
+ */
+class JsonLinesTest {
+	private static final List<Item> ITEMS = List.of(new Item("first", 1), new Item("second \"quoted\"\nline", 2), new Item("åäö €", 3));
+
+	private static final String LINES = "{\"count\":1,\"name\":\"first\"}\n{\"count\":2,\"name\":\"second \\\"quoted\\\"\\nline\"}\n{\"count\":3,\"name\":\"åäö €\"}\n";
+
+	@Test
+	void roundTrip() throws Exception {
+		try (final MyrJsonb jsonb = create(new JsonbConfig())) {
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			jsonb.toJsonLines(ITEMS, output);
+			assertEquals(LINES, output.toString(StandardCharsets.UTF_8));
+
+			try (final Stream<Item> items = jsonb.fromJsonLines(new ByteArrayInputStream(output.toByteArray()), Item.class)) {
+				assertEquals(ITEMS, items.toList());
+			}
+
+			final StringWriter writer = new StringWriter();
+			jsonb.toJsonLines(ITEMS.stream(), writer);
+			assertEquals(LINES, writer.toString());
+
+			try (final Stream<Item> items = jsonb.fromJsonLines(new StringReader(writer.toString()), Item.class)) {
+				assertEquals(ITEMS, items.toList());
+			}
+		}
+	}
+
+	@Test
+	void emptyInputAndOutput() throws Exception {
+		try (final MyrJsonb jsonb = create(new JsonbConfig())) {
+			final StringWriter writer = new StringWriter();
+			jsonb.toJsonLines(List.of(), writer);
+			assertEquals("", writer.toString());
+
+			try (final Stream<Item> items = jsonb.fromJsonLines(new StringReader(""), Item.class)) {
+				assertEquals(List.of(), items.toList());
+			}
+		}
+	}
+
+	@Test
+	void blankLinesAndRecordSeparatorsAreSkipped() throws Exception {
+		try (final MyrJsonb jsonb = create(new JsonbConfig())) {
+			final String input = "\n  \n\u001E1\r\n\t\n\u001E\u001E 2\n\u001E\n3";
+			try (final Stream<Integer> values = jsonb.fromJsonLines(new StringReader(input), Integer.class)) {
+				assertEquals(List.of(1, 2, 3), values.toList());
+			}
+		}
+	}
+
+	@Test
+	void jsonSequenceOutput() throws Exception {
+		try (final MyrJsonb jsonb = create(new JsonbConfig().setProperty(MyrJsonbConfig.JSON_SEQUENCE, true))) {
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			jsonb.toJsonLines(Stream.of(1, "two"), output);
+			assertEquals("\u001E1\n\u001E\"two\"\n", output.toString(StandardCharsets.UTF_8));
+
+			try (final Stream<Object> values = jsonb.fromJsonLines(new ByteArrayInputStream(output.toByteArray()), Object.class)) {
+				assertEquals(2, values.count());
+			}
+		}
+	}
+
+	@Test
+	void errorsHaveLineNumbers() throws Exception {
+		try (final MyrJsonb jsonb = create(new JsonbConfig())) {
+			try (final Stream<Integer> values = jsonb.fromJsonLines(new StringReader("1\n\n2\n[3\n4"), Integer.class)) {
+				final JsonbException ex = assertThrows(JsonbException.class, values::toList);
+				assertTrue(ex.getMessage().startsWith("Line 4: "), ex.getMessage());
+			}
+
+			try (final Stream<Item> items = jsonb.fromJsonLines(new StringReader("{\"count\":1}\n{\"count\":\"x\"}"), Item.class)) {
+				final JsonbException ex = assertThrows(JsonbException.class, items::toList);
+				assertTrue(ex.getMessage().startsWith("Line 2: "), ex.getMessage());
+			}
+		}
+	}
+
+	@Test
+	void valuesAreReadLazily() throws Exception {
+		try (final MyrJsonb jsonb = create(new JsonbConfig())) {
+			try (final Stream<Integer> values = jsonb.fromJsonLines(new StringReader("1\n2\nbroken"), Integer.class)) {
+				assertEquals(List.of(1, 2), values.limit(2).toList());
+			}
+		}
+	}
+
+	@Test
+	void trailingDataIsRejected() throws Exception {
+		try (final MyrJsonb jsonb = create(new JsonbConfig())) {
+			for (final String line : List.of("1 2", "{\"count\":1,\"name\":\"a\"} x", "[1]]", "\"a\"\u001E")) {
+				try (final Stream<Object> values = jsonb.fromJsonLines(new StringReader("0\n" + line + "\n"), Object.class)) {
+					final JsonbException ex = assertThrows(JsonbException.class, values::toList, line);
+					assertTrue(ex.getMessage().startsWith("Line 2: "), ex.getMessage());
+				}
+			}
+		}
+	}
+
+	private static MyrJsonb create(final JsonbConfig config) {
+		return (MyrJsonb) JsonbBuilder.create(config);
+	}
+
+	public static final class Item {
+		public String name;
+
+		public int count;
+
+		public Item() {
+		}
+
+		Item(final String name, final int count) {
+			this.name = name;
+			this.count = count;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof Item other && Objects.equals(name, other.name) && count == other.count;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name, count);
+		}
+
+		@Override
+		public String toString() {
+			return name + ":" + count;
+		}
+	}
+}
@@ -0,0 +1,324 @@
+package se.narstrom.myr.json.bind.stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.json.bind.JsonbBuilder;
+import se.narstrom.myr.json.bind.MyrJsonb;
+
+class SerializationPublisherTest {
+	private static final long TIMEOUT_SECONDS = 10;
+
+	// Long enough for a producer that does not wait for demand to overrun it
+	private static final long SETTLE_MILLIS = 200;
+
+	@Test
+	void demandOfOneProducesExactlyOneChunk() throws Exception {
+		final AtomicLong written = new AtomicLong();
+		final SerializationPublisher publisher = new SerializationPublisher(stream -> writeBytes(stream, 10 * 16, written), 16);
+		final Recorder recorder = new Recorder();
+		publisher.subscribe(recorder);
+
+		recorder.subscription.request(1);
+		Thread.sleep(SETTLE_MILLIS);
+		assertEquals(1, recorder.chunks.size());
+		assertEquals(16, recorder.chunks.getFirst().length);
+		// The producer fills the next chunk and waits for demand before publishing it
+		assertTrue(written.get() <= 2 * 16, "written " + written.get());
+
+		recorder.subscription.request(2);
+		Thread.sleep(SETTLE_MILLIS);
+		assertEquals(3, recorder.chunks.size());
+
+		recorder.subscription.request(Long.MAX_VALUE);
+		recorder.awaitTermination();
+		assertNull(recorder.error);
+		assertEquals(10, recorder.chunks.size());
+		assertArrayEquals(expectedBytes(10 * 16), recorder.bytes());
+	}
+
+	@Test
+	void chunksAreFullExceptTheLast() throws Exception {
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> writeBytes(stream, 100, null), 7).subscribe(recorder);
+		recorder.subscription.request(Long.MAX_VALUE);
+		recorder.awaitTermination();
+
+		assertTrue(recorder.completed);
+		assertEquals(15, recorder.chunks.size());
+		for (int i = 0; i < recorder.chunks.size() - 1; ++i)
+			assertEquals(7, recorder.chunks.get(i).length);
+		assertEquals(2, recorder.chunks.getLast().length);
+		assertArrayEquals(expectedBytes(100), recorder.bytes());
+	}
+
+	@Test
+	void chunkSizeOfOne() throws Exception {
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> writeBytes(stream, 5, null), 1).subscribe(recorder);
+		recorder.subscription.request(Long.MAX_VALUE);
+		recorder.awaitTermination();
+
+		assertEquals(5, recorder.chunks.size());
+		assertArrayEquals(expectedBytes(5), recorder.bytes());
+	}
+
+	@Test
+	void emptyOutputCompletesWithoutChunks() throws Exception {
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> {
+		}, 16).subscribe(recorder);
+		recorder.awaitTermination();
+
+		assertTrue(recorder.completed);
+		assertEquals(0, recorder.chunks.size());
+	}
+
+	@Test
+	void nonPositiveChunkSize() {
+		assertThrows(IllegalArgumentException.class, () -> new SerializationPublisher(stream -> {
+		}, 0));
+		assertThrows(IllegalArgumentException.class, () -> new SerializationPublisher(stream -> {
+		}, -1));
+	}
+
+	@Test
+	void cancelStopsProducer() throws Exception {
+		final CountDownLatch stopped = new CountDownLatch(1);
+		final AtomicLong written = new AtomicLong();
+		final SerializationPublisher publisher = new SerializationPublisher(stream -> {
+			try {
+				writeBytes(stream, Long.MAX_VALUE, written);
+			} finally {
+				stopped.countDown();
+			}
+		}, 16);
+		final Recorder recorder = new Recorder();
+		publisher.subscribe(recorder);
+
+		recorder.subscription.request(1);
+		recorder.awaitChunks(1);
+		recorder.subscription.cancel();
+
+		assertTrue(stopped.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		Thread.sleep(SETTLE_MILLIS);
+		assertEquals(1, recorder.chunks.size());
+		assertTrue(!recorder.completed && recorder.error == null);
+	}
+
+	@Test
+	void cancelBeforeDemandStopsProducer() throws Exception {
+		final CountDownLatch stopped = new CountDownLatch(1);
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> {
+			try {
+				writeBytes(stream, Long.MAX_VALUE, null);
+			} finally {
+				stopped.countDown();
+			}
+		}, 16).subscribe(recorder);
+
+		recorder.subscription.cancel();
+
+		assertTrue(stopped.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+		Thread.sleep(SETTLE_MILLIS);
+		assertEquals(0, recorder.chunks.size());
+		assertTrue(!recorder.completed && recorder.error == null);
+	}
+
+	@Test
+	void requestOfZeroIsAnError() throws Exception {
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> writeBytes(stream, 100, null), 16).subscribe(recorder);
+
+		recorder.subscription.request(0);
+		recorder.awaitTermination();
+
+		assertInstanceOf(IllegalArgumentException.class, recorder.error);
+		assertEquals(0, recorder.chunks.size());
+	}
+
+	@Test
+	void negativeRequestAfterChunksIsAnError() throws Exception {
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> writeBytes(stream, 100, null), 16).subscribe(recorder);
+
+		recorder.subscription.request(2);
+		recorder.awaitChunks(2);
+		recorder.subscription.request(-1);
+		recorder.awaitTermination();
+
+		assertInstanceOf(IllegalArgumentException.class, recorder.error);
+		assertEquals(2, recorder.chunks.size());
+	}
+
+	@Test
+	void repeatedNonPositiveRequestsReportTheFirst() throws Exception {
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> writeBytes(stream, 100, null), 16).subscribe(recorder);
+
+		recorder.subscription.request(0);
+		recorder.subscription.request(Long.MIN_VALUE);
+		recorder.awaitTermination();
+
+		assertInstanceOf(IllegalArgumentException.class, recorder.error);
+		assertEquals("Non-positive request: 0", recorder.error.getMessage());
+		assertEquals(0, recorder.chunks.size());
+	}
+
+	@Test
+	void secondSubscriberIsRejected() throws Exception {
+		final SerializationPublisher publisher = new SerializationPublisher(stream -> writeBytes(stream, 40, null), 16);
+		final Recorder first = new Recorder();
+		final Recorder second = new Recorder();
+		publisher.subscribe(first);
+		publisher.subscribe(second);
+
+		second.awaitTermination();
+		assertInstanceOf(IllegalStateException.class, second.error);
+		assertEquals(0, second.chunks.size());
+
+		first.subscription.request(Long.MAX_VALUE);
+		first.awaitTermination();
+		assertTrue(first.completed);
+		assertArrayEquals(expectedBytes(40), first.bytes());
+	}
+
+	@Test
+	void serializationErrorIsPublished() throws Exception {
+		final Recorder recorder = new Recorder();
+		new SerializationPublisher(stream -> {
+			throw new IllegalStateException("broken");
+		}, 16).subscribe(recorder);
+		recorder.awaitTermination();
+
+		assertInstanceOf(IllegalStateException.class, recorder.error);
+		assertEquals("broken", recorder.error.getMessage());
+	}
+
+	@Test
+	void objectAndStreamOfObjects() throws Exception {
+		try (final MyrJsonb jsonb = (MyrJsonb) JsonbBuilder.create()) {
+			final List<String> values = Stream.iterate("value", value -> value + "+").limit(200).toList();
+
+			final Recorder list = new Recorder();
+			jsonb.toJsonPublisher(values).subscribe(list);
+			list.subscription.request(Long.MAX_VALUE);
+			list.awaitTermination();
+			assertEquals(jsonb.toJson(values), new String(list.bytes(), StandardCharsets.UTF_8));
+
+			final Recorder stream = new Recorder();
+			jsonb.toJsonPublisher(values.stream()).subscribe(stream);
+			stream.subscription.request(Long.MAX_VALUE);
+			stream.awaitTermination();
+			assertEquals(jsonb.toJson(values), new String(stream.bytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	// Writes the bytes 0, 1, 2, ... in pieces of varying size
+	private static void writeBytes(final OutputStream stream, final long count, final AtomicLong written) {
+		try {
+			long position = 0;
+			int piece = 1;
+			while (position < count) {
+				final int n = (int) Math.min(piece, count - position);
+				final byte[] bytes = new byte[n];
+				for (int i = 0; i < n; ++i)
+					bytes[i] = (byte) (position + i);
+				if (n == 1)
+					stream.write(bytes[0]);
+				else
+					stream.write(bytes, 0, n);
+				position += n;
+				if (written != null)
+					written.set(position);
+				piece = piece % 13 + 1;
+			}
+		} catch (final IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static byte[] expectedBytes(final int count) {
+		final byte[] bytes = new byte[count];
+		for (int i = 0; i < count; ++i)
+			bytes[i] = (byte) i;
+		return bytes;
+	}
+
+	private static final class Recorder implements Flow.Subscriber<ByteBuffer> {
+		private final List<byte[]> chunks = new CopyOnWriteArrayList<>();
+
+		private final CountDownLatch terminated = new CountDownLatch(1);
+
+		private volatile Flow.Subscription subscription;
+
+		private volatile boolean completed;
+
+		private volatile Throwable error;
+
+		@Override
+		public void onSubscribe(final Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(final ByteBuffer item) {
+			final byte[] bytes = new byte[item.remaining()];
+			item.get(bytes);
+			chunks.add(bytes);
+		}
+
+		@Override
+		public void onError(final Throwable throwable) {
+			error = throwable;
+			terminated.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+			terminated.countDown();
+		}
+
+		void awaitTermination() throws InterruptedException {
+			assertTrue(terminated.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "not terminated");
+		}
+
+		void awaitChunks(final int count) throws InterruptedException {
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+			while (chunks.size() < count) {
+				assertTrue(System.nanoTime() < deadline, "only " + chunks.size() + " chunks");
+				Thread.sleep(1);
+			}
+		}
+
+		byte[] bytes() {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			for (final byte[] chunk : chunks)
+				bytes.writeBytes(chunk);
+			return bytes.toByteArray();
+		}
+	}
+}